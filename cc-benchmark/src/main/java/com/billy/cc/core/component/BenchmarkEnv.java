@@ -0,0 +1,88 @@
+package com.billy.cc.core.component;
+
+/**
+ * 基准测试的运行环境：初始化CC并注册测试用的组件和全局拦截器
+ * @author billy.qi
+ */
+class BenchmarkEnv {
+    /** 直接返回结果的组件 */
+    static final String ECHO = "benchmark.echo";
+    static final String ACTION_ECHO = "echo";
+
+    /** 可供注册的全局拦截器（每个类只能注册一次，所以每个拦截器各用一个类） */
+    static final IGlobalCCInterceptor[] INTERCEPTORS = {
+            new I01(), new I02(), new I03(), new I04(), new I05(),
+            new I06(), new I07(), new I08(), new I09(), new I10(),
+            new I11(), new I12(), new I13(), new I14(), new I15(),
+            new I16(), new I17(), new I18(), new I19(), new I20(),
+    };
+
+    private static boolean initialized;
+
+    static synchronized void init() {
+        if (!initialized) {
+            initialized = true;
+            CCJvm.start();
+            CC.registerComponent(new EchoComponent());
+        }
+    }
+
+    /**
+     * 注册前count个全局拦截器，注销其余的
+     */
+    static void setGlobalInterceptorCount(int count) {
+        for (int i = 0; i < INTERCEPTORS.length; i++) {
+            if (i < count) {
+                CC.registerGlobalInterceptor(INTERCEPTORS[i]);
+            } else {
+                CC.unregisterGlobalInterceptor(INTERCEPTORS[i].getClass());
+            }
+        }
+    }
+
+    static class EchoComponent implements IDynamicComponent {
+        @Override
+        public String getName() {
+            return ECHO;
+        }
+
+        @Override
+        public boolean onCall(CC cc) {
+            CC.sendCCResult(cc.getCallId(), CCResult.success());
+            return false;
+        }
+    }
+
+    abstract static class PassThroughInterceptor implements IGlobalCCInterceptor {
+        @Override
+        public int priority() {
+            return 0;
+        }
+
+        @Override
+        public CCResult intercept(Chain chain) {
+            return chain.proceed();
+        }
+    }
+
+    static class I01 extends PassThroughInterceptor { }
+    static class I02 extends PassThroughInterceptor { }
+    static class I03 extends PassThroughInterceptor { }
+    static class I04 extends PassThroughInterceptor { }
+    static class I05 extends PassThroughInterceptor { }
+    static class I06 extends PassThroughInterceptor { }
+    static class I07 extends PassThroughInterceptor { }
+    static class I08 extends PassThroughInterceptor { }
+    static class I09 extends PassThroughInterceptor { }
+    static class I10 extends PassThroughInterceptor { }
+    static class I11 extends PassThroughInterceptor { }
+    static class I12 extends PassThroughInterceptor { }
+    static class I13 extends PassThroughInterceptor { }
+    static class I14 extends PassThroughInterceptor { }
+    static class I15 extends PassThroughInterceptor { }
+    static class I16 extends PassThroughInterceptor { }
+    static class I17 extends PassThroughInterceptor { }
+    static class I18 extends PassThroughInterceptor { }
+    static class I19 extends PassThroughInterceptor { }
+    static class I20 extends PassThroughInterceptor { }
+}
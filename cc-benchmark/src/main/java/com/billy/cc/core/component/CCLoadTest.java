@@ -0,0 +1,454 @@
+package com.billy.cc.core.component;
+
+import android.os.SystemClock;
+
+import com.billy.cc.core.component.remote.RemoteCC;
+import com.billy.cc.core.component.remote.SimulatedProcess;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 并发压测：大量并发的同步及异步调用，分别调用当前进程的组件、动态组件及模拟子进程({@link SimulatedProcess})中的组件，统计：
+ *  1. 吞吐量及耗时的p50/p99/p999
+ *  2. cc-pool线程数的峰值、CCMonitor.CC_MAP大小的峰值
+ *  3. 超时的误差：一部分调用(超时探针)调用一个不会按时返回的action，统计实际超时时间与timeoutAt的差
+ *  4. 泄漏检查：每个调用都必须有且只有一个结果，压测结束后CC_MAP为空、子进程中没有未结束的调用
+ * 泄漏检查不通过时以非0退出（负载过高导致的普通调用超时、超时探针未超时只输出数量，不视为不通过）。运行方式：
+ * <pre>
+ *     ./gradlew :cc-benchmark:loadTest -Pload="syncThreads=1000 asyncCalls=4000 duration=30"
+ * </pre>
+ * 参数(name=value)：
+ *  syncThreads 执行同步调用的线程数，默认500
+ *  asyncCalls  同时进行中的异步调用数，默认2000
+ *  duration    统计时长(秒)，默认10
+ *  warmup      预热时长(秒)，不计入统计，默认3
+ *  probeRatio  超时探针的比例，默认0.01
+ *  probeTimeout 超时探针的超时时间(ms)，默认100
+ * @author billy.qi
+ */
+class CCLoadTest {
+    static final String LOCAL = "load.local";
+    static final String DYNAMIC = "load.dynamic";
+    static final String SUB_PROCESS = "load.subProcess";
+    static final String ACTION_ECHO = "echo";
+    /** 在参数delay指定的时间(ms)之后才返回结果 */
+    static final String ACTION_SLOW = "slow";
+    static final String PARAM_DELAY = "delay";
+
+    private static final String[] TARGETS = {LOCAL, DYNAMIC, SUB_PROCESS};
+    private static final String[] MODES = {"sync", "async"};
+    private static final int SYNC = 0;
+    private static final int ASYNC = 1;
+    /** 普通调用的超时时间，普通调用不应超时 */
+    private static final long CALL_TIMEOUT = 10000;
+    private static final String THREAD_NAME_PREFIX = "cc-pool";
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "load-timer");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final int syncThreads;
+    private final int asyncCalls;
+    private final int duration;
+    private final int warmup;
+    private final double probeRatio;
+    private final long probeTimeout;
+    /** 超时探针调用的action延迟返回的时间，远大于超时时间 */
+    private final long probeDelay;
+
+    private final CCMetrics.ActionMetrics[][] latency = new CCMetrics.ActionMetrics[TARGETS.length][MODES.length];
+    /** 调用方观察到的超时误差：从发起调用到收到超时结果的时间 - 超时时间 */
+    private final CCMetrics.ActionMetrics[][] timeoutError = new CCMetrics.ActionMetrics[TARGETS.length][MODES.length];
+    /** 超时触发的误差：CC触发超时的时间 - timeoutAt */
+    private final CCMetrics.ActionMetrics timeoutFiring = new CCMetrics.ActionMetrics();
+
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong nullResults = new AtomicLong();
+    private final AtomicLong duplicateResults = new AtomicLong();
+    /** 没有以超时结束的超时探针：超时触发的延迟超过了探针action的延迟 */
+    private final AtomicLong missedTimeouts = new AtomicLong();
+    /** 超时的普通调用（负载过高时可能出现，不视为检查不通过） */
+    private final AtomicLong callTimeouts = new AtomicLong();
+    private final AtomicLong pendingAsync = new AtomicLong();
+
+    private volatile boolean running = true;
+    private volatile boolean recording;
+    private volatile int peakPoolThreads;
+    private volatile int peakMonitorSize;
+
+    private SimulatedProcess subProcess;
+
+    CCLoadTest(Map<String, String> args) {
+        syncThreads = Integer.parseInt(get(args, "syncThreads", "500"));
+        asyncCalls = Integer.parseInt(get(args, "asyncCalls", "2000"));
+        duration = Integer.parseInt(get(args, "duration", "10"));
+        warmup = Integer.parseInt(get(args, "warmup", "3"));
+        probeRatio = Double.parseDouble(get(args, "probeRatio", "0.01"));
+        probeTimeout = Long.parseLong(get(args, "probeTimeout", "100"));
+        probeDelay = probeTimeout * 5;
+        for (int i = 0; i < TARGETS.length; i++) {
+            for (int j = 0; j < MODES.length; j++) {
+                latency[i][j] = new CCMetrics.ActionMetrics();
+                timeoutError[i][j] = new CCMetrics.ActionMetrics();
+            }
+        }
+    }
+
+    private static String get(Map<String, String> args, String name, String defaultValue) {
+        String value = args.get(name);
+        return value == null ? defaultValue : value;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> map = new HashMap<>();
+        for (String arg : args) {
+            int index = arg.indexOf('=');
+            if (index > 0) {
+                map.put(arg.substring(0, index), arg.substring(index + 1));
+            }
+        }
+        boolean passed = new CCLoadTest(map).run();
+        System.exit(passed ? 0 : 1);
+    }
+
+    boolean run() throws Exception {
+        setUp();
+        System.out.println(String.format("load test: syncThreads=%d, asyncCalls=%d, duration=%ds, warmup=%ds, probeRatio=%s, probeTimeout=%dms"
+                , syncThreads, asyncCalls, duration, warmup, probeRatio, probeTimeout));
+        Thread sampler = startSampler();
+        List<Thread> threads = new ArrayList<>(syncThreads);
+        for (int i = 0; i < syncThreads; i++) {
+            Thread thread = new Thread(new SyncCaller(), "load-sync-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        for (int i = 0; i < asyncCalls; i++) {
+            pendingAsync.incrementAndGet();
+            callAsync();
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmup));
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(duration));
+        recording = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        boolean drained = waitFor(new Condition() {
+            @Override
+            public boolean done() {
+                return pendingAsync.get() == 0 && subProcess.getRunningCount() == 0
+                        && CCMonitor.CC_MAP.isEmpty();
+            }
+        }, CALL_TIMEOUT);
+        sampler.interrupt();
+        return report(seconds, drained);
+    }
+
+    private void setUp() {
+        CCJvm.start();
+        CCJvm.registerComponent(new LocalComponent());
+        CC.registerComponent(new DynamicComponent());
+        subProcess = new SimulatedProcess(CCUtil.getCurProcessName() + ":load");
+        subProcess.addComponent(new SubProcessComponent());
+        CCJvm.attachProcess(subProcess);
+        CC.addEventListener(new BaseCCEventListener() {
+            @Override
+            public void timeout(CC cc, long nanoTime) {
+                long timeoutAt = cc.timeoutAt;
+                if (recording && timeoutAt > 0) {
+                    long micros = SystemClock.elapsedRealtimeNanos() / 1000 - timeoutAt * 1000;
+                    timeoutFiring.record(micros, null);
+                }
+            }
+        });
+    }
+
+    private CC build(int target, boolean probe) {
+        CC.Builder builder = CC.obtainBuilder(TARGETS[target]);
+        if (probe) {
+            builder.setActionName(ACTION_SLOW)
+                    .addParam(PARAM_DELAY, probeDelay)
+                    .setTimeout(probeTimeout);
+        } else {
+            builder.setActionName(ACTION_ECHO)
+                    .setTimeout(CALL_TIMEOUT);
+        }
+        return builder.build();
+    }
+
+    private boolean isProbe() {
+        return ThreadLocalRandom.current().nextDouble() < probeRatio;
+    }
+
+    private final Runnable nextAsyncCall = new Runnable() {
+        @Override
+        public void run() {
+            if (running) {
+                callAsync();
+            } else {
+                pendingAsync.decrementAndGet();
+            }
+        }
+    };
+
+    private void callAsync() {
+        int target = ThreadLocalRandom.current().nextInt(TARGETS.length);
+        boolean probe = isProbe();
+        CC cc = build(target, probe);
+        issued.incrementAndGet();
+        cc.callAsync(new AsyncCallback(target, probe, System.nanoTime()));
+    }
+
+    private void onResult(int target, int mode, boolean probe, long startNanos, CCResult result) {
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        completed.incrementAndGet();
+        if (result == null) {
+            nullResults.incrementAndGet();
+            return;
+        }
+        boolean timeout = result.getCode() == CCResult.CODE_ERROR_TIMEOUT;
+        if (probe && !timeout) {
+            missedTimeouts.incrementAndGet();
+        } else if (!probe && timeout) {
+            callTimeouts.incrementAndGet();
+        }
+        if (!recording) {
+            return;
+        }
+        if (probe) {
+            timeoutError[target][mode].record(micros - probeTimeout * 1000, result);
+        } else {
+            latency[target][mode].record(micros, result);
+        }
+    }
+
+    private class SyncCaller implements Runnable {
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (running) {
+                int target = random.nextInt(TARGETS.length);
+                boolean probe = isProbe();
+                CC cc = build(target, probe);
+                issued.incrementAndGet();
+                long start = System.nanoTime();
+                CCResult result = cc.call();
+                onResult(target, SYNC, probe, start, result);
+            }
+        }
+    }
+
+    private class AsyncCallback implements IComponentCallback {
+        private final int target;
+        private final boolean probe;
+        private final long startNanos;
+        private final AtomicBoolean called = new AtomicBoolean();
+
+        AsyncCallback(int target, boolean probe, long startNanos) {
+            this.target = target;
+            this.probe = probe;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onResult(CC cc, CCResult result) {
+            if (!called.compareAndSet(false, true)) {
+                duplicateResults.incrementAndGet();
+                return;
+            }
+            CCLoadTest.this.onResult(target, ASYNC, probe, startNanos, result);
+            if (!running) {
+                pendingAsync.decrementAndGet();
+            } else if (result != null && result.getCode() == CCResult.CODE_ERROR_REJECTED) {
+                //线程池已满时调用被拒绝（在发起调用的线程中回调），稍后再发起下一个调用
+                TIMER.schedule(nextAsyncCall, 1, TimeUnit.MILLISECONDS);
+            } else {
+                callAsync();
+            }
+        }
+    }
+
+    /**
+     * 每毫秒采样一次cc-pool线程数及CC_MAP的大小
+     */
+    private Thread startSampler() {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Thread[] threads = new Thread[256];
+                while (!Thread.currentThread().isInterrupted()) {
+                    int count;
+                    while ((count = Thread.enumerate(threads)) == threads.length) {
+                        threads = new Thread[threads.length * 2];
+                    }
+                    int poolThreads = 0;
+                    for (int i = 0; i < count; i++) {
+                        if (threads[i].getName().startsWith(THREAD_NAME_PREFIX)) {
+                            poolThreads++;
+                        }
+                        threads[i] = null;
+                    }
+                    if (poolThreads > peakPoolThreads) {
+                        peakPoolThreads = poolThreads;
+                    }
+                    int monitorSize = CCMonitor.CC_MAP.size();
+                    if (monitorSize > peakMonitorSize) {
+                        peakMonitorSize = monitorSize;
+                    }
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "load-sampler");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private boolean report(double seconds, boolean drained) {
+        System.out.println();
+        System.out.println(String.format("%-18s %10s %12s %10s %10s %10s %10s %8s"
+                , "calls", "count", "ops/s", "p50(us)", "p99(us)", "p999(us)", "max(us)", "errors"));
+        long total = 0;
+        for (int i = 0; i < TARGETS.length; i++) {
+            for (int j = 0; j < MODES.length; j++) {
+                CCMetrics.Snapshot s = latency[i][j].snapshot();
+                total += s.calls;
+                System.out.println(String.format("%-18s %10d %12.0f %10d %10d %10d %10d %8d"
+                        , TARGETS[i] + "." + MODES[j], s.calls, s.calls / seconds
+                        , s.percentile(50), s.percentile(99), s.percentile(99.9), s.max, s.errors));
+            }
+        }
+        System.out.println(String.format("%-18s %10d %12.0f", "total", total, total / seconds));
+
+        System.out.println();
+        System.out.println(String.format("%-18s %10s %10s %10s %10s %10s"
+                , "timeout error", "count", "p50(us)", "p99(us)", "p999(us)", "max(us)"));
+        for (int i = 0; i < TARGETS.length; i++) {
+            for (int j = 0; j < MODES.length; j++) {
+                printError(TARGETS[i] + "." + MODES[j], timeoutError[i][j].snapshot());
+            }
+        }
+        printError("firing-timeoutAt", timeoutFiring.snapshot());
+
+        System.out.println();
+        System.out.println("peak cc-pool threads: " + peakPoolThreads);
+        System.out.println("peak CCMonitor.CC_MAP size: " + peakMonitorSize);
+
+        long lost = issued.get() - completed.get();
+        int monitorSize = CCMonitor.CC_MAP.size();
+        int subProcessRunning = subProcess.getRunningCount();
+        System.out.println(String.format("issued: %d, completed: %d, lost: %d, null results: %d, duplicate results: %d"
+                , issued.get(), completed.get(), lost, nullResults.get(), duplicateResults.get()));
+        System.out.println(String.format("probes not timed out: %d, calls timed out (timeout=%dms): %d"
+                , missedTimeouts.get(), CALL_TIMEOUT, callTimeouts.get()));
+        System.out.println(String.format("after drain: CC_MAP size: %d, running in sub process: %d", monitorSize, subProcessRunning));
+        boolean passed = drained && lost == 0 && nullResults.get() == 0 && duplicateResults.get() == 0
+                && monitorSize == 0 && subProcessRunning == 0;
+        System.out.println(passed ? "PASSED" : "FAILED: some calls leaked or got more than one result");
+        return passed;
+    }
+
+    private static void printError(String name, CCMetrics.Snapshot s) {
+        System.out.println(String.format("%-18s %10d %10d %10d %10d %10d"
+                , name, s.calls, s.percentile(50), s.percentile(99), s.percentile(99.9), s.max));
+    }
+
+    private interface Condition {
+        boolean done();
+    }
+
+    private static boolean waitFor(Condition condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.done()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * 延迟返回结果：不占用线程，由定时器发送结果
+     */
+    private static boolean onCallLocal(final CC cc) {
+        if (ACTION_SLOW.equals(cc.getActionName())) {
+            TIMER.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    CC.sendCCResult(cc.getCallId(), CCResult.success());
+                }
+            }, cc.getParamLong(PARAM_DELAY, 0), TimeUnit.MILLISECONDS);
+            return true;
+        }
+        CC.sendCCResult(cc.getCallId(), CCResult.success());
+        return false;
+    }
+
+    static class LocalComponent implements IComponent {
+        @Override
+        public String getName() {
+            return LOCAL;
+        }
+
+        @Override
+        public boolean onCall(CC cc) {
+            return onCallLocal(cc);
+        }
+    }
+
+    static class DynamicComponent implements IDynamicComponent {
+        @Override
+        public String getName() {
+            return DYNAMIC;
+        }
+
+        @Override
+        public boolean onCall(CC cc) {
+            return onCallLocal(cc);
+        }
+    }
+
+    /**
+     * 子进程中的组件：延迟返回时阻塞子进程的线程，模拟无响应的进程
+     */
+    static class SubProcessComponent implements SimulatedProcess.Component {
+        @Override
+        public String getName() {
+            return SUB_PROCESS;
+        }
+
+        @Override
+        public CCResult onCall(RemoteCC remoteCC) {
+            if (ACTION_SLOW.equals(remoteCC.getActionName())) {
+                Object delay = remoteCC.getParams().get(PARAM_DELAY);
+                SystemClock.sleep(delay instanceof Number ? ((Number) delay).longValue() : 0);
+            }
+            return CCResult.success();
+        }
+    }
+}
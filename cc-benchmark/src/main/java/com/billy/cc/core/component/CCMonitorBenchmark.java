@@ -0,0 +1,80 @@
+package com.billy.cc.core.component;
+
+import android.os.SystemClock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CCMonitor中添加/移除待监控的CC的耗时，分别在单线程及多线程竞争下测试
+ * @author billy.qi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CCMonitorBenchmark {
+    private static final AtomicInteger ID = new AtomicInteger();
+
+    /**
+     * 每个线程一个CC对象，callId各不相同
+     */
+    @State(Scope.Thread)
+    public static class CallState {
+        CC cc;
+        CC ccWithTimeout;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            BenchmarkEnv.init();
+            cc = CC.obtainBuilder(BenchmarkEnv.ECHO)
+                    .setCallId("benchmark:" + ID.incrementAndGet())
+                    .build();
+            ccWithTimeout = CC.obtainBuilder(BenchmarkEnv.ECHO)
+                    .setCallId("benchmark:" + ID.incrementAndGet())
+                    .build();
+            //超时时间点足够远，测试过程中不会触发超时
+            ccWithTimeout.timeoutAt = SystemClock.elapsedRealtime() + TimeUnit.HOURS.toMillis(1);
+        }
+    }
+
+    @Benchmark
+    public void addRemove(CallState state) {
+        CCMonitor.addMonitorFor(state.cc);
+        CCMonitor.removeById(state.cc.getCallId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void addRemoveContended(CallState state) {
+        CCMonitor.addMonitorFor(state.cc);
+        CCMonitor.removeById(state.cc.getCallId());
+    }
+
+    @Benchmark
+    public void addRemoveWithTimeout(CallState state) {
+        CCMonitor.addMonitorFor(state.ccWithTimeout);
+        CCMonitor.removeById(state.ccWithTimeout.getCallId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void addRemoveWithTimeoutContended(CallState state) {
+        CCMonitor.addMonitorFor(state.ccWithTimeout);
+        CCMonitor.removeById(state.ccWithTimeout.getCallId());
+    }
+}
@@ -0,0 +1,86 @@
+package com.billy.cc.core.component;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 同步/异步调用当前进程中的组件（经过ComponentManager.call的完整流程）的吞吐量及耗时分布
+ * @author billy.qi
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CallBenchmark {
+
+    @Param({"false", "true"})
+    public boolean callRecycle;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkEnv.init();
+        BenchmarkEnv.setGlobalInterceptorCount(0);
+        CC.enableCallRecycle(callRecycle);
+    }
+
+    @Benchmark
+    public CCResult syncCall() {
+        return CC.obtainBuilder(BenchmarkEnv.ECHO)
+                .setActionName(BenchmarkEnv.ACTION_ECHO)
+                .build()
+                .call();
+    }
+
+    @Benchmark
+    public CCResult asyncCall(Waiter waiter) {
+        CC.obtainBuilder(BenchmarkEnv.ECHO)
+                .setActionName(BenchmarkEnv.ACTION_ECHO)
+                .build()
+                .callAsync(waiter);
+        return waiter.await();
+    }
+
+    /**
+     * 等待异步调用的回调，每个线程复用一个，避免计入额外的对象分配
+     */
+    @State(Scope.Thread)
+    public static class Waiter implements IComponentCallback {
+        private volatile CCResult result;
+        private Thread thread;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            thread = Thread.currentThread();
+        }
+
+        @Override
+        public void onResult(CC cc, CCResult result) {
+            this.result = result;
+            LockSupport.unpark(thread);
+        }
+
+        CCResult await() {
+            CCResult r;
+            while ((r = result) == null) {
+                LockSupport.park(this);
+            }
+            result = null;
+            return r;
+        }
+    }
+}
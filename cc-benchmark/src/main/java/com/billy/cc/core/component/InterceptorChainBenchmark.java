@@ -0,0 +1,61 @@
+package com.billy.cc.core.component;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 全局拦截器数量对同步调用耗时的影响（拦截器只调用chain.proceed()）
+ * @author billy.qi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterceptorChainBenchmark {
+
+    @Param({"0", "5", "20"})
+    public int globalInterceptors;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkEnv.init();
+        BenchmarkEnv.setGlobalInterceptorCount(globalInterceptors);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkEnv.setGlobalInterceptorCount(0);
+    }
+
+    @Benchmark
+    public CCResult syncCall() {
+        return CC.obtainBuilder(BenchmarkEnv.ECHO)
+                .setActionName(BenchmarkEnv.ACTION_ECHO)
+                .build()
+                .call();
+    }
+
+    @Benchmark
+    public CCResult syncCallWithoutGlobalInterceptor() {
+        return CC.obtainBuilder(BenchmarkEnv.ECHO)
+                .setActionName(BenchmarkEnv.ACTION_ECHO)
+                .withoutGlobalInterceptor()
+                .build()
+                .call();
+    }
+}
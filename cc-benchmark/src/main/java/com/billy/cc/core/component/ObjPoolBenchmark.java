@@ -0,0 +1,60 @@
+package com.billy.cc.core.component;
+
+import com.billy.android.pools.ObjPool;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ObjPool获取及回收对象的耗时，分别在单线程及多线程竞争下测试
+ * @author billy.qi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjPoolBenchmark {
+
+    private final ObjPool<Item, Void> pool = new ObjPool<Item, Void>() {
+        @Override
+        protected Item newInstance(Void v) {
+            return new Item();
+        }
+    };
+
+    static class Item implements ObjPool.Resetable {
+        Object value;
+
+        @Override
+        public void reset() {
+            value = null;
+        }
+    }
+
+    @Benchmark
+    public Item getPut() {
+        Item item = pool.get(null);
+        pool.put(item);
+        return item;
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Item getPutContended() {
+        Item item = pool.get(null);
+        pool.put(item);
+        return item;
+    }
+}
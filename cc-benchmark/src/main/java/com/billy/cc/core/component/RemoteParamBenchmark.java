@@ -0,0 +1,84 @@
+package com.billy.cc.core.component;
+
+import com.billy.cc.core.component.remote.RemoteParamUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 跨进程调用时参数的转换（RemoteParamUtil.toRemoteMap/toLocalMap）
+ *  primitives: 基本类型及字符串
+ *  collections: 包含List和Map的参数
+ *  arrays: 包含对象数组的参数
+ * @author billy.qi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RemoteParamBenchmark {
+
+    @Param({"primitives", "collections", "arrays"})
+    public String payload;
+
+    private Map<String, Object> params;
+    private Map<String, Object> remoteParams;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkEnv.init();
+        params = new HashMap<>();
+        params.put("id", 10086);
+        params.put("name", "billy");
+        params.put("vip", true);
+        params.put("time", System.currentTimeMillis());
+        if ("collections".equals(payload)) {
+            List<String> tags = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                tags.add("tag" + i);
+            }
+            Map<String, Object> extra = new HashMap<>();
+            extra.put("from", "benchmark");
+            extra.put("count", 3);
+            extra.put("tags", tags);
+            params.put("tags", tags);
+            params.put("extra", extra);
+        } else if ("arrays".equals(payload)) {
+            Integer[] ids = new Integer[10];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = i;
+            }
+            params.put("ids", ids);
+            params.put("names", new Object[]{"a", "b", "c"});
+        }
+        remoteParams = RemoteParamUtil.toRemoteMap(params);
+    }
+
+    @Benchmark
+    public Map<String, Object> toRemoteMap() {
+        return RemoteParamUtil.toRemoteMap(params);
+    }
+
+    @Benchmark
+    public Map<String, Object> toLocalMap() {
+        return RemoteParamUtil.toLocalMap(remoteParams);
+    }
+}
@@ -0,0 +1,63 @@
+package com.billy.cc.core.component;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CC.toString()及CCResult.toString()（构建org.json对象并输出字符串）的耗时，详细日志中大量使用
+ * @author billy.qi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ToStringBenchmark {
+
+    private CC cc;
+    private CCResult result;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkEnv.init();
+        List<String> tags = new ArrayList<>();
+        tags.add("a");
+        tags.add("b");
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", 10086);
+        data.put("name", "billy");
+        data.put("tags", tags);
+        cc = CC.obtainBuilder(BenchmarkEnv.ECHO)
+                .setActionName(BenchmarkEnv.ACTION_ECHO)
+                .setCallId("benchmark:1")
+                .setParams(data)
+                .build();
+        result = CCResult.success(data);
+    }
+
+    @Benchmark
+    public String ccToString() {
+        return cc.toString();
+    }
+
+    @Benchmark
+    public String ccResultToString() {
+        return result.toString();
+    }
+}
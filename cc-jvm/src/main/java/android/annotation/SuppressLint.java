@@ -0,0 +1,8 @@
+package android.annotation;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public @interface SuppressLint {
+    String[] value();
+}
@@ -0,0 +1,35 @@
+package android.app;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class Activity extends Context {
+    private Intent intent;
+
+    @Override
+    public String getPackageName() {
+        return getApplicationContext().getPackageName();
+    }
+
+    protected void onCreate(Bundle savedInstanceState) {
+    }
+
+    public Intent getIntent() {
+        return intent;
+    }
+
+    public void setIntent(Intent intent) {
+        this.intent = intent;
+    }
+
+    public boolean isFinishing() {
+        return false;
+    }
+
+    public void finish() {
+    }
+}
@@ -0,0 +1,35 @@
+package android.app;
+
+import android.content.Context;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+import java.util.Collections;
+import java.util.List;
+
+public class ActivityManager {
+    private final Context context;
+
+    public ActivityManager(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * 只有当前进程，进程名称为{@link Application#getProcessName()}
+     */
+    public List<RunningAppProcessInfo> getRunningAppProcesses() {
+        RunningAppProcessInfo info = new RunningAppProcessInfo();
+        info.pid = android.os.Process.myPid();
+        info.pkgList = new String[]{context.getPackageName()};
+        info.processName = context instanceof Application
+                ? ((Application) context).getProcessName() : context.getPackageName();
+        return Collections.singletonList(info);
+    }
+
+    public static class RunningAppProcessInfo {
+        public int pid;
+        public String processName;
+        public String[] pkgList;
+    }
+}
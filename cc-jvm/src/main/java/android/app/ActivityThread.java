@@ -0,0 +1,41 @@
+package android.app;
+
+import android.content.ContentProvider;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ * 返回由{@link com.billy.cc.core.component.CCJvm#start(String, String)}创建的Application，
+ * 并管理由{@link com.billy.cc.core.component.CCJvm#attachProcess(com.billy.cc.core.component.remote.SimulatedProcess)}安装的ContentProvider
+ */
+public class ActivityThread {
+    private static volatile Application currentApplication;
+    private static final ConcurrentHashMap<String, ContentProvider> PROVIDERS = new ConcurrentHashMap<>();
+
+    public static Application currentApplication() {
+        return currentApplication;
+    }
+
+    /**
+     * 设置当前进程的Application，由CCJvm调用
+     */
+    public static void attach(Application application) {
+        currentApplication = application;
+    }
+
+    /**
+     * 安装ContentProvider，之后可通过ContentResolver按authority查询
+     */
+    public static void installProvider(String authority, ContentProvider provider) {
+        PROVIDERS.put(authority, provider);
+    }
+
+    public static void removeProvider(String authority) {
+        PROVIDERS.remove(authority);
+    }
+
+    public static ContentProvider acquireProvider(String authority) {
+        return authority == null ? null : PROVIDERS.get(authority);
+    }
+}
@@ -0,0 +1,11 @@
+package android.app;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class AppGlobals {
+
+    public static Application getInitialApplication() {
+        return ActivityThread.currentApplication();
+    }
+}
@@ -0,0 +1,59 @@
+package android.app;
+
+import android.content.Context;
+import android.os.Bundle;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class Application extends Context {
+    /** 默认的包名，可通过系统属性cc.packageName指定 */
+    public static final String DEFAULT_PACKAGE_NAME = "com.billy.cc.jvm";
+
+    private final String packageName;
+    private final String processName;
+
+    public Application() {
+        this(System.getProperty("cc.packageName", DEFAULT_PACKAGE_NAME), null);
+    }
+
+    /**
+     * @param packageName 包名
+     * @param processName 进程名称，为null时与包名相同（主进程）
+     */
+    public Application(String packageName, String processName) {
+        this.packageName = packageName;
+        this.processName = processName == null ? packageName : processName;
+    }
+
+    @Override
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getProcessName() {
+        return processName;
+    }
+
+    public void onCreate() {
+    }
+
+    public void registerActivityLifecycleCallbacks(ActivityLifecycleCallbacks callback) {
+    }
+
+    public interface ActivityLifecycleCallbacks {
+        void onActivityCreated(Activity activity, Bundle savedInstanceState);
+
+        void onActivityStarted(Activity activity);
+
+        void onActivityResumed(Activity activity);
+
+        void onActivityPaused(Activity activity);
+
+        void onActivityStopped(Activity activity);
+
+        void onActivitySaveInstanceState(Activity activity, Bundle outState);
+
+        void onActivityDestroyed(Activity activity);
+    }
+}
@@ -0,0 +1,9 @@
+package android.content;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public abstract class BroadcastReceiver {
+
+    public abstract void onReceive(Context context, Intent intent);
+}
@@ -0,0 +1,22 @@
+package android.content;
+
+import android.app.ActivityThread;
+import android.database.Cursor;
+import android.net.Uri;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class ContentResolver {
+
+    /**
+     * 查询通过{@link ActivityThread#installProvider(String, ContentProvider)}安装的ContentProvider，没有安装时返回null
+     */
+    public final Cursor query(Uri uri, String[] projection, String selection, String[] selectionArgs, String sortOrder) {
+        ContentProvider provider = ActivityThread.acquireProvider(uri.getAuthority());
+        if (provider == null) {
+            return null;
+        }
+        return provider.query(uri, projection, selection, selectionArgs, sortOrder);
+    }
+}
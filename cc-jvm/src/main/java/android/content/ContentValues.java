@@ -0,0 +1,7 @@
+package android.content;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class ContentValues {
+}
@@ -0,0 +1,39 @@
+package android.content;
+
+import android.app.ActivityManager;
+import android.content.pm.PackageManager;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public abstract class Context {
+    public static final String ACTIVITY_SERVICE = "activity";
+
+    public abstract String getPackageName();
+
+    public Context getApplicationContext() {
+        return this;
+    }
+
+    public Object getSystemService(String name) {
+        if (ACTIVITY_SERVICE.equals(name)) {
+            return new ActivityManager(getApplicationContext());
+        }
+        return null;
+    }
+
+    public PackageManager getPackageManager() {
+        return new PackageManager();
+    }
+
+    public ContentResolver getContentResolver() {
+        return new ContentResolver();
+    }
+
+    public Intent registerReceiver(BroadcastReceiver receiver, IntentFilter filter) {
+        return null;
+    }
+
+    public void startActivity(Intent intent) {
+    }
+}
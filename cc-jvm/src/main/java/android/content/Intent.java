@@ -0,0 +1,74 @@
+package android.content;
+
+import android.os.Bundle;
+import android.os.Parcelable;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+import java.util.HashMap;
+
+public class Intent {
+    public static final String ACTION_PACKAGE_ADDED = "android.intent.action.PACKAGE_ADDED";
+    public static final String ACTION_PACKAGE_CHANGED = "android.intent.action.PACKAGE_CHANGED";
+    public static final String ACTION_PACKAGE_REMOVED = "android.intent.action.PACKAGE_REMOVED";
+    public static final String ACTION_PACKAGE_RESTARTED = "android.intent.action.PACKAGE_RESTARTED";
+    public static final String ACTION_MY_PACKAGE_REPLACED = "android.intent.action.MY_PACKAGE_REPLACED";
+    public static final int FLAG_ACTIVITY_NEW_TASK = 0x10000000;
+
+    private String action;
+    private int flags;
+    private final HashMap<String, Object> extras = new HashMap<>();
+
+    public Intent() {
+    }
+
+    public Intent(String action) {
+        this.action = action;
+    }
+
+    public Intent(Context packageContext, Class<?> cls) {
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getDataString() {
+        return null;
+    }
+
+    public Intent setClassName(String packageName, String className) {
+        return this;
+    }
+
+    public Intent addFlags(int flags) {
+        this.flags |= flags;
+        return this;
+    }
+
+    public Intent putExtra(String name, String value) {
+        extras.put(name, value);
+        return this;
+    }
+
+    public Intent putExtra(String name, Parcelable value) {
+        extras.put(name, value);
+        return this;
+    }
+
+    public String getStringExtra(String name) {
+        return (String) extras.get(name);
+    }
+
+    public Bundle getExtras() {
+        Bundle bundle = new Bundle();
+        for (String key : extras.keySet()) {
+            Object value = extras.get(key);
+            if (value instanceof Parcelable) {
+                bundle.putParcelable(key, (Parcelable) value);
+            }
+        }
+        return bundle;
+    }
+}
@@ -0,0 +1,17 @@
+package android.content;
+
+import java.util.ArrayList;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class IntentFilter {
+    private final ArrayList<String> actions = new ArrayList<>();
+
+    public void addAction(String action) {
+        actions.add(action);
+    }
+
+    public void addDataScheme(String scheme) {
+    }
+}
@@ -0,0 +1,8 @@
+package android.content.pm;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class ActivityInfo {
+    public String packageName;
+}
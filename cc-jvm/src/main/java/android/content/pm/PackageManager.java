@@ -0,0 +1,19 @@
+package android.content.pm;
+
+import android.content.Intent;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+import java.util.Collections;
+import java.util.List;
+
+public class PackageManager {
+
+    /**
+     * JVM上没有其它app，始终返回空列表
+     */
+    public List<ResolveInfo> queryIntentActivities(Intent intent, int flags) {
+        return Collections.emptyList();
+    }
+}
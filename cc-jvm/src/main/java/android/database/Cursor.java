@@ -0,0 +1,13 @@
+package android.database;
+
+import android.os.Bundle;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public interface Cursor {
+
+    Bundle getExtras();
+
+    void close();
+}
@@ -0,0 +1,21 @@
+package android.database;
+
+import android.os.Bundle;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class MatrixCursor implements Cursor {
+
+    public MatrixCursor(String[] columnNames) {
+    }
+
+    @Override
+    public Bundle getExtras() {
+        return Bundle.EMPTY;
+    }
+
+    @Override
+    public void close() {
+    }
+}
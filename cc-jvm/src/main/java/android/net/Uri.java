@@ -0,0 +1,32 @@
+package android.net;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class Uri {
+    private static final String SCHEME_SEPARATOR = "://";
+    private final String uriString;
+
+    private Uri(String uriString) {
+        this.uriString = uriString;
+    }
+
+    public static Uri parse(String uriString) {
+        return new Uri(uriString);
+    }
+
+    public String getAuthority() {
+        int start = uriString.indexOf(SCHEME_SEPARATOR);
+        if (start < 0) {
+            return null;
+        }
+        start += SCHEME_SEPARATOR.length();
+        int end = uriString.indexOf('/', start);
+        return end < 0 ? uriString.substring(start) : uriString.substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return uriString;
+    }
+}
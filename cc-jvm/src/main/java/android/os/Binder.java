@@ -0,0 +1,15 @@
+package android.os;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class Binder implements IBinder {
+
+    public static final int getCallingPid() {
+        return Process.myPid();
+    }
+
+    public static final int getCallingUid() {
+        return Process.myUid();
+    }
+}
@@ -0,0 +1,24 @@
+package android.os;
+
+import java.util.HashMap;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class Bundle {
+    public static final Bundle EMPTY = new Bundle();
+
+    private final HashMap<String, Object> map = new HashMap<>();
+
+    public void setClassLoader(ClassLoader loader) {
+    }
+
+    public void putParcelable(String key, Parcelable value) {
+        map.put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Parcelable> T getParcelable(String key) {
+        return (T) map.get(key);
+    }
+}
@@ -0,0 +1,15 @@
+package android.os;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class DeadObjectException extends RemoteException {
+    private static final long serialVersionUID = 1L;
+
+    public DeadObjectException() {
+    }
+
+    public DeadObjectException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package android.os;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public final class Debug {
+
+    private Debug() {
+    }
+
+    public static boolean isDebuggerConnected() {
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package android.os;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class Handler {
+    private final Looper looper;
+    private final Callback callback;
+
+    public Handler() {
+        this(Looper.myLooper(), null);
+    }
+
+    public Handler(Looper looper) {
+        this(looper, null);
+    }
+
+    public Handler(Looper looper, Callback callback) {
+        if (looper == null) {
+            throw new RuntimeException("Can't create handler inside thread that has not called Looper.prepare()");
+        }
+        this.looper = looper;
+        this.callback = callback;
+    }
+
+    public interface Callback {
+        boolean handleMessage(Message msg);
+    }
+
+    public void handleMessage(Message msg) {
+    }
+
+    public void dispatchMessage(Message msg) {
+        if (msg.callback != null) {
+            msg.callback.run();
+        } else if (callback == null || !callback.handleMessage(msg)) {
+            handleMessage(msg);
+        }
+    }
+
+    public final Looper getLooper() {
+        return looper;
+    }
+
+    public final Message obtainMessage(int what) {
+        Message msg = Message.obtain();
+        msg.target = this;
+        msg.what = what;
+        return msg;
+    }
+
+    public final boolean post(Runnable r) {
+        return postDelayed(r, 0);
+    }
+
+    public final boolean postDelayed(Runnable r, long delayMillis) {
+        return postAtTime(r, SystemClock.uptimeMillis() + Math.max(delayMillis, 0));
+    }
+
+    public final boolean postAtTime(Runnable r, long uptimeMillis) {
+        return looper.queue.enqueue(Message.obtain(this, r), uptimeMillis);
+    }
+
+    public final boolean postAtFrontOfQueue(Runnable r) {
+        return looper.queue.enqueue(Message.obtain(this, r), Long.MIN_VALUE);
+    }
+
+    public final void removeCallbacks(Runnable r) {
+        looper.queue.removeMessages(this, 0, r);
+    }
+
+    public final boolean sendMessage(Message msg) {
+        return sendMessageDelayed(msg, 0);
+    }
+
+    public final boolean sendEmptyMessage(int what) {
+        return sendMessage(obtainMessage(what));
+    }
+
+    public final boolean sendMessageDelayed(Message msg, long delayMillis) {
+        msg.target = this;
+        return looper.queue.enqueue(msg, SystemClock.uptimeMillis() + Math.max(delayMillis, 0));
+    }
+
+    public final boolean sendMessageAtFrontOfQueue(Message msg) {
+        msg.target = this;
+        return looper.queue.enqueue(msg, Long.MIN_VALUE);
+    }
+
+    public final boolean hasMessages(int what) {
+        return looper.queue.hasMessages(this, what, null);
+    }
+
+    public final void removeMessages(int what) {
+        looper.queue.removeMessages(this, what, null);
+    }
+}
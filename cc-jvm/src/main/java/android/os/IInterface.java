@@ -0,0 +1,9 @@
+package android.os;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public interface IInterface {
+
+    IBinder asBinder();
+}
@@ -0,0 +1,92 @@
+package android.os;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public final class Looper {
+    private static final ThreadLocal<Looper> LOOPERS = new ThreadLocal<>();
+    private static Looper mainLooper;
+
+    final MessageQueue queue = new MessageQueue();
+    private final Thread thread;
+
+    private Looper() {
+        thread = Thread.currentThread();
+    }
+
+    public static void prepare() {
+        if (LOOPERS.get() != null) {
+            throw new RuntimeException("Only one Looper may be created per thread");
+        }
+        LOOPERS.set(new Looper());
+    }
+
+    /**
+     * 将当前线程作为主线程，之后需调用{@link #loop()}
+     */
+    public static void prepareMainLooper() {
+        prepare();
+        synchronized (Looper.class) {
+            if (mainLooper != null) {
+                throw new IllegalStateException("The main Looper has already been prepared.");
+            }
+            mainLooper = myLooper();
+            Looper.class.notifyAll();
+        }
+    }
+
+    /**
+     * 获取主线程的Looper，没有调用过{@link #prepareMainLooper()}时，自动创建一个名为main的守护线程作为主线程
+     */
+    public static Looper getMainLooper() {
+        synchronized (Looper.class) {
+            if (mainLooper == null) {
+                Thread main = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        prepareMainLooper();
+                        loop();
+                    }
+                }, "main");
+                main.setDaemon(true);
+                main.start();
+                while (mainLooper == null) {
+                    try {
+                        Looper.class.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            return mainLooper;
+        }
+    }
+
+    public static Looper myLooper() {
+        return LOOPERS.get();
+    }
+
+    public static void loop() {
+        Looper me = myLooper();
+        if (me == null) {
+            throw new RuntimeException("No Looper; Looper.prepare() wasn't called on this thread.");
+        }
+        Message msg;
+        while ((msg = me.queue.next()) != null) {
+            msg.target.dispatchMessage(msg);
+        }
+    }
+
+    public void quit() {
+        queue.quit();
+    }
+
+    public Thread getThread() {
+        return thread;
+    }
+
+    public boolean isCurrentThread() {
+        return Thread.currentThread() == thread;
+    }
+}
@@ -0,0 +1,40 @@
+package android.os;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public final class Message {
+    public int what;
+    public Object obj;
+    Runnable callback;
+    Handler target;
+    long when;
+    /** 相同执行时间的消息按发送顺序执行 */
+    long seq;
+
+    public static Message obtain() {
+        return new Message();
+    }
+
+    public static Message obtain(Handler h, Runnable callback) {
+        Message m = new Message();
+        m.target = h;
+        m.callback = callback;
+        return m;
+    }
+
+    public Runnable getCallback() {
+        return callback;
+    }
+
+    public Handler getTarget() {
+        return target;
+    }
+
+    public void setAsynchronous(boolean async) {
+    }
+
+    public void sendToTarget() {
+        target.sendMessage(this);
+    }
+}
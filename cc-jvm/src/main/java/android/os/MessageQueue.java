@@ -0,0 +1,84 @@
+package android.os;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public final class MessageQueue {
+    private final PriorityQueue<Message> queue = new PriorityQueue<>(16, new Comparator<Message>() {
+        @Override
+        public int compare(Message a, Message b) {
+            if (a.when != b.when) {
+                return a.when < b.when ? -1 : 1;
+            }
+            return a.seq < b.seq ? -1 : (a.seq == b.seq ? 0 : 1);
+        }
+    });
+    private long seq;
+    private boolean quitting;
+
+    synchronized boolean enqueue(Message msg, long when) {
+        if (quitting) {
+            return false;
+        }
+        msg.when = when;
+        msg.seq = seq++;
+        queue.offer(msg);
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * 取出下一个到期的消息，没有时等待
+     * @return 下一个消息，退出时返回null
+     */
+    synchronized Message next() {
+        while (true) {
+            if (quitting) {
+                return null;
+            }
+            Message msg = queue.peek();
+            long now = SystemClock.uptimeMillis();
+            if (msg != null && msg.when <= now) {
+                return queue.poll();
+            }
+            try {
+                if (msg == null) {
+                    wait();
+                } else {
+                    wait(msg.when - now);
+                }
+            } catch (InterruptedException e) {
+                return null;
+            }
+        }
+    }
+
+    synchronized boolean hasMessages(Handler h, int what, Runnable r) {
+        for (Message msg : queue) {
+            if (msg.target == h && (r == null ? msg.callback == null && msg.what == what : msg.callback == r)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    synchronized void removeMessages(Handler h, int what, Runnable r) {
+        Iterator<Message> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Message msg = iterator.next();
+            if (msg.target == h && (r == null ? msg.callback == null && msg.what == what : msg.callback == r)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    synchronized void quit() {
+        quitting = true;
+        queue.clear();
+        notifyAll();
+    }
+}
@@ -0,0 +1,120 @@
+package android.os;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public final class Parcel {
+    /** 按写入顺序保存的值，集合类型保存其浅拷贝 */
+    private final ArrayList<Object> values = new ArrayList<>();
+    private int position;
+
+    private Parcel() {
+    }
+
+    public static Parcel obtain() {
+        return new Parcel();
+    }
+
+    public void recycle() {
+        values.clear();
+        position = 0;
+    }
+
+    public void setDataPosition(int pos) {
+        position = pos;
+    }
+
+    private Object read() {
+        return values.get(position++);
+    }
+
+    public void writeByte(byte val) {
+        values.add(val);
+    }
+
+    public byte readByte() {
+        return (Byte) read();
+    }
+
+    public void writeInt(int val) {
+        values.add(val);
+    }
+
+    public int readInt() {
+        return (Integer) read();
+    }
+
+    public void writeLong(long val) {
+        values.add(val);
+    }
+
+    public long readLong() {
+        return (Long) read();
+    }
+
+    public void writeString(String val) {
+        values.add(val);
+    }
+
+    public String readString() {
+        return (String) read();
+    }
+
+    public void writeLongArray(long[] val) {
+        values.add(val == null ? null : val.clone());
+    }
+
+    public long[] createLongArray() {
+        return (long[]) read();
+    }
+
+    public void writeStringArray(String[] val) {
+        values.add(val == null ? null : val.clone());
+    }
+
+    public String[] createStringArray() {
+        return (String[]) read();
+    }
+
+    public void writeSerializable(Serializable s) {
+        values.add(s);
+    }
+
+    public Serializable readSerializable() {
+        return (Serializable) read();
+    }
+
+    public void writeStrongBinder(IBinder val) {
+        values.add(val);
+    }
+
+    public IBinder readStrongBinder() {
+        return (IBinder) read();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void writeMap(Map val) {
+        values.add(val == null ? null : new HashMap(val));
+    }
+
+    @SuppressWarnings("rawtypes")
+    public HashMap readHashMap(ClassLoader loader) {
+        return (HashMap) read();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void writeList(List val) {
+        values.add(val == null ? null : new ArrayList(val));
+    }
+
+    @SuppressWarnings("rawtypes")
+    public ArrayList readArrayList(ClassLoader loader) {
+        return (ArrayList) read();
+    }
+}
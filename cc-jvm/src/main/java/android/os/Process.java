@@ -0,0 +1,17 @@
+package android.os;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class Process {
+    private static final int PID = 10000;
+    private static final int UID = 10000;
+
+    public static final int myPid() {
+        return PID;
+    }
+
+    public static final int myUid() {
+        return UID;
+    }
+}
@@ -0,0 +1,7 @@
+package android.support.annotation;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public @interface NonNull {
+}
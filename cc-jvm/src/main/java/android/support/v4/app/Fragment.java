@@ -0,0 +1,11 @@
+package android.support.v4.app;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class Fragment {
+
+    public FragmentManager getFragmentManager() {
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package android.support.v4.app;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public abstract class FragmentManager {
+
+    public abstract void registerFragmentLifecycleCallbacks(FragmentLifecycleCallbacks cb, boolean recursive);
+
+    public abstract void unregisterFragmentLifecycleCallbacks(FragmentLifecycleCallbacks cb);
+
+    public abstract static class FragmentLifecycleCallbacks {
+        public void onFragmentDestroyed(FragmentManager fm, Fragment f) {
+        }
+    }
+}
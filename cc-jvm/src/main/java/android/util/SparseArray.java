@@ -0,0 +1,36 @@
+package android.util;
+
+import java.util.TreeMap;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class SparseArray<E> {
+    private final TreeMap<Integer, E> map = new TreeMap<>();
+
+    public int size() {
+        return map.size();
+    }
+
+    public int keyAt(int index) {
+        int i = 0;
+        for (Integer key : map.keySet()) {
+            if (i++ == index) {
+                return key;
+            }
+        }
+        throw new ArrayIndexOutOfBoundsException(index);
+    }
+
+    public E valueAt(int index) {
+        return map.get(keyAt(index));
+    }
+
+    public E get(int key) {
+        return map.get(key);
+    }
+
+    public void put(int key, E value) {
+        map.put(key, value);
+    }
+}
@@ -0,0 +1,32 @@
+package android.util;
+
+import java.util.TreeMap;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ */
+public class SparseIntArray {
+    private final TreeMap<Integer, Integer> map = new TreeMap<>();
+
+    public int size() {
+        return map.size();
+    }
+
+    public int keyAt(int index) {
+        int i = 0;
+        for (Integer key : map.keySet()) {
+            if (i++ == index) {
+                return key;
+            }
+        }
+        throw new ArrayIndexOutOfBoundsException(index);
+    }
+
+    public int valueAt(int index) {
+        return map.get(keyAt(index));
+    }
+
+    public void put(int key, int value) {
+        map.put(key, value);
+    }
+}
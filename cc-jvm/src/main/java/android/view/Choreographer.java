@@ -0,0 +1,68 @@
+package android.view;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模拟系统源码，供JVM上运行CC
+ * 没有屏幕刷新信号，按60fps的时间点在当前线程的Looper中执行帧回调
+ */
+public final class Choreographer {
+    private static final long FRAME_INTERVAL_NANOS = 16666667;
+
+    private static final ThreadLocal<Choreographer> INSTANCES = new ThreadLocal<Choreographer>() {
+        @Override
+        protected Choreographer initialValue() {
+            Looper looper = Looper.myLooper();
+            if (looper == null) {
+                throw new IllegalStateException("The current thread must have a looper!");
+            }
+            return new Choreographer(looper);
+        }
+    };
+
+    private final Handler handler;
+    private final ArrayList<FrameCallback> callbacks = new ArrayList<>();
+    private boolean scheduled;
+
+    private final Runnable frameRunnable = new Runnable() {
+        @Override
+        public void run() {
+            scheduled = false;
+            long frameTimeNanos = System.nanoTime();
+            FrameCallback[] frameCallbacks = callbacks.toArray(new FrameCallback[callbacks.size()]);
+            callbacks.clear();
+            for (FrameCallback callback : frameCallbacks) {
+                callback.doFrame(frameTimeNanos);
+            }
+        }
+    };
+
+    private Choreographer(Looper looper) {
+        handler = new Handler(looper);
+    }
+
+    public static Choreographer getInstance() {
+        return INSTANCES.get();
+    }
+
+    public void postFrameCallback(FrameCallback callback) {
+        callbacks.add(callback);
+        if (!scheduled) {
+            scheduled = true;
+            long waitNanos = FRAME_INTERVAL_NANOS - System.nanoTime() % FRAME_INTERVAL_NANOS;
+            handler.postDelayed(frameRunnable, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+    }
+
+    public void removeFrameCallback(FrameCallback callback) {
+        callbacks.remove(callback);
+    }
+
+    public interface FrameCallback {
+        void doFrame(long frameTimeNanos);
+    }
+}
@@ -0,0 +1,123 @@
+package com.billy.cc.core.component;
+
+import android.app.ActivityThread;
+import android.app.Application;
+import android.os.Looper;
+
+import com.billy.cc.core.component.remote.RemoteProvider;
+import com.billy.cc.core.component.remote.SimulatedProcess;
+
+import java.util.ServiceLoader;
+
+/**
+ * 在JVM上运行CC（服务端压测、无界面的集成测试等），与android上的差异：
+ *  1. Application及进程名称由{@link #start(String, String)}指定，只有当前一个进程，不支持跨app调用，
+ *      app内的其它进程可以通过{@link #attachProcess(SimulatedProcess)}模拟
+ *  2. 主线程：默认创建一个名为main的守护线程运行主线程的Looper，也可以通过{@link #loopMainThread(Runnable)}将当前线程作为主线程
+ *  3. 没有cc-register插件，组件及全局拦截器需要手动注册，或者在META-INF/services中声明，由{@link #start(String, String)}通过ServiceLoader加载：
+ *      META-INF/services/com.billy.cc.core.component.IComponent
+ *      META-INF/services/com.billy.cc.core.component.IGlobalCCInterceptor
+ * <pre>
+ *     CCJvm.start("com.billy.cc.demo", null);
+ *     CCJvm.registerComponent(new ComponentA());
+ *     CCResult result = CC.obtainBuilder("demo.ComponentA").setActionName("getInfo").build().call();
+ * </pre>
+ * @author billy.qi
+ */
+public final class CCJvm {
+    /** 未指定包名时的默认包名，可通过系统属性cc.packageName指定 */
+    public static final String DEFAULT_PACKAGE_NAME = Application.DEFAULT_PACKAGE_NAME;
+
+    private static Application application;
+
+    private CCJvm() {
+    }
+
+    /**
+     * 以系统属性cc.packageName、cc.processName指定的包名及进程名称启动，未指定时使用{@link #DEFAULT_PACKAGE_NAME}作为包名，在主进程中运行
+     * @return 当前进程的Application对象
+     */
+    public static Application start() {
+        return start(System.getProperty("cc.packageName", DEFAULT_PACKAGE_NAME), System.getProperty("cc.processName"));
+    }
+
+    /**
+     * 初始化CC的运行环境，重复调用时直接返回
+     * @param packageName 包名
+     * @param processName 进程名称，为null时与包名相同（主进程）
+     * @return 当前进程的Application对象
+     * @throws IllegalStateException 已经以其它包名或进程名称启动过
+     */
+    public static synchronized Application start(String packageName, String processName) {
+        if (processName == null) {
+            processName = packageName;
+        }
+        if (application != null) {
+            if (!application.getPackageName().equals(packageName)
+                    || !application.getProcessName().equals(processName)) {
+                throw new IllegalStateException("CCJvm has already started as " + application.getPackageName()
+                        + "(" + application.getProcessName() + ")");
+            }
+            return application;
+        }
+        Application app = new Application(packageName, processName);
+        ActivityThread.attach(app);
+        application = app;
+        Looper.getMainLooper();
+        CC.init(app, true, true);
+        for (IComponent component : ServiceLoader.load(IComponent.class)) {
+            registerComponent(component);
+        }
+        for (IGlobalCCInterceptor interceptor : ServiceLoader.load(IGlobalCCInterceptor.class)) {
+            CC.registerGlobalInterceptor(interceptor);
+        }
+        return app;
+    }
+
+    /**
+     * 注册组件，对应android上由cc-register插件自动注册的组件
+     * 动态组件请使用{@link CC#registerComponent(IDynamicComponent)}
+     * @param component 组件
+     */
+    public static void registerComponent(IComponent component) {
+        ComponentManager.registerComponent(component);
+    }
+
+    /**
+     * 接入模拟的子进程：安装子进程的ContentProvider，并将其中的组件注册为该进程的组件，
+     * 之后调用这些组件时走跨进程调用的流程（对应android上由cc-register插件注册的{@link com.billy.cc.core.component.annotation.SubProcess}组件）
+     * @param process 模拟的子进程，进程名称不能与当前进程相同
+     */
+    public static void attachProcess(SimulatedProcess process) {
+        String processName = process.getProcessName();
+        if (processName.equals(CCUtil.getCurProcessName())) {
+            throw new IllegalArgumentException("process name is the same as current process: " + processName);
+        }
+        ActivityThread.installProvider(processName + "." + RemoteProvider.URI_SUFFIX, process.getProvider());
+        for (String componentName : process.getComponentNames()) {
+            ComponentManager.registerComponent(componentName, process.getClass().getName(), processName
+                    , ComponentManager.NO_COMPONENT_ID, null, false);
+        }
+    }
+
+    /**
+     * 将当前线程作为主线程并开始循环处理主线程的消息，直到调用{@link #quitMainThread()}<br>
+     * 需要在{@link #start(String, String)}之前调用（start会在没有主线程时自动创建）
+     * @param onStart 开始循环后在主线程中执行，可以为null
+     */
+    public static void loopMainThread(Runnable onStart) {
+        Looper.prepareMainLooper();
+        start();
+        if (onStart != null) {
+            ComponentManager.MAIN_THREAD_HANDLER.post(onStart);
+        }
+        Looper.loop();
+    }
+
+    /**
+     * 结束主线程的消息循环，之后投递到主线程的消息不再执行
+     */
+    public static void quitMainThread() {
+        Looper.getMainLooper().quit();
+    }
+}
@@ -0,0 +1,31 @@
+package com.billy.cc.core.component.remote;
+
+/**
+ * 与IRemoteCCService.aidl生成的接口相同，供JVM上运行CC（没有aidl工具）
+ * JVM上只有当前进程，asInterface直接返回同一进程中的实现
+ */
+public interface IRemoteCCService extends android.os.IInterface {
+
+    abstract class Stub extends android.os.Binder implements IRemoteCCService {
+
+        public static IRemoteCCService asInterface(android.os.IBinder obj) {
+            if (obj instanceof IRemoteCCService) {
+                return (IRemoteCCService) obj;
+            }
+            return null;
+        }
+
+        @Override
+        public android.os.IBinder asBinder() {
+            return this;
+        }
+    }
+
+    void call(RemoteCC remoteCC, IRemoteCallback callback) throws android.os.RemoteException;
+
+    void cancel(String callId) throws android.os.RemoteException;
+
+    void timeout(String callId) throws android.os.RemoteException;
+
+    String getComponentProcessName(String componentName) throws android.os.RemoteException;
+}
@@ -0,0 +1,24 @@
+package com.billy.cc.core.component.remote;
+
+/**
+ * 与IRemoteCallback.aidl生成的接口相同，供JVM上运行CC（没有aidl工具）
+ */
+public interface IRemoteCallback extends android.os.IInterface {
+
+    abstract class Stub extends android.os.Binder implements IRemoteCallback {
+
+        public static IRemoteCallback asInterface(android.os.IBinder obj) {
+            if (obj instanceof IRemoteCallback) {
+                return (IRemoteCallback) obj;
+            }
+            return null;
+        }
+
+        @Override
+        public android.os.IBinder asBinder() {
+            return this;
+        }
+    }
+
+    void callback(RemoteCCResult remoteCCResult) throws android.os.RemoteException;
+}
@@ -0,0 +1,217 @@
+package com.billy.cc.core.component.remote;
+
+import android.content.ContentProvider;
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.net.Uri;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.os.RemoteException;
+
+import com.billy.cc.core.component.CCResult;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在JVM上模拟app内的一个子进程，通过{@link com.billy.cc.core.component.CCJvm#attachProcess(SimulatedProcess)}接入后，
+ * 调用其中的组件时与android上一样经过跨进程调用的完整流程（获取binder、RemoteCC的参数转换、超时及取消的通知等）：
+ *  1. RemoteCC和RemoteCCResult经过Parcel写入和读出，模拟跨进程传递
+ *  2. 组件在子进程的线程池(线程名为 进程名-binder-N)中执行，不经过当前进程的拦截器和CCMonitor
+ *  3. 调用方超时或取消时，通过{@link #isStopped(String)}可以获知
+ * <pre>
+ *     SimulatedProcess process = new SimulatedProcess("com.billy.cc.demo:sub");
+ *     process.addComponent(new SimulatedProcess.Component() {...});
+ *     CCJvm.attachProcess(process);
+ * </pre>
+ * @author billy.qi
+ */
+public class SimulatedProcess extends IRemoteCCService.Stub {
+
+    /**
+     * 子进程中的组件
+     */
+    public interface Component {
+        String getName();
+
+        /**
+         * 在子进程的线程池中执行（可以阻塞），返回调用结果
+         * @param remoteCC 调用方进程传来的调用信息
+         * @return 调用结果，为null时返回{@link CCResult#CODE_ERROR_NULL_RESULT}
+         */
+        CCResult onCall(RemoteCC remoteCC);
+    }
+
+    private final String processName;
+    private final ConcurrentHashMap<String, Component> components = new ConcurrentHashMap<>();
+    /** 正在执行的调用：callId - 是否已被调用方超时或取消 */
+    private final ConcurrentHashMap<String, Boolean> calls = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    /**
+     * @param processName 完整的进程名称，例如：com.billy.cc.demo:sub
+     */
+    public SimulatedProcess(final String processName) {
+        this.processName = processName;
+        this.executor = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger index = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, processName + "-binder-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public SimulatedProcess addComponent(Component component) {
+        components.put(component.getName(), component);
+        return this;
+    }
+
+    public String getProcessName() {
+        return processName;
+    }
+
+    public Set<String> getComponentNames() {
+        return Collections.unmodifiableSet(components.keySet());
+    }
+
+    /**
+     * @return 正在子进程中执行的调用数
+     */
+    public int getRunningCount() {
+        return calls.size();
+    }
+
+    /**
+     * 调用是否已被调用方超时或取消
+     */
+    public boolean isStopped(String callId) {
+        return Boolean.TRUE.equals(calls.get(callId));
+    }
+
+    /**
+     * 子进程对外提供binder的ContentProvider，对应android上的{@link RemoteProvider}
+     */
+    public ContentProvider getProvider() {
+        return new Provider(new RemoteCursor(RemoteCursor.DEFAULT_COLUMNS, this));
+    }
+
+    @Override
+    public void call(RemoteCC remoteCC, final IRemoteCallback callback) throws RemoteException {
+        final RemoteCC cc = transact(remoteCC, RemoteCC.CREATOR);
+        final Component component = components.get(cc.getComponentName());
+        if (component == null) {
+            doCallback(callback, error(CCResult.CODE_ERROR_NO_COMPONENT_FOUND));
+            return;
+        }
+        final String callId = cc.getCallId();
+        calls.put(callId, Boolean.FALSE);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                CCResult result;
+                try {
+                    result = component.onCall(cc);
+                    if (result == null) {
+                        result = error(CCResult.CODE_ERROR_NULL_RESULT);
+                    }
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    result = error(CCResult.CODE_ERROR_EXCEPTION_RESULT);
+                }
+                calls.remove(callId);
+                doCallback(callback, result);
+            }
+        });
+    }
+
+    private static CCResult error(int code) {
+        CCResult result = new CCResult();
+        result.setSuccess(false);
+        result.setCode(code);
+        return result;
+    }
+
+    private static void doCallback(IRemoteCallback callback, CCResult result) {
+        try {
+            callback.callback(transact(new RemoteCCResult(result), RemoteCCResult.CREATOR));
+        } catch (RemoteException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void cancel(String callId) throws RemoteException {
+        calls.replace(callId, Boolean.TRUE);
+    }
+
+    @Override
+    public void timeout(String callId) throws RemoteException {
+        calls.replace(callId, Boolean.TRUE);
+    }
+
+    @Override
+    public String getComponentProcessName(String componentName) throws RemoteException {
+        return components.containsKey(componentName) ? processName : null;
+    }
+
+    /**
+     * 写入Parcel再读出，模拟跨进程传递
+     */
+    private static <T> T transact(Parcelable value, Parcelable.Creator<T> creator) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            value.writeToParcel(parcel, 0);
+            parcel.setDataPosition(0);
+            return creator.createFromParcel(parcel);
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static class Provider extends ContentProvider {
+        private final Cursor cursor;
+
+        Provider(Cursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean onCreate() {
+            return true;
+        }
+
+        @Override
+        public Cursor query(Uri uri, String[] projection, String selection, String[] selectionArgs, String sortOrder) {
+            return cursor;
+        }
+
+        @Override
+        public String getType(Uri uri) {
+            return null;
+        }
+
+        @Override
+        public Uri insert(Uri uri, ContentValues values) {
+            return null;
+        }
+
+        @Override
+        public int delete(Uri uri, String selection, String[] selectionArgs) {
+            return 0;
+        }
+
+        @Override
+        public int update(Uri uri, ContentValues values, String selection, String[] selectionArgs) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.billy.cc.core.component;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 通过{@link CCResult#setDataMap(Map)}及{@link CCResult#success(Map)}设置的返回信息直接使用调用方的Map对象，
+ * 之后对此Map的修改对CCResult可见，通过CCResult添加的信息也写入此Map
+ * @author billy.qi
+ */
+public class CCResultDataMapTest {
+
+    @Test
+    public void successKeepsCallerMap() {
+        Map<String, Object> map = new HashMap<>();
+        CCResult result = CCResult.success(map);
+        map.put("name", "billy");
+        map.put("age", 18);
+
+        assertSame(map, result.getDataMap());
+        assertEquals("billy", result.<String>getDataItem("name"));
+        assertEquals(18, result.getDataInt("age", 0));
+        assertEquals(18L, result.getDataLong("age", 0));
+    }
+
+    @Test
+    public void setDataMapKeepsCallerMap() {
+        Map<String, Object> map = new HashMap<>();
+        CCResult result = CCResult.success("old", 1);
+        result.setDataMap(map);
+        map.put("flag", true);
+        result.addData("count", 3).addData("text", "ok");
+
+        assertTrue(result.getDataBoolean("flag", false));
+        assertEquals(-1, result.getDataInt("old", -1));
+        assertEquals(3, map.get("count"));
+        assertEquals("ok", map.get("text"));
+    }
+}
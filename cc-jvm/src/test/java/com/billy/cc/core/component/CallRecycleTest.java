@@ -0,0 +1,88 @@
+package com.billy.cc.core.component;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 开启回收复用后，同一个CC对象先在当前线程中同步完成调用(结束后被回收复用)，
+ * 再次调用时切换到子线程执行，第二次调用结束后不能被回收复用
+ * @author billy.qi
+ */
+public class CallRecycleTest {
+    private static final String COMPONENT = "test.recycle";
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        CCJvm.start();
+        CC.registerComponent(new SwitchingComponent());
+        CC.enableCallRecycle(true);
+    }
+
+    @After
+    public void tearDown() {
+        CC.enableCallRecycle(false);
+        CC.unregisterComponent(new SwitchingComponent());
+    }
+
+    @Test
+    public void notRecycledAfterThreadSwitch() throws Exception {
+        final AtomicReference<CC> reused = new AtomicReference<>();
+        final AtomicReference<CC> next = new AtomicReference<>();
+        final AtomicReference<CCResult> second = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                CC cc = CC.obtainBuilder(COMPONENT).build();
+                //第一次调用在主线程中同步完成，结束后被回收复用
+                cc.call();
+                CC again = CC.obtainBuilder(COMPONENT).build();
+                reused.set(again == cc ? again : null);
+                //第二次调用切换到子线程执行，调用结束后不能被回收
+                second.set(again.call());
+                next.set(CC.obtainBuilder(COMPONENT).build());
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotNull("cc should be recycled after the same-thread call", reused.get());
+        assertTrue(second.get().isSuccess());
+        assertEquals(2, calls.get());
+        assertEquals(COMPONENT, reused.get().getComponentName());
+        assertNotSame(reused.get(), next.get());
+    }
+
+    private class SwitchingComponent implements IDynamicComponent, IMainThread {
+        @Override
+        public String getName() {
+            return COMPONENT;
+        }
+
+        @Override
+        public boolean onCall(CC cc) {
+            CC.sendCCResult(cc.getCallId(), CCResult.success());
+            return false;
+        }
+
+        @Override
+        public Boolean shouldActionRunOnMainThread(String actionName, CC cc) {
+            return calls.incrementAndGet() == 1;
+        }
+    }
+}
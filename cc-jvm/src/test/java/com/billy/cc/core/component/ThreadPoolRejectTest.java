@@ -0,0 +1,89 @@
+package com.billy.cc.core.component;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 线程池已满时，需要从主线程切换到子线程执行的组件调用以{@link CCResult#CODE_ERROR_REJECTED}结束，不在主线程中执行
+ * @author billy.qi
+ */
+public class ThreadPoolRejectTest {
+    private static final String COMPONENT = "test.workerOnly";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicReference<String> onCallThread = new AtomicReference<>();
+
+    @Before
+    public void setUp() {
+        CCJvm.start();
+        CC.registerComponent(new WorkerOnlyComponent());
+        CC.setExecutor(new CCThreadPool(1, 1, CCThreadPool.POLICY_SHED));
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        CC.setExecutor(null);
+        CC.unregisterComponent(new WorkerOnlyComponent());
+    }
+
+    @Test
+    public void rejectWhenPoolIsFull() throws Exception {
+        Runnable block = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+            }
+        };
+        //占满唯一的线程及等待队列
+        ComponentManager.threadPool(block);
+        assertTrue(ComponentManager.submit(block));
+
+        final AtomicReference<CCResult> result = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                result.set(CC.obtainBuilder(COMPONENT).build().call());
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(CCResult.CODE_ERROR_REJECTED, result.get().getCode());
+        assertNull("onCall should not run on the main thread", onCallThread.get());
+    }
+
+    private class WorkerOnlyComponent implements IDynamicComponent, IMainThread {
+        @Override
+        public String getName() {
+            return COMPONENT;
+        }
+
+        @Override
+        public boolean onCall(CC cc) {
+            onCallThread.set(Thread.currentThread().getName());
+            CC.sendCCResult(cc.getCallId(), CCResult.success());
+            return false;
+        }
+
+        @Override
+        public Boolean shouldActionRunOnMainThread(String actionName, CC cc) {
+            return false;
+        }
+    }
+}
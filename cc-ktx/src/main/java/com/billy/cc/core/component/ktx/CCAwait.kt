@@ -0,0 +1,53 @@
+package com.billy.cc.core.component.ktx
+
+import com.billy.cc.core.component.CC
+import com.billy.cc.core.component.CCResult
+import com.billy.cc.core.component.IComponentCallback
+import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlin.coroutines.coroutineContext
+import kotlin.coroutines.resume
+
+/**
+ * 异步调用组件并挂起等待调用结果
+ * 组件在CC线程池中执行，通过回调恢复协程，等待期间不占用任何线程
+ * (无需用withContext(Dispatchers.IO)包装同步调用call()，那样每次调用会同时占用一个IO线程和一个CC线程)
+ * 协程被取消时，通过[CC.cancel]取消此次组件调用
+ *
+ * 注：CC对象创建后不能再修改超时时间，需要受[withCCTimeout]截止时间约束的调用请使用[CC.Builder.await]
+ * @return 组件调用结果，不会为null
+ */
+suspend fun CC.await(): CCResult = suspendCancellableCoroutine { continuation ->
+    val callId = callAsync(IComponentCallback { _, result ->
+        //协程已被取消时，resume会被忽略
+        continuation.resume(result)
+    })
+    continuation.invokeOnCancellation {
+        CC.cancel(callId)
+    }
+}
+
+/**
+ * 创建CC对象并异步调用，挂起等待调用结果，见[CC.await]
+ * 当前协程处于[withCCTimeout]中时，以剩余时间作为本次调用的超时时间(已设置了更短的超时时间时保持不变)，
+ * 使被调用方及CC线程池的排队顺序都能获知此截止时间
+ * <pre>
+ *     val result = withCCTimeout(3000) {
+ *         val user = CC.obtainBuilder("UserComponent").setActionName("getUser").await()
+ *         CC.obtainBuilder("OrderComponent").setActionName("getOrders")
+ *                 .addParam("userId", user.getDataItem<String>("userId"))
+ *                 .await()
+ *     }
+ * </pre>
+ * @return 组件调用结果，不会为null
+ */
+suspend fun CC.Builder.await(): CCResult {
+    val deadline = coroutineContext[CCDeadline]
+    if (deadline != null) {
+        //剩余时间为0时协程即将被取消，仍设置一个最小的超时时间，避免被当作未设置超时
+        val remaining = Math.max(deadline.remaining(), 1)
+        if (timeout <= 0 || timeout > remaining) {
+            setTimeout(remaining)
+        }
+    }
+    return build().await()
+}
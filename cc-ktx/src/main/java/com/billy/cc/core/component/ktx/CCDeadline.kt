@@ -0,0 +1,44 @@
+package com.billy.cc.core.component.ktx
+
+import android.os.SystemClock
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.TimeoutCancellationException
+import kotlinx.coroutines.withContext
+import kotlinx.coroutines.withTimeout
+import kotlin.coroutines.AbstractCoroutineContextElement
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.coroutineContext
+
+/**
+ * 协程上下文中组件调用的截止时间，由[withCCTimeout]设置，子协程自动继承
+ * @property deadlineAt 截止时间点(SystemClock.elapsedRealtime())
+ * @author billy.qi
+ */
+class CCDeadline(val deadlineAt: Long) : AbstractCoroutineContextElement(CCDeadline) {
+
+    companion object Key : CoroutineContext.Key<CCDeadline>
+
+    /**
+     * @return 距离截止时间的剩余毫秒数，已过截止时间时为0
+     */
+    fun remaining(): Long {
+        val remaining = deadlineAt - SystemClock.elapsedRealtime()
+        return if (remaining > 0) remaining else 0
+    }
+}
+
+/**
+ * 与[withTimeout]相同：超时后取消[block]并抛出[TimeoutCancellationException]
+ * 另外将截止时间记录到协程上下文中，[block]内(包括子协程)通过[CC.Builder.await]发起的组件调用以剩余时间作为超时时间
+ * 嵌套使用时以较早的截止时间为准
+ */
+suspend fun <T> withCCTimeout(timeMillis: Long, block: suspend CoroutineScope.() -> T): T {
+    var deadlineAt = SystemClock.elapsedRealtime() + timeMillis
+    val parent = coroutineContext[CCDeadline]
+    if (parent != null && parent.deadlineAt < deadlineAt) {
+        deadlineAt = parent.deadlineAt
+    }
+    return withTimeout(timeMillis) {
+        withContext(CCDeadline(deadlineAt), block)
+    }
+}
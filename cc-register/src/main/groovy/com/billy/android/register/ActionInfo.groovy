@@ -0,0 +1,13 @@
+package com.billy.android.register
+/**
+ * 扫描到的带有@Action注解的方法
+ * @author billy.qi
+ */
+class ActionInfo {
+    /** 方法名称 */
+    String methodName
+    /** action名称 */
+    String actionName
+    /** 运行的线程，与@Action.thread()一致 */
+    int thread
+}
@@ -1,9 +1,15 @@
 package com.billy.android.register
 
 
+import com.billy.android.register.cc.generator.ActionTableGenerator
+import com.billy.android.register.cc.generator.RegistryCodeGenerator
+import org.gradle.api.GradleException
+import org.objectweb.asm.AnnotationVisitor
 import org.objectweb.asm.ClassReader
 import org.objectweb.asm.ClassVisitor
 import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.Label
+import org.objectweb.asm.MethodVisitor
 import org.objectweb.asm.Opcodes
 
 import java.util.jar.JarEntry
@@ -157,6 +163,8 @@ class CodeScanner {
             inputStream.close()
 
             return cv.found
+        } catch (GradleException e) {
+            throw e
         } catch (Throwable throwable) {
             System.err.println("\n>>>>>>>>>>>>ERROR: An error occurred while scanning class file(built by jdk: $lastClassBuildVersion):" +
                     "\n\t" + filePath)
@@ -211,6 +219,17 @@ class CodeScanner {
     class ScanClassVisitor extends ClassVisitor {
         private String filePath
         private def found = false
+        private String className
+        /** 需要扫描组件信息(@Action注解、组件名称等)的注册配置，及对应的缓存记录 */
+        private List<RegisterInfo> componentInfoList = []
+        private List<ScanHarvest.Harvest> componentHarvests = []
+        private List<ActionInfo> actions = []
+        /** getName()方法返回的常量 */
+        private String constantName
+        /** 类上的@SubProcess注解的值，RegistryCodeGenerator.ALL_PROCESS代表@AllProcess注解 */
+        private String processName
+        /** 类上是否有@EagerComponent注解 */
+        private boolean eager
 
         ScanClassVisitor(int api, ClassVisitor cv, String filePath) {
             super(api, cv)
@@ -228,6 +247,7 @@ class CodeScanner {
         void visit(int version, int access, String name, String signature,
                    String superName, String[] interfaces) {
             super.visit(version, access, name, signature, superName, interfaces)
+            className = name
             //抽象类、接口、非public等类无法调用其无参构造方法
             if (is(access, Opcodes.ACC_ABSTRACT)
                     || is(access, Opcodes.ACC_INTERFACE)
@@ -260,7 +280,194 @@ class CodeScanner {
         void gotOne(String interfaceName, String className, RegisterInfo ext) {
             ext.classList.add(className) //需要把对象注入到管理类 就是fileContainsInitClass
             found = true
-            addToCacheMap(interfaceName, className, filePath)
+            def harvest = addToCacheMap(interfaceName, className, filePath)
+            if (ext.scanActions || ext.lazy) {
+                componentInfoList.add(ext)
+                componentHarvests.add(harvest)
+            }
+        }
+
+        @Override
+        AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+            AnnotationVisitor av = super.visitAnnotation(desc, visible)
+            if (componentInfoList.isEmpty()) {
+                return av
+            }
+            switch (desc) {
+                case RegistryCodeGenerator.EAGER_COMPONENT_DESC:
+                    eager = true
+                    break
+                case RegistryCodeGenerator.ALL_PROCESS_DESC:
+                    processName = RegistryCodeGenerator.ALL_PROCESS
+                    break
+                case RegistryCodeGenerator.SUB_PROCESS_DESC:
+                    if (processName != RegistryCodeGenerator.ALL_PROCESS)
+                        processName = ''
+                    return new AnnotationVisitor(api, av) {
+                        @Override
+                        void visit(String key, Object value) {
+                            if (key == 'value' && processName != RegistryCodeGenerator.ALL_PROCESS)
+                                processName = value
+                            super.visit(key, value)
+                        }
+                    }
+            }
+            return av
+        }
+
+        @Override
+        MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+            MethodVisitor mv = super.visitMethod(access, name, desc, signature, exceptions)
+            if (componentInfoList.isEmpty()) {
+                return mv
+            }
+            if (name == 'getName' && desc == '()Ljava/lang/String;' && !is(access, Opcodes.ACC_ABSTRACT)) {
+                return new ConstantReturnVisitor(api, mv)
+            }
+            String methodName = name
+            return new MethodVisitor(api, mv) {
+                @Override
+                AnnotationVisitor visitAnnotation(String annotationDesc, boolean visible) {
+                    AnnotationVisitor av = super.visitAnnotation(annotationDesc, visible)
+                    if (annotationDesc != ActionTableGenerator.ACTION_ANNOTATION_DESC) {
+                        return av
+                    }
+                    ActionInfo action = new ActionInfo()
+                    action.methodName = methodName
+                    return new AnnotationVisitor(api, av) {
+                        @Override
+                        void visit(String key, Object value) {
+                            if (key == 'value') {
+                                action.actionName = value
+                            } else if (key == 'thread') {
+                                action.thread = value
+                            }
+                            super.visit(key, value)
+                        }
+
+                        @Override
+                        void visitEnd() {
+                            super.visitEnd()
+                            addAction(access, desc, action)
+                        }
+                    }
+                }
+            }
+        }
+
+        private void addAction(int access, String desc, ActionInfo action) {
+            if (is(access, Opcodes.ACC_PRIVATE) || is(access, Opcodes.ACC_STATIC)
+                    || desc != ActionTableGenerator.ACTION_METHOD_DESC) {
+                throw new GradleException("${RegisterPlugin.PLUGIN_NAME} invalid @Action(\"${action.actionName}\") on method:" +
+                        " ${className.replaceAll('/', '.')}.${action.methodName}${desc}" +
+                        "\n\tthe method should be non-private, non-static and declared as: boolean methodName(CC cc)")
+            }
+            actions.add(action)
+        }
+
+        @Override
+        void visitEnd() {
+            super.visitEnd()
+            if (componentInfoList.isEmpty()) {
+                return
+            }
+            //getName()返回常量的组件，按名称和类名注册，只在组件所在的进程中创建组件对象
+            String componentName = constantName
+            for (int i = 0; i < componentInfoList.size(); i++) {
+                RegisterInfo ext = componentInfoList.get(i)
+                def harvest = componentHarvests.get(i)
+                if (ext.scanActions && !actions.isEmpty()) {
+                    ext.actionMap.put(className, actions)
+                    if (harvest) harvest.actions = actions
+                }
+                if (ext.lazy && componentName) {
+                    LazyRegisterInfo info = new LazyRegisterInfo()
+                    info.componentName = componentName
+                    info.processName = processName
+                    info.eager = eager
+                    ext.lazyMap.put(className, info)
+                    if (harvest) {
+                        harvest.componentName = componentName
+                        harvest.processName = processName
+                        harvest.eager = eager
+                    }
+                }
+            }
+        }
+
+        /**
+         * 读取方法返回的字符串常量：方法体只有 return "xxx";
+         */
+        class ConstantReturnVisitor extends MethodVisitor {
+            private String constant
+            private boolean invalid
+
+            ConstantReturnVisitor(int api, MethodVisitor mv) {
+                super(api, mv)
+            }
+
+            private void other() {
+                invalid = true
+            }
+
+            @Override
+            void visitLdcInsn(Object value) {
+                if (constant == null && value instanceof String)
+                    constant = value
+                else
+                    other()
+                super.visitLdcInsn(value)
+            }
+
+            @Override
+            void visitInsn(int opcode) {
+                if (opcode != Opcodes.ARETURN || constant == null)
+                    other()
+                super.visitInsn(opcode)
+            }
+
+            @Override
+            void visitIntInsn(int opcode, int operand) {
+                other()
+                super.visitIntInsn(opcode, operand)
+            }
+
+            @Override
+            void visitVarInsn(int opcode, int var) {
+                other()
+                super.visitVarInsn(opcode, var)
+            }
+
+            @Override
+            void visitTypeInsn(int opcode, String type) {
+                other()
+                super.visitTypeInsn(opcode, type)
+            }
+
+            @Override
+            void visitFieldInsn(int opcode, String owner, String name, String desc) {
+                other()
+                super.visitFieldInsn(opcode, owner, name, desc)
+            }
+
+            @Override
+            void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+                other()
+                super.visitMethodInsn(opcode, owner, name, desc, itf)
+            }
+
+            @Override
+            void visitJumpInsn(int opcode, Label label) {
+                other()
+                super.visitJumpInsn(opcode, label)
+            }
+
+            @Override
+            void visitEnd() {
+                super.visitEnd()
+                if (!invalid && constant)
+                    constantName = constant
+            }
         }
     }
     /**
@@ -269,8 +476,8 @@ class CodeScanner {
      * @param name
      * @param srcFilePath
      */
-    private void addToCacheMap(String interfaceName, String name, String srcFilePath) {
-        if (!srcFilePath.endsWith(".jar") && !srcFilePath.endsWith(".class")|| cacheMap == null) return
+    private ScanHarvest.Harvest addToCacheMap(String interfaceName, String name, String srcFilePath) {
+        if (!srcFilePath.endsWith(".jar") && !srcFilePath.endsWith(".class")|| cacheMap == null) return null
         def scanHarvest = cacheMap.get(srcFilePath)
         if (!scanHarvest) {
             scanHarvest = new ScanHarvest()
@@ -282,7 +489,9 @@ class CodeScanner {
             harvest.setInterfaceName(interfaceName)
             harvest.setClassName(name)
             scanHarvest.harvestList.add(harvest)
+            return harvest
         }
+        return null
     }
 
     boolean isCachedJarContainsInitClass(String filePath) {
@@ -310,6 +519,16 @@ class CodeScanner {
                             }
                         } else if (info.interfaceName == harvest.interfaceName) {
                             info.classList.add(harvest.className)
+                            if (info.scanActions && harvest.actions) {
+                                info.actionMap.put(harvest.className, harvest.actions)
+                            }
+                            if (info.lazy && harvest.componentName) {
+                                LazyRegisterInfo lazyInfo = new LazyRegisterInfo()
+                                lazyInfo.componentName = harvest.componentName
+                                lazyInfo.processName = harvest.processName
+                                lazyInfo.eager = harvest.eager
+                                info.lazyMap.put(harvest.className, lazyInfo)
+                            }
                         }
                     }
                 }
@@ -0,0 +1,13 @@
+package com.billy.android.register
+/**
+ * 可按名称注册的类的信息（组件名称-进程名称路由表中的一项）：注册时只传入名称、类名及进程名称，不创建对象
+ * @author billy.qi
+ */
+class LazyRegisterInfo {
+    /** 组件名称：getName()方法返回的常量 */
+    String componentName
+    /** 组件类上@SubProcess注解的值，'*'代表@AllProcess注解，null代表没有注解 */
+    String processName
+    /** 组件类上是否有@EagerComponent注解：在组件所在的进程中立即创建组件对象 */
+    boolean eager
+}
@@ -27,6 +27,27 @@ class RegisterInfo {
     ArrayList<String> exclude = []
 
     //以下不是可配置参数
+    /**
+     * 是否为每个注册的类分配一个从0开始的连续id（按类名排序），作为注册方法的第二个参数(int)传入
+     * 仅在注册方法所在的类中存在对应的方法时生效
+     */
+    boolean indexed = false
+    /**
+     * 是否扫描注册类中带有@Action注解的方法，并为其生成action分发表
+     */
+    boolean scanActions = false
+    /**
+     * 类名 -> 类中带有@Action注解的方法
+     */
+    Map<String, List<ActionInfo>> actionMap = new HashMap<>()
+    /**
+     * 是否按组件名称和类名延迟注册（注册时不创建对象）
+     */
+    boolean lazy = false
+    /**
+     * 类名 -> 可延迟注册的类的信息
+     */
+    Map<String, LazyRegisterInfo> lazyMap = new HashMap<>()
     ArrayList<Pattern> includePatterns = []
     ArrayList<Pattern> excludePatterns = []
     File fileContainsInitClass //initClassName的class文件或含有initClassName类的jar文件
@@ -37,6 +58,8 @@ class RegisterInfo {
     void reset() {
         fileContainsInitClass = null
         classList.clear()
+        actionMap.clear()
+        lazyMap.clear()
     }
 
     boolean validate() {
@@ -136,7 +136,7 @@ class RegisterTransform extends Transform {
                     ext.classList.each {
                         println(it)
                     }
-                    RegistryCodeGenerator.insertInitCodeTo(ext)
+                    RegistryCodeGenerator.insertInitCodeTo(ext, classFolder)
                 }
             } else {
                 project.logger.error("The specified register class not found:" + ext.registerClassName)
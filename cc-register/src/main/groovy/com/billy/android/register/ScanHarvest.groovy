@@ -10,6 +10,13 @@ class ScanHarvest {
         String className
         String interfaceName
         boolean isInitClass
+        /** 组件类上@SubProcess注解的值 */
         String processName
+        /** 组件getName()方法返回的常量，用于延迟注册 */
+        String componentName
+        /** 组件类上是否有@EagerComponent注解 */
+        boolean eager
+        /** 类中带有@Action注解的方法 */
+        List<ActionInfo> actions
     }
 }
\ No newline at end of file
@@ -9,12 +9,20 @@ class DefaultRegistryHelper {
 
     static void addDefaultRegistry(ArrayList<RegisterInfo> list) {
         def exclude = ['com/billy/cc/core/component/.*']
-        addDefaultRegistryFor(list,
+        def componentInfo = addDefaultRegistryFor(list,
                 'com.billy.cc.core.component.IComponent',
                 'com.billy.cc.core.component.ComponentManager',
                 'registerComponent',
                 RegisterInfo.PARAM_TYPE_OBJECT,
                 exclude)
+        if (componentInfo) {
+            //组件在编译期分配连续的整数id，运行时通过数组下标获取组件
+            componentInfo.indexed = true
+            //为组件中带有@Action注解的方法生成action分发表
+            componentInfo.scanActions = true
+            //按组件名称和类名注册，组件在第一次被调用时才创建
+            componentInfo.lazy = true
+        }
         addDefaultRegistryFor(list,
                 'com.billy.cc.core.component.IGlobalCCInterceptor',
                 'com.billy.cc.core.component.GlobalCCInterceptorManager',
@@ -29,7 +37,7 @@ class DefaultRegistryHelper {
                 exclude)
     }
 
-    static void addDefaultRegistryFor(ArrayList<RegisterInfo> list, String interfaceName,
+    static RegisterInfo addDefaultRegistryFor(ArrayList<RegisterInfo> list, String interfaceName,
                                       String codeInsertToClassName, String registerMethodName,
                                       String paramType,
                                       List<String> exclude) {
@@ -43,6 +51,8 @@ class DefaultRegistryHelper {
             info.exclude = exclude
             info.init()
             list.add(info)
+            return info
         }
+        return null
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.billy.android.register.cc.generator
+
+import com.billy.android.register.ActionInfo
+import com.billy.android.register.RegisterTransform
+import org.gradle.api.GradleException
+import org.objectweb.asm.*
+
+import static com.billy.android.register.cc.generator.AsmUtils.pushInt
+
+/**
+ * 为组件生成action分发表：ActionTable的子类
+ * action名称的hash值在编译期计算并排序，dispatch方法通过tableswitch直接调用action对应的方法
+ * @author billy.qi
+ */
+class ActionTableGenerator implements Opcodes {
+    static final String ACTION_ANNOTATION_DESC = 'Lcom/billy/cc/core/component/annotation/Action;'
+    static final String ACTION_METHOD_DESC = '(Lcom/billy/cc/core/component/CC;)Z'
+    static final String ACTION_TABLE_CLASS = 'com/billy/cc/core/component/ActionTable'
+    static final String COMPONENT_CLASS = 'com/billy/cc/core/component/IComponent'
+    static final String ACTION_TABLE_SUFFIX = '$$CCActions'
+
+    static String getActionTableClassName(String componentClassName) {
+        return componentClassName + ACTION_TABLE_SUFFIX
+    }
+
+    /**
+     * 生成组件的action分发表类，与组件在同一个包中，以便调用非public的方法
+     * @param componentClassName 组件类名
+     * @param actions 组件中带有@Action注解的方法
+     * @param dir 生成的class文件所在的目录
+     */
+    static void generateActionTable(String componentClassName, List<ActionInfo> actions, File dir) {
+        String className = getActionTableClassName(componentClassName)
+        File file = new File(dir, className + ".class")
+        println("${RegisterTransform.PLUGIN_NAME} generated an action table: ${file.absolutePath}")
+        if (!file.getParentFile().exists()) {
+            file.getParentFile().mkdirs()
+        }
+        byte[] bytes = generate(className, componentClassName, sortActions(componentClassName, actions))
+        FileOutputStream fos = new FileOutputStream(file)
+        fos.write(bytes)
+        fos.close()
+    }
+
+    /**
+     * 按action名称的hash值排序，有重复的action名称时编译失败
+     */
+    private static List<ActionInfo> sortActions(String componentClassName, List<ActionInfo> actions) {
+        Map<String, ActionInfo> map = new LinkedHashMap<>()
+        actions.each { action ->
+            ActionInfo exists = map.get(action.actionName)
+            if (exists != null) {
+                throw new GradleException("${RegisterTransform.PLUGIN_NAME} duplicate @Action(\"${action.actionName}\") in class:" +
+                        " ${componentClassName.replaceAll('/', '.')}, on methods: ${exists.methodName} and ${action.methodName}")
+            }
+            map.put(action.actionName, action)
+        }
+        List<ActionInfo> list = new ArrayList<>(map.values())
+        Collections.sort(list, new Comparator<ActionInfo>() {
+            @Override
+            int compare(ActionInfo a, ActionInfo b) {
+                int ha = a.actionName.hashCode(), hb = b.actionName.hashCode()
+                return ha != hb ? Integer.compare(ha, hb) : a.actionName.compareTo(b.actionName)
+            }
+        })
+        return list
+    }
+
+    private static byte[] generate(String className, String componentClassName, List<ActionInfo> actions) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS)
+        cw.visit(V1_7, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, className, null, ACTION_TABLE_CLASS, null)
+
+        //构造方法：super(actions, hashes, threads)
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null)
+        mv.visitCode()
+        mv.visitVarInsn(ALOAD, 0)
+        pushInt(mv, actions.size())
+        mv.visitTypeInsn(ANEWARRAY, 'java/lang/String')
+        for (int i = 0; i < actions.size(); i++) {
+            mv.visitInsn(DUP)
+            pushInt(mv, i)
+            mv.visitLdcInsn(actions.get(i).actionName)
+            mv.visitInsn(AASTORE)
+        }
+        pushIntArray(mv, actions.collect { it.actionName.hashCode() })
+        pushIntArray(mv, actions.collect { it.thread })
+        mv.visitMethodInsn(INVOKESPECIAL, ACTION_TABLE_CLASS, "<init>", "([Ljava/lang/String;[I[I)V", false)
+        mv.visitInsn(RETURN)
+        mv.visitMaxs(0, 0)
+        mv.visitEnd()
+
+        //dispatch方法：switch (index) { case i: return ((Component) component).method(cc); }
+        mv = cw.visitMethod(ACC_PROTECTED, "dispatch", "(L${COMPONENT_CLASS};ILcom/billy/cc/core/component/CC;)Z", null, null)
+        mv.visitCode()
+        Label defaultLabel = new Label()
+        Label[] labels = new Label[actions.size()]
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = new Label()
+        }
+        mv.visitVarInsn(ILOAD, 2)
+        mv.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels)
+        for (int i = 0; i < labels.length; i++) {
+            mv.visitLabel(labels[i])
+            mv.visitFrame(F_SAME, 0, null, 0, null)
+            mv.visitVarInsn(ALOAD, 1)
+            mv.visitTypeInsn(CHECKCAST, componentClassName)
+            mv.visitVarInsn(ALOAD, 3)
+            mv.visitMethodInsn(INVOKEVIRTUAL, componentClassName, actions.get(i).methodName, ACTION_METHOD_DESC, false)
+            mv.visitInsn(IRETURN)
+        }
+        //不在分发表中的action（正常情况下不会执行到这里），交给onCall处理
+        mv.visitLabel(defaultLabel)
+        mv.visitFrame(F_SAME, 0, null, 0, null)
+        mv.visitVarInsn(ALOAD, 1)
+        mv.visitVarInsn(ALOAD, 3)
+        mv.visitMethodInsn(INVOKEINTERFACE, COMPONENT_CLASS, "onCall", ACTION_METHOD_DESC, true)
+        mv.visitInsn(IRETURN)
+        mv.visitMaxs(0, 0)
+        mv.visitEnd()
+
+        cw.visitEnd()
+        return cw.toByteArray()
+    }
+
+    private static void pushIntArray(MethodVisitor mv, List<Integer> values) {
+        pushInt(mv, values.size())
+        mv.visitIntInsn(NEWARRAY, T_INT)
+        for (int i = 0; i < values.size(); i++) {
+            mv.visitInsn(DUP)
+            pushInt(mv, i)
+            pushInt(mv, values.get(i))
+            mv.visitInsn(IASTORE)
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.billy.android.register.cc.generator
+
+import org.objectweb.asm.MethodVisitor
+import org.objectweb.asm.Opcodes
+
+/**
+ * 生成字节码的工具方法
+ * @author billy.qi
+ */
+class AsmUtils {
+
+    /**
+     * 将int常量压入操作数栈，按数值大小选用最短的指令
+     */
+    static void pushInt(MethodVisitor mv, int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(Opcodes.ICONST_0 + value)
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.BIPUSH, value)
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.SIPUSH, value)
+        } else {
+            mv.visitLdcInsn(value)
+        }
+    }
+}
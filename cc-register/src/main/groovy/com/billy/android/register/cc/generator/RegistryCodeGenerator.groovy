@@ -1,5 +1,6 @@
 package com.billy.android.register.cc.generator
 
+import com.billy.android.register.LazyRegisterInfo
 import com.billy.android.register.RegisterInfo
 import org.apache.commons.io.IOUtils
 import org.objectweb.asm.*
@@ -8,26 +9,69 @@ import java.util.jar.JarEntry
 import java.util.jar.JarFile
 import java.util.jar.JarOutputStream
 import java.util.zip.ZipEntry
+
+import static com.billy.android.register.cc.generator.AsmUtils.pushInt
 /**
  *
  * @author billy.qi
  * @since 17/3/20 11:48
  */
 class RegistryCodeGenerator {
+    static final String EAGER_COMPONENT_DESC = 'Lcom/billy/cc/core/component/annotation/EagerComponent;'
+    static final String SUB_PROCESS_DESC = 'Lcom/billy/cc/core/component/annotation/SubProcess;'
+    static final String ALL_PROCESS_DESC = 'Lcom/billy/cc/core/component/annotation/AllProcess;'
+    /** 与ComponentManager.ALL_PROCESS一致 */
+    static final String ALL_PROCESS = '*'
+    /** 注册代码执行完成后调用的无参静态方法（被注入代码的类中存在时才调用） */
+    static final String ON_REGISTERED_METHOD_NAME = 'onRegistered'
+
     RegisterInfo extension
+    /**
+     * 注册方法是否接收id参数：extension.indexed为true，且被注入代码的类中存在对应的注册方法
+     */
+    boolean indexed
+    /**
+     * 是否为带有@Action注解方法的类生成action分发表：在indexed的基础上，被注入代码的类中存在接收分发表的注册方法
+     */
+    boolean actionTables
+    /**
+     * 是否按名称和类名延迟注册：在indexed的基础上，被注入代码的类中存在延迟注册的方法
+     */
+    boolean lazy
+    /**
+     * 注册代码执行完成后是否调用{@link #ON_REGISTERED_METHOD_NAME}方法：被注入代码的类中存在该静态方法
+     */
+    boolean onRegistered
+    /** 生成的action分发表class文件所在的目录 */
+    File generatedClassDir
 
-    private RegistryCodeGenerator(RegisterInfo extension) {
+    private RegistryCodeGenerator(RegisterInfo extension, File generatedClassDir) {
         this.extension = extension
+        this.generatedClassDir = generatedClassDir
     }
 
     static void insertInitCodeTo(RegisterInfo extension) {
+        insertInitCodeTo(extension, null)
+    }
+
+    /**
+     * @param extension 注册配置
+     * @param generatedClassDir 生成的action分发表class文件所在的目录，为null时不生成分发表
+     */
+    static void insertInitCodeTo(RegisterInfo extension, File generatedClassDir) {
         if (extension != null && !extension.classList.isEmpty()) {
-            RegistryCodeGenerator processor = new RegistryCodeGenerator(extension)
+            RegistryCodeGenerator processor = new RegistryCodeGenerator(extension, generatedClassDir)
             File file = extension.fileContainsInitClass
             if (file.getName().endsWith('.jar'))
                 processor.generateCodeIntoJarFile(file)
             else
                 processor.generateCodeIntoClassFile(file)
+            if (processor.actionTables) {
+                extension.actionMap.each { className, actions ->
+                    if (extension.classList.contains(className))
+                        ActionTableGenerator.generateActionTable(className, actions, generatedClassDir)
+                }
+            }
         }
     }
 
@@ -101,12 +145,76 @@ class RegistryCodeGenerator {
 
     private byte[] doGenerateCode(InputStream inputStream) {
         ClassReader cr = new ClassReader(inputStream)
+        indexed = extension.indexed && hasRegisterMethod(cr, indexedMethodDesc())
+        actionTables = indexed && extension.scanActions && generatedClassDir != null \
+                && !extension.actionMap.isEmpty() && hasRegisterMethod(cr, actionTableMethodDesc())
+        lazy = indexed && extension.lazy && hasRegisterMethod(cr, lazyMethodDesc())
+        onRegistered = hasMethod(cr, ON_REGISTERED_METHOD_NAME, '()V', true)
         ClassWriter cw = new ClassWriter(cr, 0)
         ClassVisitor cv = new MyClassVisitor(Opcodes.ASM5, cw)
         cr.accept(cv, ClassReader.EXPAND_FRAMES)
         return cw.toByteArray()
     }
 
+    /**
+     * 检查被注入代码的类中是否存在指定参数的注册方法，兼容旧版本的CC库
+     */
+    private boolean hasRegisterMethod(ClassReader cr, String desc) {
+        if (extension.registerClassName != extension.initClassName)
+            return false
+        return hasMethod(cr, extension.registerMethodName, desc, false)
+    }
+
+    private static boolean hasMethod(ClassReader cr, String methodName, String desc, boolean _static) {
+        boolean[] found = [false]
+        cr.accept(new ClassVisitor(Opcodes.ASM5) {
+            @Override
+            MethodVisitor visitMethod(int access, String name, String methodDesc,
+                                      String signature, String[] exceptions) {
+                if (name == methodName && methodDesc == desc
+                        && (!_static || (access & Opcodes.ACC_STATIC) != 0))
+                    found[0] = true
+                return null
+            }
+        }, ClassReader.SKIP_CODE)
+        return found[0]
+    }
+
+    private String indexedMethodDesc() {
+        return "(L${extension.interfaceName};I)V"
+    }
+
+    private String actionTableMethodDesc() {
+        return "(L${extension.interfaceName};IL${ActionTableGenerator.ACTION_TABLE_CLASS};)V"
+    }
+
+    private static String lazyMethodDesc() {
+        return "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;IL${ActionTableGenerator.ACTION_TABLE_CLASS};Z)V"
+    }
+
+    /**
+     * 按类名排序，保证每次编译分配的id一致
+     */
+    private List<String> sortedClassList() {
+        def list = new ArrayList<String>(extension.classList)
+        Collections.sort(list)
+        return list
+    }
+
+    /**
+     * 创建编译期生成的action分发表对象
+     * @return 是否有action分发表
+     */
+    private boolean pushActionTable(MethodVisitor mv, String className) {
+        if (!actionTables || !extension.actionMap.containsKey(className))
+            return false
+        String tableClassName = ActionTableGenerator.getActionTableClassName(className)
+        mv.visitTypeInsn(Opcodes.NEW, tableClassName)
+        mv.visitInsn(Opcodes.DUP)
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, tableClassName, "<init>", "()V", false)
+        return true
+    }
+
     class MyClassVisitor extends ClassVisitor {
 
         MyClassVisitor(int api, ClassVisitor cv) {
@@ -140,11 +248,34 @@ class RegistryCodeGenerator {
         @Override
         void visitInsn(int opcode) {
             if ((opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN)) {
-                extension.classList.each { name ->
+                def classList = sortedClassList()
+                for (int id = 0; id < classList.size(); id++) {
+                    String name = classList.get(id)
                     if (!_static) {
                         //加载this
                         mv.visitVarInsn(Opcodes.ALOAD, 0)
                     }
+                    int methodOpcode = _static ? Opcodes.INVOKESTATIC : Opcodes.INVOKESPECIAL
+                    LazyRegisterInfo lazyInfo = lazy ? extension.lazyMap.get(name) : null
+                    if (lazyInfo) {
+                        //按名称注册：registerComponent(componentName, className, processName, id, actionTable, eager)
+                        mv.visitLdcInsn(lazyInfo.componentName)
+                        mv.visitLdcInsn(name.replaceAll("/", "."))
+                        if (lazyInfo.processName == null)
+                            mv.visitInsn(Opcodes.ACONST_NULL)
+                        else
+                            mv.visitLdcInsn(lazyInfo.processName)
+                        pushInt(mv, id)
+                        if (!pushActionTable(mv, name))
+                            mv.visitInsn(Opcodes.ACONST_NULL)
+                        mv.visitInsn(lazyInfo.eager ? Opcodes.ICONST_1 : Opcodes.ICONST_0)
+                        mv.visitMethodInsn(methodOpcode
+                                , extension.registerClassName
+                                , extension.registerMethodName
+                                , lazyMethodDesc()
+                                , false)
+                        continue
+                    }
                     String paramType
                     if (extension.paramType == RegisterInfo.PARAM_TYPE_CLASS){
                         mv.visitLdcInsn(Type.getType("L${name};"))
@@ -159,12 +290,28 @@ class RegistryCodeGenerator {
                         mv.visitMethodInsn(Opcodes.INVOKESPECIAL, name, "<init>", "()V", false)
                         paramType = extension.interfaceName
                     }
-                    int methodOpcode = _static ? Opcodes.INVOKESTATIC : Opcodes.INVOKESPECIAL
+                    String methodDesc = "(L${paramType};)V"
+                    if (indexed) {
+                        //编译期分配的id
+                        pushInt(mv, id)
+                        methodDesc = indexedMethodDesc()
+                    }
+                    if (pushActionTable(mv, name)) {
+                        methodDesc = actionTableMethodDesc()
+                    }
                     //调用注册方法将组件实例注册到组件库中
                     mv.visitMethodInsn(methodOpcode
                             , extension.registerClassName
                             , extension.registerMethodName
-                            , "(L${paramType};)V"
+                            , methodDesc
+                            , false)
+                }
+                if (_static && onRegistered) {
+                    //通知注册代码执行完成
+                    mv.visitMethodInsn(Opcodes.INVOKESTATIC
+                            , extension.initClassName
+                            , ON_REGISTERED_METHOD_NAME
+                            , '()V'
                             , false)
                 }
             }
@@ -172,7 +319,7 @@ class RegistryCodeGenerator {
         }
         @Override
         void visitMaxs(int maxStack, int maxLocals) {
-            super.visitMaxs(maxStack + 4, maxLocals)
+            super.visitMaxs(maxStack + 8, maxLocals)
         }
     }
 }
\ No newline at end of file
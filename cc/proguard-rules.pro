@@ -31,4 +31,8 @@
 #保持实现Parcelable的类不被混淆
 -keep class * implements android.os.Parcelable {
   public static final android.os.Parcelable$Creator *;
-}
\ No newline at end of file
+}
+#延迟注册的组件在第一次被调用时通过类名创建
+-keep class * implements com.billy.cc.core.component.IComponent {
+    public <init>();
+}
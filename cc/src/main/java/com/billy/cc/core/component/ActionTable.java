@@ -0,0 +1,82 @@
+package com.billy.cc.core.component;
+
+import com.billy.cc.core.component.annotation.Action;
+
+import java.util.Arrays;
+
+/**
+ * 组件的action分发表，由cc-register插件根据组件中的{@link Action}注解在编译期生成子类
+ * action名称的hash值在编译期计算并排序，调用时通过二分查找定位action，直接调用对应的方法：
+ * 无反射、无字符串switch、无延迟初始化的锁
+ * 注：请勿手动继承此类
+ * @author billy.qi
+ */
+public abstract class ActionTable {
+    static final int NOT_FOUND = -1;
+
+    private final String[] actions;
+    private final int[] hashes;
+    private final int[] threads;
+
+    /**
+     * @param actions action名称，按hash值升序排列
+     * @param hashes 与actions一一对应的hash值(String.hashCode())
+     * @param threads 与actions一一对应的运行线程
+     */
+    protected ActionTable(String[] actions, int[] hashes, int[] threads) {
+        this.actions = actions;
+        this.hashes = hashes;
+        this.threads = threads;
+    }
+
+    /**
+     * 查找action在分发表中的下标
+     * @param actionName action名称
+     * @return 下标，不存在时返回{@link #NOT_FOUND}
+     */
+    int indexOf(String actionName) {
+        if (actionName == null) {
+            return NOT_FOUND;
+        }
+        int hash = actionName.hashCode();
+        int index = Arrays.binarySearch(hashes, hash);
+        if (index < 0) {
+            return NOT_FOUND;
+        }
+        //hash值相同的action相邻，找到第一个后依次比较
+        while (index > 0 && hashes[index - 1] == hash) {
+            index--;
+        }
+        for (; index < hashes.length && hashes[index] == hash; index++) {
+            if (actions[index].equals(actionName)) {
+                return index;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * 指定action是否在主线程运行，返回值的含义与{@link IMainThread#shouldActionRunOnMainThread(String, CC)}相同
+     * @param index action的下标
+     * @return null:不固定运行的线程，true:固定在主线程运行，false:固定在子线程运行
+     */
+    Boolean runOnMainThread(int index) {
+        switch (threads[index]) {
+            case Action.THREAD_MAIN:
+                return Boolean.TRUE;
+            case Action.THREAD_WORKER:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 调用action对应的方法
+     * @param component 组件
+     * @param index action的下标
+     * @param cc 组件调用
+     * @return 与{@link IComponent#onCall(CC)}相同
+     */
+    protected abstract boolean dispatch(IComponent component, int index, CC cc);
+}
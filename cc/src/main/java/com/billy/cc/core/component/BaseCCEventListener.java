@@ -0,0 +1,59 @@
+package com.billy.cc.core.component;
+
+/**
+ * 组件调用事件监听器的空实现，按需重写关注的事件
+ * @author billy.qi
+ */
+public abstract class BaseCCEventListener implements ICCEventListener {
+    @Override
+    public void callStart(CC cc, long nanoTime) {
+    }
+
+    @Override
+    public void interceptorStart(CC cc, ICCInterceptor interceptor, long nanoTime) {
+    }
+
+    @Override
+    public void interceptorEnd(CC cc, ICCInterceptor interceptor, CCResult result, long nanoTime) {
+    }
+
+    @Override
+    public void routeResolved(CC cc, int route, long nanoTime) {
+    }
+
+    @Override
+    public void ipcSend(CC cc, String processName, long nanoTime) {
+    }
+
+    @Override
+    public void ipcReceive(CC cc, String processName, CCResult result, long nanoTime) {
+    }
+
+    @Override
+    public void componentOnCallStart(CC cc, IComponent component, long nanoTime) {
+    }
+
+    @Override
+    public void componentOnCallEnd(CC cc, IComponent component, boolean callbackDelay, long nanoTime) {
+    }
+
+    @Override
+    public void resultSet(CC cc, CCResult result, long nanoTime) {
+    }
+
+    @Override
+    public void timeout(CC cc, long nanoTime) {
+    }
+
+    @Override
+    public void cancel(CC cc, long nanoTime) {
+    }
+
+    @Override
+    public void callEnd(CC cc, CCResult result, long nanoTime) {
+    }
+
+    @Override
+    public void callbackDelivered(CC cc, CCResult result, long nanoTime) {
+    }
+}
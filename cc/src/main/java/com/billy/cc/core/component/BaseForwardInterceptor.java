@@ -4,7 +4,8 @@ import android.text.TextUtils;
 
 /**
  * 转发组件调用 <br>
- * 注：如果需要做成全局拦截器，需要额外实现 {@link IGlobalCCInterceptor}接口
+ * 注：如果需要做成全局拦截器，需要额外实现 {@link IGlobalCCInterceptor}接口<br>
+ * 异步调用时在chain.proceed()中阻塞等待结果，不需要在chain.proceed()之后做处理时可改为继承{@link BaseResumableForwardInterceptor}
  * @author billy.qi
  * @since 18/9/2 13:40
  */
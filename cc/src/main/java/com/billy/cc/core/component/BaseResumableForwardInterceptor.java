@@ -0,0 +1,15 @@
+package com.billy.cc.core.component;
+
+/**
+ * 支持非阻塞等待调用结果的转发拦截器 <br>
+ * 子类不能覆写{@link #intercept(Chain)}在chain.proceed()之后做处理，需要时请覆写{@link #onResult(Chain, CCResult)}
+ * @see IResumableCCInterceptor
+ * @author billy.qi
+ */
+public abstract class BaseResumableForwardInterceptor extends BaseForwardInterceptor implements IResumableCCInterceptor {
+
+    @Override
+    public CCResult onResult(Chain chain, CCResult result) {
+        return result;
+    }
+}
@@ -18,11 +18,12 @@ import org.json.JSONObject;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static com.billy.cc.core.component.CCUtil.put;
 import static com.billy.cc.core.component.ComponentManager.ACTION_REGISTER;
@@ -46,6 +47,12 @@ public class CC {
      * 默认超时时间为2秒
      */
     private static final long DEFAULT_TIMEOUT = 2000;
+    /**
+     * 调用优先级，见{@link Builder#setPriority(int)}
+     */
+    public static final int PRIORITY_LOW = -1;
+    public static final int PRIORITY_NORMAL = 0;
+    public static final int PRIORITY_HIGH = 1;
     static boolean DEBUG = false;
     static boolean VERBOSE_LOG = false;
     /**
@@ -54,6 +61,10 @@ public class CC {
      * 为了安全，app上线时可以将此值设置为false，避免被恶意调用
      */
     private static boolean REMOTE_CC_ENABLED = false;
+    /**
+     * 是否回收复用同步调用的CC对象
+     */
+    private static boolean RECYCLE_ENABLED = false;
 
     private volatile CCResult result;
 
@@ -66,9 +77,15 @@ public class CC {
     WeakReference<Fragment> cancelOnDestroyFragment;
 
     private volatile boolean waiting;
+    /**
+     * 非阻塞等待结果时登记的后续处理，收到结果后在线程池中执行
+     */
+    private Runnable continuation;
 
     static {
+        long start = CCStartupTracer.begin();
         Application app = CCUtil.initApplication();
+        CCStartupTracer.end(CCStartupTracer.PHASE_INIT_APPLICATION, null, start);
         if (app != null) {
             init(app);
         }
@@ -106,23 +123,39 @@ public class CC {
         }
     }
     
-    private static final ObjPool<Builder, String> BUILDER_POOL = new ObjPool<Builder, String>() {
+    private static final int POOL_CAPACITY = 16;
+
+    private static final RecyclePool<Builder, String> BUILDER_POOL = new RecyclePool<Builder, String>(POOL_CAPACITY) {
         @Override
         protected Builder newInstance(String componentName) {
             return new Builder();
         }
     };
 
+    private static final RecyclePool<CC, String> CC_POOL = new RecyclePool<CC, String>(POOL_CAPACITY) {
+        @Override
+        protected CC newInstance(String componentName) {
+            return new CC(componentName);
+        }
+    };
+
     private WeakReference<Context> context;
     /**
      * 组件名称
      */
     private String componentName;
+    /**
+     * 组件id，通过{@link #obtainBuilder(int)}创建时设置，用于直接获取组件
+     */
+    private int componentId = ComponentManager.NO_COMPONENT_ID;
     /**
      * 组件中某个功能的名称，用以区别同一个组件中不同功能的调用
      */
     private String actionName;
-    private final Map<String, Object> params = new HashMap<>();
+    /**
+     * 调用参数，基本类型的参数不装箱存储
+     */
+    private final ParamStore params = new ParamStore();
     /**
      * 回调对象
      */
@@ -133,16 +166,56 @@ public class CC {
     private boolean async;
     private final List<ICCInterceptor> interceptors = new ArrayList<>();
     private boolean callbackOnMainThread;
+    /**
+     * 通过{@link #callFuture()}调用时，用于接收调用结果的Future
+     */
+    private CCFuture future;
+    /**
+     * 异步调用是否在当前线程直接执行（由{@link CCFuture#thenCall(CCFuture.CallComposer)}发起，当前线程即为CC线程池中的线程）
+     */
+    private boolean inlineDispatch;
     /**
      * 调用超时时间，默认值（同步调用：2000， 异步调用：0）
      */
     private long timeout = -1;
     long timeoutAt;
-    private final AtomicBoolean finished = new AtomicBoolean(false);
+    /**
+     * 调用的优先级，在CC线程池中排队时优先级高的先执行
+     */
+    private int priority = PRIORITY_NORMAL;
+    /**
+     * 调用开始的时间点(System.nanoTime())，开启调用统计时记录
+     */
+    long startNanos;
+    /**
+     * 调用状态戳：最低位表示是否已结束，其余高位为CC对象被回收复用的代数
+     * 通过callId查找到的CC对象可能已被回收复用，修改状态时需要比对状态戳
+     */
+    private final AtomicInteger stamp = new AtomicInteger(0);
+    private static final int STAMP_RECYCLED = 1;
     private String callId;
     private volatile boolean canceled = false;
     private volatile boolean timeoutStatus = false;
     private boolean withoutGlobalInterceptor = false;
+    /**
+     * 是否合并执行中的相同调用
+     */
+    private boolean singleFlight;
+    /**
+     * 合并调用时，当前CC对象所等待的共享调用
+     */
+    SingleFlight flight;
+    /**
+     * 被回收复用后，在下次调用开始时需要重新打开调用状态
+     */
+    private boolean reopenOnCall;
+    /**
+     * 本次调用是否可以在结束后回收复用（在当前线程中同步完成的本地组件调用）
+     */
+    private boolean recyclable;
+    private Chain chain;
+    private ChainProcessor chainProcessor;
+    private LocalCCInterceptor.LocalCCRunnable localCCRunnable;
 
     private CC(String componentName) {
         this.componentName = componentName;
@@ -158,6 +231,35 @@ public class CC {
         return BUILDER_POOL.get(componentName);
     }
 
+    /**
+     * 通过组件id创建CC对象的Builder，调用当前进程中的组件时通过数组下标直接获取组件<br>
+     * 组件id通过{@link #getComponentId(String)}获取<br>
+     * <b>此对象会被CC框架复用，请勿在程序中保存</b>
+     * @param componentId 要调用的组件id
+     * @return 创建CC对象的Builder
+     */
+    public static Builder obtainBuilder(int componentId) {
+        String componentName = ComponentManager.getComponentName(componentId);
+        if (componentName == null) {
+            logError("no component found for id:" + componentId);
+        }
+        Builder builder = BUILDER_POOL.get(componentName);
+        if (componentName != null) {
+            builder.cr.componentId = componentId;
+        }
+        return builder;
+    }
+
+    /**
+     * 获取组件id，可保存在静态变量中，之后通过{@link #obtainBuilder(int)}调用组件
+     * 注：组件id在每次编译时分配，仅在当前进程的运行期间有效，请勿持久化保存
+     * @param componentName 组件名称
+     * @return 组件id，组件不存在时返回-1
+     */
+    public static int getComponentId(String componentName) {
+        return ComponentManager.getComponentId(componentName);
+    }
+
     /**
      * 获取当前app的Application对象
      * @return application对象
@@ -214,6 +316,14 @@ public class CC {
             return this;
         }
 
+        /**
+         * 获取已设置的超时时间
+         * @return 超时时间，未设置时为-1
+         */
+        public long getTimeout() {
+            return cr.timeout;
+        }
+
         /**
          * 用于调取同一个组件的不同action（可以理解为分组的概念：将不同的action分组在一个组件里对外提供服务）
          * @param actionName action的名称，组件在执行时可根据此值执行不同的动作，返回不同的信息
@@ -229,6 +339,31 @@ public class CC {
             return this;
         }
 
+        /**
+         * 合并执行中的相同调用（组件名称、action及参数均相同）
+         * 已有相同的调用正在执行时，本次调用不再重复执行，而是等待其结果
+         * 本次调用的超时和取消只影响自身，不会中止正在执行的调用
+         * 设置了自定义拦截器({@link #addInterceptor(ICCInterceptor)})时不合并，按普通调用执行
+         * 适用于无副作用的查询类调用，如：获取登录用户信息
+         * @return Builder自身
+         */
+        public Builder singleFlight() {
+            cr.singleFlight = true;
+            return this;
+        }
+
+        /**
+         * 设置调用的优先级，默认为{@link #PRIORITY_NORMAL}
+         * 线程池繁忙时，排队中的调用按优先级从高到低执行，同一优先级中截止时间(超时时间)早的先执行
+         * 仅对本进程中的CC线程池生效，不会传递到其它进程
+         * @param priority 优先级，值越大越优先，可使用{@link #PRIORITY_LOW}, {@link #PRIORITY_NORMAL}, {@link #PRIORITY_HIGH}
+         * @return Builder自身
+         */
+        public Builder setPriority(int priority) {
+            cr.priority = priority;
+            return this;
+        }
+
         /**
          * 设置组件调用的参数（将清空之前设置的参数列表）
          * @param params 参数 {@link Map} 类型
@@ -273,6 +408,94 @@ public class CC {
             cr.params.put(key, value);
             return this;
         }
+
+        /**
+         * 添加int类型的调用参数（不装箱存储），通过{@link CC#getParamInt(String, int)}获取
+         * @param key 参数的key
+         * @param value 参数的value
+         * @return Builder自身
+         */
+        public Builder addParam(String key, int value) {
+            cr.params.putInt(key, value);
+            return this;
+        }
+
+        /**
+         * 添加long类型的调用参数（不装箱存储），通过{@link CC#getParamLong(String, long)}获取
+         * @param key 参数的key
+         * @param value 参数的value
+         * @return Builder自身
+         */
+        public Builder addParam(String key, long value) {
+            cr.params.putLong(key, value);
+            return this;
+        }
+
+        /**
+         * 添加double类型的调用参数（不装箱存储），通过{@link CC#getParamDouble(String, double)}获取
+         * @param key 参数的key
+         * @param value 参数的value
+         * @return Builder自身
+         */
+        public Builder addParam(String key, double value) {
+            cr.params.putDouble(key, value);
+            return this;
+        }
+
+        /**
+         * 添加boolean类型的调用参数（不装箱存储），通过{@link CC#getParamBoolean(String, boolean)}获取
+         * @param key 参数的key
+         * @param value 参数的value
+         * @return Builder自身
+         */
+        public Builder addParam(String key, boolean value) {
+            cr.params.putBoolean(key, value);
+            return this;
+        }
+
+        /**
+         * 添加char类型的调用参数，以Character对象存储（避免被自动转换为int/double类型的参数）
+         * @param key 参数的key
+         * @param value 参数的value
+         * @return Builder自身
+         */
+        public Builder addParam(String key, char value) {
+            cr.params.put(key, Character.valueOf(value));
+            return this;
+        }
+
+        /**
+         * 添加byte类型的调用参数，以Byte对象存储（避免被自动转换为int/double类型的参数）
+         * @param key 参数的key
+         * @param value 参数的value
+         * @return Builder自身
+         */
+        public Builder addParam(String key, byte value) {
+            cr.params.put(key, Byte.valueOf(value));
+            return this;
+        }
+
+        /**
+         * 添加short类型的调用参数，以Short对象存储（避免被自动转换为int/double类型的参数）
+         * @param key 参数的key
+         * @param value 参数的value
+         * @return Builder自身
+         */
+        public Builder addParam(String key, short value) {
+            cr.params.put(key, Short.valueOf(value));
+            return this;
+        }
+
+        /**
+         * 添加float类型的调用参数，以Float对象存储（避免被自动转换为int/double类型的参数）
+         * @param key 参数的key
+         * @param value 参数的value
+         * @return Builder自身
+         */
+        public Builder addParam(String key, float value) {
+            cr.params.put(key, Float.valueOf(value));
+            return this;
+        }
         /**
          * 添加组件调用前的拦截器
          * @param interceptor 拦截器
@@ -350,8 +573,91 @@ public class CC {
          */
         @Override
         public void init(String componentName) {
-            this.cr = new CC(componentName);
+            this.cr = CC_POOL.get(componentName);
+            this.cr.componentName = componentName;
+            this.cr.componentId = ComponentManager.NO_COMPONENT_ID;
+        }
+    }
+
+    /**
+     * 回收本CC对象以供复用
+     * 仅在同步调用结束后由CC框架内部调用
+     */
+    private void recycle() {
+        synchronized (wait4resultLock) {
+            //代数+1，并标记为已结束，此前获取的状态戳全部失效
+            stamp.set((((stamp.get() >>> 1) + 1) << 1) | 1);
+            result = null;
+            waiting = false;
+            continuation = null;
+        }
+        reopenOnCall = true;
+        recyclable = false;
+        context = null;
+        componentName = null;
+        componentId = ComponentManager.NO_COMPONENT_ID;
+        actionName = null;
+        params.clear();
+        callback = null;
+        async = false;
+        interceptors.clear();
+        callbackOnMainThread = false;
+        future = null;
+        inlineDispatch = false;
+        timeout = -1;
+        timeoutAt = 0;
+        priority = PRIORITY_NORMAL;
+        startNanos = 0;
+        callId = null;
+        canceled = false;
+        timeoutStatus = false;
+        withoutGlobalInterceptor = false;
+        singleFlight = false;
+        flight = null;
+        cancelOnDestroyActivity = null;
+        cancelOnDestroyFragment = null;
+        if (chain != null) {
+            chain.reset();
         }
+        if (localCCRunnable != null) {
+            localCCRunnable.reset(null);
+        }
+        CC_POOL.put(this);
+    }
+
+    /**
+     * 获取本CC对象的调用链（每个CC对象复用同一个调用链对象）
+     */
+    Chain obtainChain() {
+        if (chain == null) {
+            chain = new Chain(this);
+        } else {
+            chain.reset();
+        }
+        return chain;
+    }
+
+    /**
+     * 获取启动调用链的对象，需要在{@link #obtainChain()}之后调用
+     */
+    ChainProcessor obtainChainProcessor() {
+        if (chainProcessor == null) {
+            chainProcessor = new ChainProcessor(chain);
+        }
+        return chainProcessor;
+    }
+
+    LocalCCInterceptor.LocalCCRunnable obtainLocalCCRunnable(IComponent component) {
+        if (localCCRunnable == null) {
+            localCCRunnable = new LocalCCInterceptor.LocalCCRunnable(this, component);
+        } else {
+            localCCRunnable.reset(component);
+        }
+        return localCCRunnable;
+    }
+
+    void setRecyclable(boolean recyclable) {
+        this.recyclable = recyclable;
     }
 
     @Override
@@ -362,9 +668,11 @@ public class CC {
         put(json, "componentName", componentName);
         put(json, "actionName", actionName);
         put(json, "timeout", timeout);
+        put(json, "priority", priority);
         put(json, "withoutGlobalInterceptor", withoutGlobalInterceptor);
+        put(json, "singleFlight", singleFlight);
         put(json, "callbackOnMainThread", callbackOnMainThread);
-        put(json, "params", CCUtil.convertToJson(params));
+        put(json, "params", CCUtil.convertToJson(params.asMap()));
         put(json, "interceptors", interceptors);
         put(json, "callback", getCallback());
         return json.toString();
@@ -382,6 +690,11 @@ public class CC {
 
     void forwardTo(String componentName) {
         this.componentName = componentName;
+        this.componentId = ComponentManager.NO_COMPONENT_ID;
+    }
+
+    int getComponentId() {
+        return componentId;
     }
 
     public String getActionName() {
@@ -393,7 +706,47 @@ public class CC {
      * @return all params as map
      */
     public Map<String, Object> getParams() {
-        return params;
+        return params.asMap();
+    }
+
+    /**
+     * 获取int类型的参数
+     * @param key 参数的key
+     * @param defaultValue 参数不存在或不是数值类型时返回的默认值
+     * @return 参数值
+     */
+    public int getParamInt(String key, int defaultValue) {
+        return params.getInt(key, defaultValue);
+    }
+
+    /**
+     * 获取long类型的参数
+     * @param key 参数的key
+     * @param defaultValue 参数不存在或不是数值类型时返回的默认值
+     * @return 参数值
+     */
+    public long getParamLong(String key, long defaultValue) {
+        return params.getLong(key, defaultValue);
+    }
+
+    /**
+     * 获取double类型的参数
+     * @param key 参数的key
+     * @param defaultValue 参数不存在或不是数值类型时返回的默认值
+     * @return 参数值
+     */
+    public double getParamDouble(String key, double defaultValue) {
+        return params.getDouble(key, defaultValue);
+    }
+
+    /**
+     * 获取boolean类型的参数
+     * @param key 参数的key
+     * @param defaultValue 参数不存在或不是boolean类型时返回的默认值
+     * @return 参数值
+     */
+    public boolean getParamBoolean(String key, boolean defaultValue) {
+        return params.getBoolean(key, defaultValue);
     }
 
     /**
@@ -457,6 +810,10 @@ public class CC {
         return timeout;
     }
 
+    public int getPriority() {
+        return priority;
+    }
+
     public String getCallId() {
         return callId;
     }
@@ -482,20 +839,56 @@ public class CC {
         return withoutGlobalInterceptor;
     }
 
+    boolean isSingleFlight() {
+        return singleFlight;
+    }
+
     CCResult getResult() {
         return result;
     }
 
     void setResult(CCResult result) {
-        finished.set(true);
+        markFinished();
+        boolean first = this.result == null && result != null;
         this.result = result;
+        if (first && CCEventDispatcher.ENABLED) {
+            CCEventDispatcher.resultSet(this, result);
+        }
     }
 
     void setResult4Waiting(CCResult result) {
+        setResult4Waiting(result, stamp.get());
+    }
+
+    /**
+     * 结束调用并设置结果
+     * @param result 结果
+     * @param expectStamp 开始调用时的状态戳
+     * @return 调用已结束（超时、被取消等）或已被回收复用时返回false
+     */
+    boolean sendResult(CCResult result, int expectStamp) {
+        if (markFinished(expectStamp)) {
+            setResult4Waiting(result, expectStamp);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 设置结果并唤醒等待线程
+     * @param result 结果
+     * @param expectStamp 获取结果时的状态戳，若CC对象在此期间已被回收复用，则丢弃此结果
+     */
+    private void setResult4Waiting(CCResult result, int expectStamp) {
+        Runnable next = null;
         try {
             synchronized (wait4resultLock) {
+                if (!isSameGeneration(expectStamp)) {
+                    return;
+                }
                 if (VERBOSE_LOG) {
                     verboseLog(callId, "setResult" + (waiting ? "4Waiting" : "")
+                            + (continuation != null ? "4Continuation" : "")
                             + ". CCResult:" + result);
                 }
                 setResult(result);
@@ -503,22 +896,52 @@ public class CC {
                     waiting = false;
                     wait4resultLock.notifyAll();
                 }
+                next = continuation;
+                continuation = null;
             }
         } catch(Exception e) {
             CCUtil.printStackTrace(e);
         }
+        if (next != null) {
+            //在线程池中继续执行后续流程，不占用发送结果的线程(如：主线程、超时监控线程)
+            ComponentManager.threadPool(next);
+        }
+    }
+
+    /**
+     * 非阻塞地等待CC.sendCCResult(callId, result)：不占用当前线程，
+     * 收到结果(包括超时和取消)后在线程池中执行continuation
+     * @param continuation 收到结果后的后续处理
+     * @return true:已登记，当前线程可直接返回; false:结果已到达，由当前线程继续执行
+     */
+    boolean wait4ResultAsync(Runnable continuation) {
+        synchronized (wait4resultLock) {
+            //已标记结束但结果尚未设置(sendCCResult执行中)时，也需要登记，由setResult4Waiting触发
+            if (result != null) {
+                return false;
+            }
+            verboseLog(callId, "start waiting for CC.sendCCResult(...) without blocking thread");
+            this.continuation = continuation;
+            return true;
+        }
     }
 
     void wait4Result() {
         //等待调用CC.sendCCResult(callId, result)
         synchronized (wait4resultLock) {
             if (!isFinished()) {
+                //在CC线程池中阻塞等待时，线程池临时增加线程
+                boolean blocking = CCThreadPool.beginBlocking();
                 try {
                     verboseLog(callId, "start waiting for CC.sendCCResult(...)");
                     waiting = true;
                     wait4resultLock.wait();
                     verboseLog(callId, "end waiting for CC.sendCCResult(...)");
                 } catch (InterruptedException ignored) {
+                } finally {
+                    if (blocking) {
+                        CCThreadPool.endBlocking();
+                    }
                 }
             }
         }
@@ -528,6 +951,14 @@ public class CC {
         return callback;
     }
 
+    CCFuture getFuture() {
+        return future;
+    }
+
+    boolean isInlineDispatch() {
+        return inlineDispatch;
+    }
+
     /**
      * 在onDestroy后，自动cancel
      */
@@ -590,6 +1021,143 @@ public class CC {
         return processCallAsync(callback);
     }
 
+    /**
+     * 异步调用，通过返回的Future获取结果或组合后续的组件调用
+     * @return 接收调用结果的Future
+     */
+    public CCFuture callFuture() {
+        CCFuture future = new CCFuture(null);
+        this.future = future;
+        this.callbackOnMainThread = false;
+        processCallAsync(null);
+        return future;
+    }
+
+    /**
+     * 由{@link CCFuture#thenCall(CCFuture.CallComposer)}发起的异步调用，在当前线程中直接执行
+     * 若当前为主线程（上一步在添加后续处理前已完成），仍放到线程池中执行
+     * @param future 接收调用结果的Future
+     */
+    void callFutureInline(CCFuture future) {
+        this.future = future;
+        this.inlineDispatch = Looper.getMainLooper() != Looper.myLooper();
+        this.callbackOnMainThread = false;
+        processCallAsync(null);
+    }
+
+    /**
+     * 并行调用多个组件，在同一个截止时间内汇总所有结果
+     * @see #callAll(long, boolean, CC...)
+     */
+    public static CCFuture callAll(long timeout, CC... ccs) {
+        return callAll(timeout, false, ccs);
+    }
+
+    /**
+     * 并行调用多个组件，在同一个截止时间内汇总所有结果
+     * 每个组件调用的超时时间不超过统一的截止时间，到达截止时间时汇总结束，仍未完成的调用按超时处理
+     * (结果状态码为{@link CCResult#CODE_ERROR_TIMEOUT})，已完成的结果正常返回（部分结果）
+     * 汇总结束（包括failFast提前结束、取消返回的Future）时，尚未完成的调用将被取消
+     * @param timeout 统一的超时时间(ms)，0表示不限制
+     * @param failFast 为true时，任意一个调用失败即提前结束汇总
+     * @param ccs 要调用的CC对象(通过CC.obtainBuilder(...).build()创建)
+     * @return 汇总结果的Future，结果为成功，通过{@link CCFuture#KEY_RESULTS}获取所有调用结果的列表(与参数顺序一致)，
+     *          提前结束时未完成的调用结果状态码为{@link CCResult#CODE_ERROR_CANCELED}
+     */
+    public static CCFuture callAll(long timeout, final boolean failFast, final CC... ccs) {
+        final CCFuture gather = new CCFuture(null);
+        if (ccs == null || ccs.length == 0) {
+            gather.complete(CCResult.success(CCFuture.KEY_RESULTS, new ArrayList<CCResult>(0)));
+            return gather;
+        }
+        final int count = ccs.length;
+        final AtomicReferenceArray<CCResult> results = new AtomicReferenceArray<>(count);
+        //各调用的callId，在发起调用的线程中获取，用于在其它线程中取消
+        final AtomicReferenceArray<String> callIds = new AtomicReferenceArray<>(count);
+        final AtomicInteger remain = new AtomicInteger(count);
+        long deadline = timeout > 0 ? SystemClock.elapsedRealtime() + timeout : 0;
+        final ScheduledFuture<?> timer;
+        if (deadline > 0) {
+            //调用在线程池中排队时还未被CCMonitor监控，由汇总的计时器保证在截止时间结束
+            timer = CCFuture.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (!gather.isDone()) {
+                        for (int i = 0; i < count; i++) {
+                            String id = callIds.get(i);
+                            if (results.get(i) == null && id != null) {
+                                timeout(id);
+                            }
+                        }
+                        gather.complete(gatherResults(results, CCResult.CODE_ERROR_TIMEOUT));
+                    }
+                }
+            }, timeout);
+        } else {
+            timer = null;
+        }
+        gather.whenComplete(new CCFuture.OnCompleteListener() {
+            @Override
+            public void onComplete(CCResult result) {
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+                cancelUnfinished(results, callIds);
+            }
+        });
+        for (int i = 0; i < count && !gather.isDone(); i++) {
+            final int index = i;
+            CC cc = ccs[i];
+            if (deadline > 0) {
+                long left = Math.max(1, deadline - SystemClock.elapsedRealtime());
+                if (cc.timeout <= 0 || cc.timeout > left) {
+                    cc.timeout = left;
+                }
+            }
+            CCFuture future = cc.callFuture();
+            callIds.set(index, future.getCallId());
+            future.whenComplete(new CCFuture.OnCompleteListener() {
+                @Override
+                public void onComplete(CCResult result) {
+                    results.set(index, result);
+                    if (remain.decrementAndGet() == 0 || failFast && !result.isSuccess()) {
+                        gather.complete(gatherResults(results, CCResult.CODE_ERROR_CANCELED));
+                    }
+                }
+            });
+            if (gather.isDone()) {
+                //发起调用的过程中汇总已结束(截止时间已到或failFast)
+                cancelUnfinished(results, callIds);
+            }
+        }
+        return gather;
+    }
+
+    /**
+     * 汇总结束，取消尚未完成的调用
+     */
+    private static void cancelUnfinished(AtomicReferenceArray<CCResult> results, AtomicReferenceArray<String> callIds) {
+        for (int i = 0; i < callIds.length(); i++) {
+            String id = callIds.get(i);
+            if (results.get(i) == null && id != null) {
+                cancel(id);
+            }
+        }
+    }
+
+    /**
+     * @param missingCode 未完成的调用结果的状态码
+     */
+    private static CCResult gatherResults(AtomicReferenceArray<CCResult> results, int missingCode) {
+        int length = results.length();
+        List<CCResult> list = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            CCResult result = results.get(i);
+            list.add(result != null ? result : CCResult.error(missingCode));
+        }
+        return CCResult.success(CCFuture.KEY_RESULTS, list);
+    }
+
     private String processCallAsync(IComponentCallback callback) {
         if (callback != null) {
             this.callback = callback;
@@ -603,6 +1171,10 @@ public class CC {
         this.callId = nextCallId();
         this.canceled = false;
         this.timeoutStatus = false;
+        if (future != null) {
+            future.setCallId(callId);
+        }
+        openCall();
         if (VERBOSE_LOG) {
             verboseLog(callId, "start to callAsync:" + this);
         }
@@ -615,6 +1187,14 @@ public class CC {
      * @return CCResult
      */
     public CCResult call() {
+        if (CCMainThreadWatchdog.ENABLED && Looper.getMainLooper() == Looper.myLooper()) {
+            //主线程同步调用检测
+            return CCMainThreadWatchdog.call(this);
+        }
+        return callSync();
+    }
+
+    CCResult callSync() {
         this.callback = null;
         this.async = false;
         boolean mainThreadCallWithNoTimeout = timeout == 0 && Looper.getMainLooper() == Looper.myLooper();
@@ -626,11 +1206,18 @@ public class CC {
         this.callId = nextCallId();
         this.canceled = false;
         this.timeoutStatus = false;
+        openCall();
         //加上开关判断，防止开关关闭的情况下也执行this.toString()方法
         if (VERBOSE_LOG) {
             verboseLog(callId, "start to call:" + this);
         }
-        return ComponentManager.call(this);
+        CCResult ccResult = ComponentManager.call(this);
+        //在当前线程同步完成的本地调用，没有其它线程持有此CC对象，可以回收复用
+        if (RECYCLE_ENABLED && recyclable
+                && cancelOnDestroyActivity == null && cancelOnDestroyFragment == null) {
+            recycle();
+        }
+        return ccResult;
     }
 
     /**
@@ -648,9 +1235,16 @@ public class CC {
      * 取消本组件的调用
      */
     public void cancel() {
-        if (markFinished()) {
+        cancel(stamp.get());
+    }
+
+    private void cancel(int expectStamp) {
+        if (markFinished(expectStamp)) {
             canceled = true;
-            setResult4Waiting(CCResult.error(CCResult.CODE_ERROR_CANCELED));
+            if (CCEventDispatcher.ENABLED) {
+                CCEventDispatcher.cancel(this);
+            }
+            setResult4Waiting(CCResult.error(CCResult.CODE_ERROR_CANCELED), expectStamp);
             verboseLog(callId, "call cancel()");
         } else {
             verboseLog(callId, "call cancel(). but this cc is already finished");
@@ -658,11 +1252,62 @@ public class CC {
     }
 
     boolean isFinished() {
-        return finished.get();
+        return (stamp.get() & 1) != 0;
     }
 
     private boolean markFinished() {
-        return finished.compareAndSet(false, true);
+        for (;;) {
+            int current = stamp.get();
+            if ((current & 1) != 0) {
+                return false;
+            }
+            if (stamp.compareAndSet(current, current | 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 仅当状态戳未发生变化(未结束且未被回收复用)时标记为已结束
+     * @param expectStamp 期望的状态戳
+     * @return 是否标记成功
+     */
+    private boolean markFinished(int expectStamp) {
+        return (expectStamp & 1) == 0 && stamp.compareAndSet(expectStamp, expectStamp | 1);
+    }
+
+    int getStamp() {
+        return stamp.get();
+    }
+
+    private boolean isSameGeneration(int expectStamp) {
+        return (stamp.get() >>> 1) == (expectStamp >>> 1);
+    }
+
+    /**
+     * 开始一次调用，对于回收复用的CC对象，需要在callId设置完成后重新打开调用状态
+     */
+    private void openCall() {
+        //只有在本次调用中于当前线程同步完成时才会重新标记为可回收
+        recyclable = false;
+        if (reopenOnCall) {
+            reopenOnCall = false;
+            stamp.set(stamp.get() & ~1);
+        }
+    }
+
+    /**
+     * 获取callId对应的调用状态戳
+     * @param callId 调用id
+     * @return 状态戳，若CC对象已被回收复用(callId已改变)，则返回一个已结束的状态戳
+     */
+    private int stampFor(String callId) {
+        int ccStamp = stamp.get();
+        //先读取状态戳再比对callId：callId一致时，若之后被回收复用，状态戳的比对将失败
+        if (callId.equals(this.callId)) {
+            return ccStamp;
+        }
+        return STAMP_RECYCLED;
     }
 
     /**
@@ -675,20 +1320,27 @@ public class CC {
         verboseLog(callId, "call CC.cancel()");
         CC cc = CCMonitor.getById(callId);
         if (cc != null) {
-            cc.cancel();
+            cc.cancel(cc.stampFor(callId));
         }
     }
     static void timeout(String callId) {
         verboseLog(callId, "call CC.cancel()");
         CC cc = CCMonitor.getById(callId);
         if (cc != null) {
-            cc.timeout();
+            cc.timeout(cc.stampFor(callId));
         }
     }
     void timeout() {
-        if (markFinished()) {
+        timeout(stamp.get());
+    }
+
+    void timeout(int expectStamp) {
+        if (markFinished(expectStamp)) {
             timeoutStatus = true;
-            setResult4Waiting(CCResult.error(CCResult.CODE_ERROR_TIMEOUT));
+            if (CCEventDispatcher.ENABLED) {
+                CCEventDispatcher.timeout(this);
+            }
+            setResult4Waiting(CCResult.error(CCResult.CODE_ERROR_TIMEOUT), expectStamp);
             verboseLog(callId, "timeout");
         } else {
             verboseLog(callId, "call timeout(). but this cc is already finished");
@@ -715,13 +1367,14 @@ public class CC {
         }
         CC cc = CCMonitor.getById(callId);
         if (cc != null) {
-            if (cc.markFinished()) {
+            int ccStamp = cc.stampFor(callId);
+            if (cc.markFinished(ccStamp)) {
                 if (ccResult == null) {
                     ccResult = CCResult.defaultNullResult();
                     logError("CC.sendCCResult called, But ccResult is null, set it to CCResult.defaultNullResult(). "
                             + "ComponentName=" + cc.getComponentName());
                 }
-                cc.setResult4Waiting(ccResult);
+                cc.setResult4Waiting(ccResult, ccStamp);
             } else {
                 logError("CC.sendCCResult called, But ccResult is null. "
                         + "ComponentName=" + cc.getComponentName());
@@ -759,6 +1412,8 @@ public class CC {
         if (component == null) {
             return;
         }
+        //运行时注册的组件不计入启动跟踪中static块的注册耗时
+        ComponentManager.onRegistered();
         ComponentManager.registerComponent(component);
         //子进程中注册的动态组件要通知主进程
         //动态组件被注册在当前进程中
@@ -798,6 +1453,8 @@ public class CC {
      * @param interceptor 全局拦截器
      */
     public static void registerGlobalInterceptor(IGlobalCCInterceptor interceptor) {
+        //运行时注册的拦截器不计入启动跟踪中static块的注册耗时
+        GlobalCCInterceptorManager.onRegistered();
         GlobalCCInterceptorManager.registerGlobalInterceptor(interceptor);
     }
 
@@ -809,6 +1466,23 @@ public class CC {
         GlobalCCInterceptorManager.unregisterGlobalInterceptor(clazz);
     }
 
+    /**
+     * 注册组件调用过程的事件监听器，用于统计调用耗时等
+     * 监听器在调用过程所在的线程中同步回调，请勿执行耗时操作
+     * @param listener 监听器
+     */
+    public static void addEventListener(ICCEventListener listener) {
+        CCEventDispatcher.addListener(listener);
+    }
+
+    /**
+     * 注销组件调用过程的事件监听器
+     * @param listener 监听器
+     */
+    public static void removeEventListener(ICCEventListener listener) {
+        CCEventDispatcher.removeListener(listener);
+    }
+
     private static String prefix;
     private static AtomicInteger index = new AtomicInteger(1);
     private String nextCallId() {
@@ -861,7 +1535,9 @@ public class CC {
     }
 
     /**
-     * 开关组件调用过程详细日志，默认为关闭状态
+     * 开关组件调用过程详细日志，默认为关闭状态<br>
+     * 详细日志在每一步拼接字符串并输出到logcat，开销较大，仅用于开发调试，
+     * 线上需要记录调用过程时请使用{@link CCCallLog}
      * @param enable 开关（true：显示详细日志， false：关闭。）
      */
     public static void enableVerboseLog(boolean enable) {
@@ -884,11 +1560,79 @@ public class CC {
      */
     public static void enableRemoteCC(boolean enable) {
         REMOTE_CC_ENABLED = enable;
+        InterceptorPipeline.invalidate();
         if (enable && application != null) {
             RemoteCCInterceptor.getInstance().enableRemoteCC();
         }
     }
 
+    /**
+     * 开关同步调用的CC对象回收复用，默认为关闭状态<br>
+     * 开启后，在当前线程中同步完成的本地组件调用结束后，CC对象(及其调用链)将被回收复用，以减少高频调用时的内存分配<br>
+     * <b>开启后，请勿在cc.call()返回后继续使用该CC对象</b>（通过callId调用{@link #sendCCResult(String, CCResult)}等方法仍是安全的）
+     * @param enable 开关（true：回收复用， false：不复用）
+     */
+    public static void enableCallRecycle(boolean enable) {
+        RECYCLE_ENABLED = enable;
+    }
+
+    /**
+     * 开关组件调用统计，默认为关闭状态<br>
+     * 开启后按组件名称及action名称记录调用次数、错误次数、超时及取消次数和调用耗时的分布，
+     * 通过内部组件"internal.cc.metrics"查询（action："getMetrics"、"getAllMetrics"、"resetMetrics"）
+     * @param enable 开关（true：记录， false：不记录）
+     */
+    public static void enableMetrics(boolean enable) {
+        CCMetrics.ENABLED = enable;
+    }
+
+    /**
+     * 设置执行异步调用、跨进程调用等任务的线程池，默认为{@link CCThreadPool}(线程数上限64，队列长度1024，拒绝新调用)<br>
+     * 线程池拒绝任务(execute方法抛出RejectedExecutionException)时，新的调用及需要从主线程切换到子线程执行的组件调用
+     * 以{@link CCResult#CODE_ERROR_REJECTED}结束，已开始的调用的后续任务在当前线程中执行<br>
+     * 注：只有{@link CCThreadPool}会在线程阻塞等待调用结果时临时增加线程，使用其它有上限的线程池时需要注意避免所有线程都在等待
+     * @param executor 线程池，为null时恢复为默认的线程池
+     */
+    public static void setExecutor(Executor executor) {
+        ComponentManager.setExecutor(executor);
+    }
+
+    public static Executor getExecutor() {
+        return ComponentManager.getExecutor();
+    }
+
+    /**
+     * 运行时设置组件的隔离舱，优先于组件类上的{@link com.billy.cc.core.component.annotation.Bulkhead}注解<br>
+     * 组件在隔离舱自己的线程中执行，同时执行数及排队数达到上限后，调用以{@link CCResult#CODE_ERROR_REJECTED}结束
+     * @param componentName 组件名称
+     * @param maxConcurrent 同时执行的调用数上限，小于等于0时清除运行时设置
+     * @param queue 等待执行的调用数上限，为0时不排队
+     */
+    public static void setBulkhead(String componentName, int maxConcurrent, int queue) {
+        if (componentName != null) {
+            CCBulkhead.configure(componentName, maxConcurrent, queue);
+        }
+    }
+
+    /**
+     * 开关主线程任务的按帧调度，默认为关闭状态<br>
+     * 开启后，组件调用结果在主线程的回调及需要切换到主线程执行的组件调用，合并为每批一个异步消息执行，
+     * 每帧中执行的时间超过预算({@link #setFrameBudget(long)})后，剩余任务推迟到下一帧，
+     * 执行情况通过内部组件"internal.cc.metrics"查询（action："getMainThreadMetrics"）
+     * @param enable 开关（true：按帧调度， false：每个任务单独post到主线程）
+     */
+    public static void enableFrameDispatcher(boolean enable) {
+        CCMainThreadDispatcher.ENABLED = enable;
+    }
+
+    /**
+     * 设置按帧调度时每帧执行主线程任务的时间预算，默认为4毫秒
+     * @param millis 时间预算(毫秒)，小于等于0时恢复默认值
+     */
+    public static void setFrameBudget(long millis) {
+        CCMainThreadDispatcher.setFrameBudget(millis);
+    }
+
     public static boolean isRemoteCCEnabled() {
         return REMOTE_CC_ENABLED;
     }
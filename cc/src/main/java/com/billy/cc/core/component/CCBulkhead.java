@@ -0,0 +1,206 @@
+package com.billy.cc.core.component;
+
+import android.os.Build;
+
+import com.billy.cc.core.component.annotation.Bulkhead;
+
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 组件的隔离舱：组件的onCall在隔离舱自己的线程中执行，线程数及等待队列的长度有上限，超出时拒绝调用
+ * 通过组件类上的{@link Bulkhead}注解或{@link CC#setBulkhead(String, int, int)}设置，运行时设置优先
+ * 执行情况(执行中、排队中及排队数峰值、调用数、拒绝数)通过内部组件"internal.cc.metrics"的action："getBulkheadMetrics"查询
+ * @author billy.qi
+ */
+class CCBulkhead {
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    /** 是否有组件设置了隔离舱 */
+    static volatile boolean ENABLED = false;
+    /** 运行时设置的隔离舱 */
+    private static final ConcurrentHashMap<String, CCBulkhead> CONFIGURED = new ConcurrentHashMap<>();
+    /** 组件类上注解的隔离舱 */
+    private static final ConcurrentHashMap<String, CCBulkhead> ANNOTATED = new ConcurrentHashMap<>();
+
+    /**
+     * 获取组件的隔离舱
+     * @param componentName 组件名称
+     * @return 组件的隔离舱，没有设置时返回null
+     */
+    static CCBulkhead get(String componentName) {
+        CCBulkhead bulkhead = CONFIGURED.get(componentName);
+        return bulkhead != null ? bulkhead : ANNOTATED.get(componentName);
+    }
+
+    /**
+     * 读取组件类上的{@link Bulkhead}注解，在组件注册或组件对象创建时调用
+     */
+    static void registerPolicy(String componentName, Class<?> componentClass) {
+        Bulkhead annotation = componentClass.getAnnotation(Bulkhead.class);
+        if (annotation != null) {
+            put(ANNOTATED, componentName, annotation.maxConcurrent(), annotation.queue());
+        } else {
+            remove(ANNOTATED, componentName);
+        }
+    }
+
+    /**
+     * 运行时设置组件的隔离舱
+     * @param maxConcurrent 同时执行的调用数上限，小于等于0时清除运行时设置(恢复为注解的设置)
+     * @param queueCapacity 等待执行的调用数上限
+     */
+    static void configure(String componentName, int maxConcurrent, int queueCapacity) {
+        if (maxConcurrent > 0) {
+            put(CONFIGURED, componentName, maxConcurrent, queueCapacity);
+        } else {
+            remove(CONFIGURED, componentName);
+        }
+    }
+
+    private static void put(ConcurrentHashMap<String, CCBulkhead> map, String componentName
+            , int maxConcurrent, int queueCapacity) {
+        CCBulkhead old = map.get(componentName);
+        if (old != null && old.maxConcurrent == maxConcurrent && old.queueCapacity == queueCapacity) {
+            return;
+        }
+        old = map.put(componentName, new CCBulkhead(componentName, maxConcurrent, Math.max(queueCapacity, 0)));
+        if (old != null) {
+            old.shutdown();
+        }
+        ENABLED = true;
+    }
+
+    private static void remove(ConcurrentHashMap<String, CCBulkhead> map, String componentName) {
+        CCBulkhead old = map.remove(componentName);
+        if (old != null) {
+            old.shutdown();
+        }
+    }
+
+    /**
+     * 所有隔离舱的执行情况
+     * <pre>
+     * {"componentName":{"maxConcurrent":4, "queueCapacity":32, "active":4, "queued":10, "peakQueued":32,
+     *   "calls":1000, "rejected":5}}
+     * </pre>
+     */
+    static JSONObject snapshot() throws Exception {
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, CCBulkhead> entry : ANNOTATED.entrySet()) {
+            json.put(entry.getKey(), entry.getValue().toJson());
+        }
+        for (Map.Entry<String, CCBulkhead> entry : CONFIGURED.entrySet()) {
+            json.put(entry.getKey(), entry.getValue().toJson());
+        }
+        return json;
+    }
+
+    private final String componentName;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicInteger peakQueued = new AtomicInteger();
+
+    private CCBulkhead(final String componentName, int maxConcurrent, int queueCapacity) {
+        this.componentName = componentName;
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new LinkedBlockingQueue<Runnable>(queueCapacity)
+                : new SynchronousQueue<Runnable>();
+        executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS
+                , queue, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new LaneThread(CCBulkhead.this, r);
+                thread.setName("cc-bulkhead-" + componentName + "-" + thread.getId());
+                return thread;
+            }
+        });
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.GINGERBREAD) {
+            //空闲的核心线程超时后退出（API 9）
+            executor.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    /**
+     * 在隔离舱中执行组件调用
+     * 获取隔离舱之后其设置被修改或清除时(旧的隔离舱已关闭)，改为在当前的隔离舱中执行，已清除则在CC线程池中执行
+     * @return 是否已接受，false：同时执行数及队列均已满(或CC线程池已满)，调用被拒绝
+     */
+    boolean execute(Runnable runnable) {
+        try {
+            executor.execute(runnable);
+        } catch (RejectedExecutionException e) {
+            if (executor.isShutdown()) {
+                CCBulkhead current = get(componentName);
+                if (current == null) {
+                    //调用方可能是主线程，线程池拒绝时按拒绝处理，不在当前线程中执行
+                    return ComponentManager.submit(runnable);
+                }
+                if (current != this) {
+                    return current.execute(runnable);
+                }
+            }
+            rejected.incrementAndGet();
+            return false;
+        }
+        calls.incrementAndGet();
+        int queued = executor.getQueue().size();
+        int peak;
+        while (queued > (peak = peakQueued.get())) {
+            if (peakQueued.compareAndSet(peak, queued)) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 当前线程是否为此隔离舱的线程（组件调用自身时直接在当前线程执行，避免等待自己的队列）
+     */
+    boolean isCurrentLane() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof LaneThread && ((LaneThread) thread).bulkhead == this;
+    }
+
+    private void shutdown() {
+        //已在队列中的调用继续执行
+        executor.shutdown();
+    }
+
+    private JSONObject toJson() throws Exception {
+        JSONObject json = new JSONObject();
+        json.put("maxConcurrent", maxConcurrent);
+        json.put("queueCapacity", queueCapacity);
+        json.put("active", executor.getActiveCount());
+        json.put("queued", executor.getQueue().size());
+        json.put("peakQueued", peakQueued.get());
+        json.put("calls", calls.get());
+        json.put("rejected", rejected.get());
+        return json;
+    }
+
+    private static class LaneThread extends Thread {
+        final CCBulkhead bulkhead;
+
+        LaneThread(CCBulkhead bulkhead, Runnable r) {
+            super(r);
+            this.bulkhead = bulkhead;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.billy.cc.core.component;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 组件调用日志：在固定大小的环形缓冲区中记录组件调用过程的事件，可在线上开启<br>
+ * 与{@link CC#enableVerboseLog(boolean)}不同，记录时不拼接字符串、不分配对象：
+ * 每个事件只记录时间点、线程id、事件类型、结果code，以及callId、componentName等已存在的字符串的引用，
+ * 缓冲区写满后覆盖最早的事件，导出时才格式化为文本
+ * <pre>
+ *     CCCallLog.enable(8192);
+ *     //发生崩溃时导出到文件
+ *     CCCallLog.dumpOnCrash(new File(context.getExternalCacheDir(), "cc_call_log.txt"));
+ *     //按需导出
+ *     CCCallLog.dump(file);
+ * </pre>
+ * 记录的事件与{@link ICCEventListener}相同，记录过程无锁
+ * @author billy.qi
+ */
+public final class CCCallLog {
+    /** 默认记录的事件数 */
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final int MIN_CAPACITY = 64;
+    private static final int MAX_CAPACITY = 1 << 20;
+
+    private static final int CALL_START = 0;
+    private static final int INTERCEPTOR_START = 1;
+    private static final int INTERCEPTOR_END = 2;
+    private static final int ROUTE = 3;
+    private static final int IPC_SEND = 4;
+    private static final int IPC_RECEIVE = 5;
+    private static final int ON_CALL_START = 6;
+    private static final int ON_CALL_END = 7;
+    private static final int RESULT = 8;
+    private static final int TIMEOUT = 9;
+    private static final int CANCEL = 10;
+    private static final int CALL_END = 11;
+    private static final int CALLBACK = 12;
+    private static final String[] EVENT_NAMES = {
+            "callStart", "interceptorStart", "interceptorEnd", "route", "ipcSend", "ipcReceive",
+            "onCallStart", "onCallEnd", "result", "timeout", "cancel", "callEnd", "callback"
+    };
+    private static final String[] ROUTE_NAMES = {"notFound", "local", "subProcess", "remote"};
+    /** 结果为null时记录的code */
+    private static final int NO_CODE = Integer.MIN_VALUE;
+
+    private static volatile Recorder recorder;
+    private static File crashDumpFile;
+    private static boolean crashHandlerInstalled;
+
+    private CCCallLog() {
+    }
+
+    /**
+     * 以默认大小开启调用日志
+     */
+    public static void enable() {
+        enable(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 开启调用日志，已开启时按新的大小重新开始记录
+     * @param capacity 最多保留的事件数，会调整为2的整数次幂，每个事件约占用40字节
+     */
+    public static synchronized void enable(int capacity) {
+        if (recorder != null) {
+            CCEventDispatcher.removeListener(recorder);
+        }
+        int size = MIN_CAPACITY;
+        while (size < capacity && size < MAX_CAPACITY) {
+            size <<= 1;
+        }
+        recorder = new Recorder(size);
+        CCEventDispatcher.addListener(recorder);
+    }
+
+    /**
+     * 关闭调用日志，并丢弃已记录的事件
+     */
+    public static synchronized void disable() {
+        if (recorder != null) {
+            CCEventDispatcher.removeListener(recorder);
+            recorder = null;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return recorder != null;
+    }
+
+    /**
+     * 发生未捕获的异常时将调用日志导出到指定文件，之后交由原有的UncaughtExceptionHandler处理
+     * @param file 导出的文件，为null时不再导出
+     */
+    public static synchronized void dumpOnCrash(File file) {
+        crashDumpFile = file;
+        if (file == null || crashHandlerInstalled) {
+            return;
+        }
+        crashHandlerInstalled = true;
+        final Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+            @Override
+            public void uncaughtException(Thread t, Throwable e) {
+                File file;
+                synchronized (CCCallLog.class) {
+                    file = crashDumpFile;
+                }
+                if (file != null) {
+                    try {
+                        dump(file);
+                    } catch (Throwable ignored) {
+                    }
+                }
+                if (previous != null) {
+                    previous.uncaughtException(t, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 将调用日志导出到文件（覆盖原有内容）
+     * @param file 导出的文件
+     * @return 是否导出成功，未开启时返回false
+     */
+    public static boolean dump(File file) {
+        Recorder r = recorder;
+        if (r == null || file == null) {
+            return false;
+        }
+        Writer writer = null;
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+            r.dump(writer);
+            return true;
+        } catch (IOException e) {
+            CCUtil.printStackTrace(e);
+            return false;
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    CCUtil.printStackTrace(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取文本格式的调用日志，每行一个事件，例如：
+     * <pre>
+     * 10-18 12:00:00.123.456 tid:2 app:12 demo.ComponentA/showActivity interceptorEnd ValidateInterceptor code=0
+     * </pre>
+     * @return 调用日志，未开启时返回null
+     */
+    public static String getLog() {
+        Recorder r = recorder;
+        if (r == null) {
+            return null;
+        }
+        StringWriter writer = new StringWriter();
+        try {
+            r.dump(writer);
+        } catch (IOException e) {
+            CCUtil.printStackTrace(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 环形缓冲区，每个事件占用一个槽位：
+     *  sequences[i]: 写入该槽位的事件序号，写入过程中为-1，导出时据此跳过正在写入或已被覆盖的槽位
+     *  events[2i]: 时间点(System.nanoTime())
+     *  events[2i+1]: 事件类型(8位) | 线程id(低24位) | 结果code或其它参数(32位)
+     *  refs[4i ~ 4i+3]: callId, componentName, actionName, 附加对象(拦截器/组件的类、进程名称)
+     * 每个槽位先标记为-1，再写入内容，最后写入序号，均使用有序写(lazySet)
+     */
+    private static class Recorder extends BaseCCEventListener {
+        private final int capacity;
+        private final int mask;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicLongArray sequences;
+        private final AtomicLongArray events;
+        private final AtomicReferenceArray<Object> refs;
+        /** 用于将nanoTime换算为日期时间 */
+        private final long baseMillis = System.currentTimeMillis();
+        private final long baseNanos = System.nanoTime();
+
+        Recorder(int capacity) {
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            this.sequences = new AtomicLongArray(capacity);
+            this.events = new AtomicLongArray(capacity << 1);
+            this.refs = new AtomicReferenceArray<>(capacity << 2);
+            for (int i = 0; i < capacity; i++) {
+                sequences.lazySet(i, -1);
+            }
+        }
+
+        private void write(int event, CC cc, Object extra, int arg, long nanoTime) {
+            long seq = cursor.getAndIncrement();
+            int slot = (int) seq & mask;
+            long info = ((long) event << 56) | ((Thread.currentThread().getId() & 0xFFFFFF) << 32)
+                    | (arg & 0xFFFFFFFFL);
+            sequences.lazySet(slot, -1);
+            events.lazySet(slot << 1, nanoTime);
+            events.lazySet((slot << 1) + 1, info);
+            int base = slot << 2;
+            refs.lazySet(base, cc.getCallId());
+            refs.lazySet(base + 1, cc.getComponentName());
+            refs.lazySet(base + 2, cc.getActionName());
+            refs.lazySet(base + 3, extra);
+            sequences.lazySet(slot, seq);
+        }
+
+        private static int code(CCResult result) {
+            return result == null ? NO_CODE : result.getCode();
+        }
+
+        @Override
+        public void callStart(CC cc, long nanoTime) {
+            write(CALL_START, cc, null, 0, nanoTime);
+        }
+
+        @Override
+        public void interceptorStart(CC cc, ICCInterceptor interceptor, long nanoTime) {
+            write(INTERCEPTOR_START, cc, interceptor.getClass(), 0, nanoTime);
+        }
+
+        @Override
+        public void interceptorEnd(CC cc, ICCInterceptor interceptor, CCResult result, long nanoTime) {
+            write(INTERCEPTOR_END, cc, interceptor.getClass(), code(result), nanoTime);
+        }
+
+        @Override
+        public void routeResolved(CC cc, int route, long nanoTime) {
+            write(ROUTE, cc, null, route, nanoTime);
+        }
+
+        @Override
+        public void ipcSend(CC cc, String processName, long nanoTime) {
+            write(IPC_SEND, cc, processName, 0, nanoTime);
+        }
+
+        @Override
+        public void ipcReceive(CC cc, String processName, CCResult result, long nanoTime) {
+            write(IPC_RECEIVE, cc, processName, code(result), nanoTime);
+        }
+
+        @Override
+        public void componentOnCallStart(CC cc, IComponent component, long nanoTime) {
+            write(ON_CALL_START, cc, component.getClass(), 0, nanoTime);
+        }
+
+        @Override
+        public void componentOnCallEnd(CC cc, IComponent component, boolean callbackDelay, long nanoTime) {
+            write(ON_CALL_END, cc, component.getClass(), callbackDelay ? 1 : 0, nanoTime);
+        }
+
+        @Override
+        public void resultSet(CC cc, CCResult result, long nanoTime) {
+            write(RESULT, cc, null, code(result), nanoTime);
+        }
+
+        @Override
+        public void timeout(CC cc, long nanoTime) {
+            write(TIMEOUT, cc, null, 0, nanoTime);
+        }
+
+        @Override
+        public void cancel(CC cc, long nanoTime) {
+            write(CANCEL, cc, null, 0, nanoTime);
+        }
+
+        @Override
+        public void callEnd(CC cc, CCResult result, long nanoTime) {
+            write(CALL_END, cc, null, code(result), nanoTime);
+        }
+
+        @Override
+        public void callbackDelivered(CC cc, CCResult result, long nanoTime) {
+            write(CALLBACK, cc, null, code(result), nanoTime);
+        }
+
+        void dump(Writer writer) throws IOException {
+            long end = cursor.get();
+            long start = Math.max(0, end - capacity);
+            SimpleDateFormat dateFormat = new SimpleDateFormat("MM-dd HH:mm:ss.SSS", Locale.US);
+            StringBuilder sb = new StringBuilder(128);
+            int skipped = 0;
+            writer.write("CC call log: process=" + CCUtil.getCurProcessName() + ", capacity=" + capacity
+                    + ", total=" + end + ", dropped=" + start + "\n");
+            for (long seq = start; seq < end; seq++) {
+                int slot = (int) seq & mask;
+                if (sequences.get(slot) != seq) {
+                    skipped++;
+                    continue;
+                }
+                long time = events.get(slot << 1);
+                long info = events.get((slot << 1) + 1);
+                int base = slot << 2;
+                Object callId = refs.get(base);
+                Object componentName = refs.get(base + 1);
+                Object actionName = refs.get(base + 2);
+                Object extra = refs.get(base + 3);
+                if (sequences.get(slot) != seq) {
+                    //读取过程中被覆盖
+                    skipped++;
+                    continue;
+                }
+                int event = (int) (info >>> 56);
+                long tid = (info >>> 32) & 0xFFFFFF;
+                int arg = (int) info;
+                long nanos = time - baseNanos;
+                long millis = nanos >= 0 ? nanos / 1000000 : -((999999 - nanos) / 1000000);
+                long micros = (nanos - millis * 1000000) / 1000;
+                sb.setLength(0);
+                sb.append(dateFormat.format(new Date(baseMillis + millis))).append('.');
+                if (micros < 100) {
+                    sb.append(micros < 10 ? "00" : "0");
+                }
+                sb.append(micros)
+                        .append(" tid:").append(tid)
+                        .append(' ').append(callId)
+                        .append(' ').append(componentName).append('/').append(actionName)
+                        .append(' ').append(EVENT_NAMES[event]);
+                appendDetail(sb, event, extra, arg);
+                sb.append('\n');
+                writer.write(sb.toString());
+            }
+            if (skipped > 0) {
+                writer.write("(" + skipped + " events overwritten while dumping)\n");
+            }
+            writer.flush();
+        }
+
+        private static void appendDetail(StringBuilder sb, int event, Object extra, int arg) {
+            if (extra instanceof Class) {
+                sb.append(' ').append(((Class<?>) extra).getSimpleName());
+            } else if (extra != null) {
+                sb.append(' ').append(extra);
+            }
+            switch (event) {
+                case ROUTE:
+                    sb.append(' ').append(arg >= 0 && arg < ROUTE_NAMES.length ? ROUTE_NAMES[arg] : String.valueOf(arg));
+                    break;
+                case ON_CALL_END:
+                    sb.append(" callbackDelay=").append(arg != 0);
+                    break;
+                case INTERCEPTOR_END:
+                case IPC_RECEIVE:
+                case RESULT:
+                case CALL_END:
+                case CALLBACK:
+                    sb.append(" code=").append(arg == NO_CODE ? "null" : String.valueOf(arg));
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
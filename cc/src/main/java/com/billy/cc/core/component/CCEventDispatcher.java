@@ -0,0 +1,194 @@
+package com.billy.cc.core.component;
+
+/**
+ * 组件调用事件的分发，事件点处通过{@link #ENABLED}判断是否有监听器：
+ * <pre>
+ *     if (CCEventDispatcher.ENABLED) {
+ *         CCEventDispatcher.callStart(cc);
+ *     }
+ * </pre>
+ * 没有监听器时不获取时间、不分配对象
+ * @author billy.qi
+ */
+class CCEventDispatcher {
+    private static final ICCEventListener[] EMPTY = new ICCEventListener[0];
+
+    /** 是否注册了监听器 */
+    static volatile boolean ENABLED = false;
+    /** 已注册的监听器（写时复制） */
+    private static volatile ICCEventListener[] listeners = EMPTY;
+
+    static synchronized void addListener(ICCEventListener listener) {
+        if (listener == null) {
+            return;
+        }
+        for (ICCEventListener l : listeners) {
+            if (l == listener) {
+                return;
+            }
+        }
+        ICCEventListener[] old = listeners;
+        ICCEventListener[] newListeners = new ICCEventListener[old.length + 1];
+        System.arraycopy(old, 0, newListeners, 0, old.length);
+        newListeners[old.length] = listener;
+        listeners = newListeners;
+        ENABLED = true;
+    }
+
+    static synchronized void removeListener(ICCEventListener listener) {
+        ICCEventListener[] old = listeners;
+        for (int i = 0; i < old.length; i++) {
+            if (old[i] == listener) {
+                ICCEventListener[] newListeners = new ICCEventListener[old.length - 1];
+                System.arraycopy(old, 0, newListeners, 0, i);
+                System.arraycopy(old, i + 1, newListeners, i, old.length - i - 1);
+                listeners = newListeners;
+                ENABLED = newListeners.length > 0;
+                return;
+            }
+        }
+    }
+
+    static void callStart(CC cc) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.callStart(cc, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void interceptorStart(CC cc, ICCInterceptor interceptor) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.interceptorStart(cc, interceptor, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void interceptorEnd(CC cc, ICCInterceptor interceptor, CCResult result) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.interceptorEnd(cc, interceptor, result, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void routeResolved(CC cc, int route) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.routeResolved(cc, route, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void ipcSend(CC cc, String processName) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.ipcSend(cc, processName, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void ipcReceive(CC cc, String processName, CCResult result) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.ipcReceive(cc, processName, result, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void componentOnCallStart(CC cc, IComponent component) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.componentOnCallStart(cc, component, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void componentOnCallEnd(CC cc, IComponent component, boolean callbackDelay) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.componentOnCallEnd(cc, component, callbackDelay, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void resultSet(CC cc, CCResult result) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.resultSet(cc, result, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void timeout(CC cc) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.timeout(cc, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void cancel(CC cc) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.cancel(cc, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void callEnd(CC cc, CCResult result) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.callEnd(cc, result, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+
+    static void callbackDelivered(CC cc, CCResult result) {
+        long time = System.nanoTime();
+        for (ICCEventListener l : listeners) {
+            try {
+                l.callbackDelivered(cc, result, time);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package com.billy.cc.core.component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 组件调用的Future，通过{@link CC#callFuture()}获取
+ * 支持组合多个组件调用：{@link #thenApply(ResultMapper)}, {@link #thenCall(CallComposer)},
+ * {@link #allOf(CCFuture...)}, {@link #anyOf(CCFuture...)}
+ * 默认情况下，后续处理在完成上一步的线程(CC线程池)中直接执行，
+ * {@link #thenCall(CallComposer)}中的组件调用也在该线程中直接发起，不再经过主线程或重新提交到线程池。
+ * 可通过{@link #executeOn(Executor)}指定后续处理所在的线程
+ * @author billy.qi
+ */
+public class CCFuture {
+    /**
+     * {@link #allOf(CCFuture...)}的结果中，保存所有结果列表(List&lt;CCResult&gt;，与参数顺序一致)的key
+     */
+    public static final String KEY_RESULTS = "results";
+
+    /**
+     * 在主线程中执行后续处理的Executor
+     */
+    public static final Executor MAIN_THREAD = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            ComponentManager.mainThread(command);
+        }
+    };
+
+    private static volatile ScheduledExecutorService timer;
+
+    private final Executor executor;
+    private final Object lock = new Object();
+    private volatile CCResult result;
+    private List<OnCompleteListener> listeners;
+    /**
+     * 当前正在执行的组件调用id，用于cancel和超时
+     */
+    private volatile String callId;
+    /**
+     * 上一步的Future，取消或超时时一并通知
+     */
+    private final CCFuture source;
+
+    CCFuture(Executor executor) {
+        this(executor, null);
+    }
+
+    private CCFuture(Executor executor, CCFuture source) {
+        this.executor = executor;
+        this.source = source;
+    }
+
+    /**
+     * 创建一个已完成的Future
+     * @param result 结果
+     * @return 已完成的Future
+     */
+    public static CCFuture completed(CCResult result) {
+        CCFuture future = new CCFuture(null);
+        future.complete(result);
+        return future;
+    }
+
+    void setCallId(String callId) {
+        this.callId = callId;
+    }
+
+    /**
+     * 获取当前正在执行的组件调用id
+     * @return callId
+     */
+    public String getCallId() {
+        String id = callId;
+        if (id == null && source != null) {
+            return source.getCallId();
+        }
+        return id;
+    }
+
+    public boolean isDone() {
+        return result != null;
+    }
+
+    /**
+     * 获取结果，未完成时返回null
+     * @return 结果
+     */
+    public CCResult getNow() {
+        return result;
+    }
+
+    /**
+     * 阻塞等待结果
+     * <b>请勿在主线程中调用</b>
+     * @return 结果
+     */
+    public CCResult get() {
+        return get(0);
+    }
+
+    /**
+     * 阻塞等待结果，最多等待timeout毫秒
+     * @param timeout 最长等待时间(ms)，0表示不限制
+     * @return 结果，等待超时则返回状态码为{@link CCResult#CODE_ERROR_TIMEOUT}的结果(不影响组件调用的执行)
+     */
+    public CCResult get(long timeout) {
+        long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+        synchronized (lock) {
+            if (result != null) {
+                return result;
+            }
+            //在CC线程池中阻塞等待时，线程池临时增加线程
+            boolean blocking = CCThreadPool.beginBlocking();
+            try {
+                while (result == null) {
+                    if (deadline == 0) {
+                        lock.wait();
+                    } else {
+                        long millis = deadline - System.currentTimeMillis();
+                        if (millis <= 0) {
+                            return CCResult.error(CCResult.CODE_ERROR_TIMEOUT);
+                        }
+                        lock.wait(millis);
+                    }
+                }
+                return result;
+            } catch (InterruptedException e) {
+                return CCResult.error(CCResult.CODE_ERROR_CANCELED);
+            } finally {
+                if (blocking) {
+                    CCThreadPool.endBlocking();
+                }
+            }
+        }
+    }
+
+    /**
+     * 完成此Future
+     * @param ccResult 结果
+     * @return 是否由本次调用完成(已完成的Future不会被再次完成)
+     */
+    boolean complete(CCResult ccResult) {
+        if (ccResult == null) {
+            ccResult = CCResult.defaultNullResult();
+        }
+        List<OnCompleteListener> list;
+        synchronized (lock) {
+            if (result != null) {
+                return false;
+            }
+            result = ccResult;
+            list = listeners;
+            listeners = null;
+            lock.notifyAll();
+        }
+        if (list != null) {
+            for (OnCompleteListener listener : list) {
+                dispatch(listener, ccResult);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 取消当前正在执行的组件调用，并以{@link CCResult#CODE_ERROR_CANCELED}完成此Future
+     */
+    public void cancel() {
+        if (isDone()) {
+            return;
+        }
+        String id = callId;
+        if (id != null) {
+            CC.cancel(id);
+        } else if (source != null) {
+            source.cancel();
+        }
+        complete(CCResult.error(CCResult.CODE_ERROR_CANCELED));
+    }
+
+    /**
+     * 添加完成时的监听，若已完成则立即执行
+     * @param listener 监听
+     * @return Future自身
+     */
+    public CCFuture whenComplete(OnCompleteListener listener) {
+        if (listener == null) {
+            return this;
+        }
+        CCResult ccResult;
+        synchronized (lock) {
+            ccResult = result;
+            if (ccResult == null) {
+                if (listeners == null) {
+                    listeners = new ArrayList<>(2);
+                }
+                listeners.add(listener);
+                return this;
+            }
+        }
+        dispatch(listener, ccResult);
+        return this;
+    }
+
+    private void dispatch(final OnCompleteListener listener, final CCResult ccResult) {
+        if (executor == null) {
+            notifyListener(listener, ccResult);
+        } else {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    notifyListener(listener, ccResult);
+                }
+            });
+        }
+    }
+
+    private static void notifyListener(OnCompleteListener listener, CCResult ccResult) {
+        try {
+            listener.onComplete(ccResult);
+        } catch(Exception e) {
+            CCUtil.printStackTrace(e);
+        }
+    }
+
+    /**
+     * 指定后续处理所在的线程
+     * @param executor 执行后续处理的Executor，如：{@link #MAIN_THREAD}，为null时在完成上一步的线程中直接执行
+     * @return 新的Future，与当前Future的结果相同
+     */
+    public CCFuture executeOn(Executor executor) {
+        final CCFuture next = new CCFuture(executor, this);
+        whenComplete(new OnCompleteListener() {
+            @Override
+            public void onComplete(CCResult result) {
+                next.complete(result);
+            }
+        });
+        return next;
+    }
+
+    /**
+     * 对结果进行转换
+     * @param mapper 转换器
+     * @return 新的Future，结果为转换后的结果
+     */
+    public CCFuture thenApply(final ResultMapper mapper) {
+        final CCFuture next = new CCFuture(executor, this);
+        whenComplete(new OnCompleteListener() {
+            @Override
+            public void onComplete(CCResult result) {
+                CCResult mapped;
+                try {
+                    mapped = mapper.apply(result);
+                } catch(Exception e) {
+                    mapped = CCResult.defaultExceptionResult(e);
+                }
+                next.complete(mapped);
+            }
+        });
+        return next;
+    }
+
+    /**
+     * 根据结果发起下一个组件调用
+     * 下一个组件调用在完成上一步的线程中直接发起，不再提交到线程池
+     * @param composer 根据上一步的结果创建下一个CC对象，返回null则直接使用上一步的结果
+     * @return 新的Future，结果为下一个组件调用的结果
+     */
+    public CCFuture thenCall(final CallComposer composer) {
+        final CCFuture next = new CCFuture(executor, this);
+        whenComplete(new OnCompleteListener() {
+            @Override
+            public void onComplete(CCResult result) {
+                if (next.isDone()) {
+                    //已被取消或超时
+                    return;
+                }
+                CC cc;
+                try {
+                    cc = composer.compose(result);
+                } catch(Exception e) {
+                    next.complete(CCResult.defaultExceptionResult(e));
+                    return;
+                }
+                if (cc == null) {
+                    next.complete(result);
+                } else {
+                    cc.callFutureInline(next);
+                }
+            }
+        });
+        return next;
+    }
+
+    /**
+     * 设置超时时间，超时后以{@link CCResult#CODE_ERROR_TIMEOUT}完成，并通知当前正在执行的组件调用超时
+     * @param timeout 超时时间(ms)
+     * @return 新的Future
+     */
+    public CCFuture timeout(long timeout) {
+        final CCFuture next = executeOn(executor);
+        if (timeout > 0 && !next.isDone()) {
+            getTimer().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    String id = next.getCallId();
+                    if (!next.isDone() && id != null) {
+                        CC.timeout(id);
+                    }
+                    next.complete(CCResult.error(CCResult.CODE_ERROR_TIMEOUT));
+                }
+            }, timeout, TimeUnit.MILLISECONDS);
+        }
+        return next;
+    }
+
+    /**
+     * 所有Future均完成后完成
+     * @param futures 要等待的Future列表
+     * @return 新的Future，结果为成功，通过{@link #KEY_RESULTS}获取所有结果的列表(与参数顺序一致)
+     */
+    public static CCFuture allOf(CCFuture... futures) {
+        final CCFuture all = new CCFuture(null);
+        if (futures == null || futures.length == 0) {
+            all.complete(CCResult.success(KEY_RESULTS, new ArrayList<CCResult>(0)));
+            return all;
+        }
+        final CCResult[] results = new CCResult[futures.length];
+        final AtomicInteger remain = new AtomicInteger(futures.length);
+        for (int i = 0; i < futures.length; i++) {
+            final int index = i;
+            CCFuture future = futures[i];
+            if (future == null) {
+                future = completed(CCResult.defaultNullResult());
+            }
+            future.whenComplete(new OnCompleteListener() {
+                @Override
+                public void onComplete(CCResult result) {
+                    results[index] = result;
+                    if (remain.decrementAndGet() == 0) {
+                        all.complete(CCResult.success(KEY_RESULTS, new ArrayList<>(Arrays.asList(results))));
+                    }
+                }
+            });
+        }
+        return all;
+    }
+
+    /**
+     * 任意一个Future完成时完成
+     * @param futures Future列表
+     * @return 新的Future，结果为最先完成的结果
+     */
+    public static CCFuture anyOf(CCFuture... futures) {
+        final CCFuture any = new CCFuture(null);
+        if (futures == null || futures.length == 0) {
+            any.complete(CCResult.defaultNullResult());
+            return any;
+        }
+        OnCompleteListener listener = new OnCompleteListener() {
+            @Override
+            public void onComplete(CCResult result) {
+                any.complete(result);
+            }
+        };
+        for (CCFuture future : futures) {
+            if (future != null) {
+                future.whenComplete(listener);
+            }
+        }
+        return any;
+    }
+
+    /**
+     * 在超时计时器线程中延迟执行任务
+     * @param task 任务
+     * @param delay 延迟时间(ms)
+     * @return 可用于取消任务
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long delay) {
+        return getTimer().schedule(task, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledExecutorService getTimer() {
+        if (timer == null) {
+            synchronized (CCFuture.class) {
+                if (timer == null) {
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread thread = new Thread(r, "cc-future-timer");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                    timer = executor;
+                }
+            }
+        }
+        return timer;
+    }
+
+    /**
+     * Future完成时的监听
+     */
+    public interface OnCompleteListener {
+        void onComplete(CCResult result);
+    }
+
+    /**
+     * 结果转换器
+     */
+    public interface ResultMapper {
+        CCResult apply(CCResult result);
+    }
+
+    /**
+     * 根据上一步的结果创建下一个组件调用
+     */
+    public interface CallComposer {
+        /**
+         * @param result 上一步的结果
+         * @return 下一步要执行的CC对象(通过CC.obtainBuilder(...).build()创建)，返回null则直接使用上一步的结果
+         */
+        CC compose(CCResult result);
+    }
+}
@@ -0,0 +1,216 @@
+package com.billy.cc.core.component;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.view.Choreographer;
+
+import org.json.JSONObject;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 主线程任务的按帧调度：组件调用结果在主线程的回调、需要在主线程执行的组件调用等
+ * 通过{@link CC#enableFrameDispatcher(boolean)}开启，开启后：
+ *  1. 等待执行的任务合并到同一个消息中批量执行，而不是每个任务发送一个消息
+ *  2. 使用异步消息(API 22+)，不会被界面刷新时的同步屏障阻塞
+ *  3. 每帧(16.6ms)中执行任务的总时间有预算({@link CC#setFrameBudget(long)})，超出后剩余任务推迟到下一帧开始时执行
+ *     (API 16+对齐到Choreographer的帧回调，之前的版本延迟到下一帧的时间点)，期间新加入的任务也在下一帧中一起执行
+ * 任务按加入的顺序执行，执行情况通过内部组件"internal.cc.metrics"查询(action:"getMainThreadMetrics")
+ * @author billy.qi
+ */
+class CCMainThreadDispatcher {
+    /** 是否开启按帧调度 */
+    static volatile boolean ENABLED = false;
+    static final long DEFAULT_FRAME_BUDGET_MILLIS = 4;
+    private static final long FRAME_INTERVAL_NANOS = 16666667;
+    private static final int MSG_DISPATCH = 1;
+
+    private static volatile long frameBudgetNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FRAME_BUDGET_MILLIS);
+
+    private static final LinkedList<Runnable> PENDING = new LinkedList<>();
+    /** 是否已发送消息或注册了帧回调，需持有PENDING锁 */
+    private static boolean scheduled;
+    private static long postedCount;
+
+    //以下仅在主线程中访问
+    /** 当前帧的开始时间(System.nanoTime()) */
+    private static long frameStartNanos;
+    /** 当前帧中已执行任务的时间 */
+    private static long frameUsedNanos;
+
+    private static volatile long dispatchCount;
+    private static volatile long taskCount;
+    private static volatile long maxBatchSize;
+    private static volatile long budgetExceededCount;
+    private static volatile long deferredTaskCount;
+
+    private static final Handler HANDLER = new Handler(Looper.getMainLooper(), new Handler.Callback() {
+        @Override
+        public boolean handleMessage(Message msg) {
+            if (msg.what == MSG_DISPATCH) {
+                dispatch();
+                return true;
+            }
+            return false;
+        }
+    });
+
+    /**
+     * 设置每帧执行任务的时间预算
+     * @param millis 时间预算(毫秒)，小于等于0时恢复默认值{@link #DEFAULT_FRAME_BUDGET_MILLIS}
+     */
+    static void setFrameBudget(long millis) {
+        if (millis <= 0) {
+            millis = DEFAULT_FRAME_BUDGET_MILLIS;
+        }
+        frameBudgetNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * 加入任务，在主线程中按帧执行
+     */
+    static void post(Runnable runnable) {
+        boolean schedule;
+        synchronized (PENDING) {
+            PENDING.add(runnable);
+            postedCount++;
+            schedule = !scheduled;
+            scheduled = true;
+        }
+        if (schedule) {
+            sendDispatchMessage(0);
+        }
+    }
+
+    private static void sendDispatchMessage(long delayMillis) {
+        Message msg = HANDLER.obtainMessage(MSG_DISPATCH);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP_MR1) {
+            msg.setAsynchronous(true);
+        }
+        HANDLER.sendMessageDelayed(msg, delayMillis);
+    }
+
+    /**
+     * 在帧回调中执行，新的一帧开始
+     */
+    private static void onFrame(long frameTimeNanos) {
+        frameStartNanos = frameTimeNanos;
+        frameUsedNanos = 0;
+        dispatch();
+    }
+
+    /**
+     * 在主线程中执行等待中的任务，超出当前帧的时间预算后，剩余任务推迟到下一帧
+     */
+    private static void dispatch() {
+        long start = System.nanoTime();
+        if (start - frameStartNanos >= FRAME_INTERVAL_NANOS) {
+            frameStartNanos = start;
+            frameUsedNanos = 0;
+        }
+        long budget = frameBudgetNanos;
+        dispatchCount++;
+        int count = 0;
+        boolean deferred = false;
+        while (true) {
+            Runnable runnable;
+            synchronized (PENDING) {
+                runnable = PENDING.poll();
+                if (runnable == null) {
+                    scheduled = false;
+                    break;
+                }
+            }
+            boolean completed = false;
+            try {
+                runnable.run();
+                completed = true;
+            } finally {
+                count++;
+                if (!completed) {
+                    //任务抛出异常时，保证剩余的任务仍会被执行
+                    sendDispatchMessage(0);
+                }
+            }
+            if (frameUsedNanos + System.nanoTime() - start >= budget) {
+                int remaining;
+                synchronized (PENDING) {
+                    remaining = PENDING.size();
+                    if (remaining == 0) {
+                        scheduled = false;
+                    }
+                }
+                if (remaining > 0) {
+                    budgetExceededCount++;
+                    deferredTaskCount += remaining;
+                    deferred = true;
+                }
+                break;
+            }
+        }
+        frameUsedNanos += System.nanoTime() - start;
+        taskCount += count;
+        if (count > maxBatchSize) {
+            maxBatchSize = count;
+        }
+        if (deferred) {
+            postToNextFrame();
+        }
+    }
+
+    private static void postToNextFrame() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            FrameCallback.post();
+        } else {
+            long waitNanos = FRAME_INTERVAL_NANOS - (System.nanoTime() - frameStartNanos);
+            sendDispatchMessage(Math.max(TimeUnit.NANOSECONDS.toMillis(waitNanos), 1));
+        }
+    }
+
+    /**
+     * 单独的类，避免API 16以下加载Choreographer
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class FrameCallback implements Choreographer.FrameCallback {
+        private static final FrameCallback INSTANCE = new FrameCallback();
+
+        static void post() {
+            Choreographer.getInstance().postFrameCallback(INSTANCE);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            onFrame(frameTimeNanos);
+        }
+    }
+
+    /**
+     * 主线程任务的执行情况
+     *  posted: 加入的任务数
+     *  pending: 等待执行的任务数
+     *  dispatches: 批量执行的次数(消息及帧回调)
+     *  tasks: 已执行的任务数
+     *  maxBatchSize: 单次批量执行的最大任务数
+     *  budgetExceeded: 超出帧预算推迟到下一帧的次数
+     *  deferredTasks: 被推迟到下一帧的累计任务数
+     */
+    static JSONObject snapshot() throws Exception {
+        JSONObject json = new JSONObject();
+        json.put("enabled", ENABLED);
+        json.put("frameBudgetMillis", TimeUnit.NANOSECONDS.toMillis(frameBudgetNanos));
+        synchronized (PENDING) {
+            json.put("posted", postedCount);
+            json.put("pending", PENDING.size());
+        }
+        json.put("dispatches", dispatchCount);
+        json.put("tasks", taskCount);
+        json.put("maxBatchSize", maxBatchSize);
+        json.put("budgetExceeded", budgetExceededCount);
+        json.put("deferredTasks", deferredTaskCount);
+        return json;
+    }
+}
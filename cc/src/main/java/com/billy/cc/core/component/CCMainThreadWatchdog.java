@@ -0,0 +1,340 @@
+package com.billy.cc.core.component;
+
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 主线程同步调用检测（类似StrictMode）：记录在主线程中发起的每个同步组件调用的耗时、调用栈及路由<br>
+ * 同步调用会阻塞主线程直到收到调用结果（默认最长2秒），调用其它进程的组件时还要等待跨进程通信
+ *  1. 耗时超过阈值的调用为慢调用：输出警告日志（含发起调用的调用栈）并通知{@link Listener}
+ *  2. 开启{@link #setFailFast(boolean)}且处于debug模式（{@link CC#enableDebug(boolean)}）时，慢调用结束后抛出{@link MainThreadBlockedException}
+ *  3. 通过{@link #allowAsync(String, String, CCResult)}登记的调用不需要等待结果，在主线程同步调用时自动改为异步调用，并立即返回占位结果
+ * <pre>
+ *     CCMainThreadWatchdog.enable(50);
+ *     CCMainThreadWatchdog.setFailFast(true);
+ *     //埋点上报不需要等待结果
+ *     CCMainThreadWatchdog.allowAsync("ComponentStat", null, CCResult.success());
+ *     //最近的主线程同步调用记录
+ *     List&lt;CCMainThreadWatchdog.Record&gt; records = CCMainThreadWatchdog.getRecords();
+ * </pre>
+ * @author billy.qi
+ */
+public final class CCMainThreadWatchdog {
+    private static final String TAG = "CCMainThreadWatchdog";
+    /** 默认的慢调用阈值(毫秒) */
+    public static final long DEFAULT_THRESHOLD_MILLIS = 100;
+    /** 保留最近的调用记录数 */
+    public static final int MAX_RECORDS = 256;
+    /** 路由未知（自动改为异步调用时） */
+    public static final int ROUTE_UNKNOWN = -1;
+    private static final String[] ROUTE_NAMES = {"notFound", "local", "subProcess", "remote"};
+
+    /** 是否开启检测 */
+    static volatile boolean ENABLED = false;
+    private static volatile long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_THRESHOLD_MILLIS);
+    private static volatile boolean failFast;
+    private static volatile Listener listener;
+    /** 自动改为异步调用的占位结果，key为：组件名称 或 组件名称#action名称 */
+    private static final ConcurrentHashMap<String, CCResult> PLACEHOLDERS = new ConcurrentHashMap<>();
+    private static final LinkedList<Record> RECORDS = new LinkedList<>();
+    /** 主线程中执行中的同步调用（嵌套调用时有多个），仅在主线程中访问 */
+    private static final ArrayList<Watch> ACTIVE = new ArrayList<>();
+    private static final WatchListener WATCH_LISTENER = new WatchListener();
+
+    private CCMainThreadWatchdog() {
+    }
+
+    /**
+     * 慢调用通知，在主线程中执行
+     */
+    public interface Listener {
+        void onSlowCall(Record record);
+    }
+
+    /**
+     * 一次主线程同步调用的记录
+     */
+    public static final class Record {
+        public final String callId;
+        public final String componentName;
+        public final String actionName;
+        /** 调用路由：{@link ICCEventListener#ROUTE_LOCAL}等，自动改为异步调用时为{@link #ROUTE_UNKNOWN} */
+        public final int route;
+        /** 开始调用的时间(System.currentTimeMillis()) */
+        public final long startTime;
+        /** 阻塞主线程的时间(纳秒) */
+        public final long durationNanos;
+        /** 调用结果的code */
+        public final int code;
+        /** 是否已自动改为异步调用 */
+        public final boolean converted;
+        /** 是否超过阈值 */
+        public final boolean slow;
+        /** 发起调用的调用栈 */
+        public final Throwable stack;
+
+        Record(String callId, String componentName, String actionName, int route, long startTime
+                , long durationNanos, int code, boolean converted, boolean slow, Throwable stack) {
+            this.callId = callId;
+            this.componentName = componentName;
+            this.actionName = actionName;
+            this.route = route;
+            this.startTime = startTime;
+            this.durationNanos = durationNanos;
+            this.code = code;
+            this.converted = converted;
+            this.slow = slow;
+            this.stack = stack;
+        }
+
+        public String getRouteName() {
+            return route >= 0 && route < ROUTE_NAMES.length ? ROUTE_NAMES[route] : "unknown";
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s %s#%s route=%s blocked=%.3fms code=%d%s%s"
+                    , callId, componentName, actionName, getRouteName(), durationNanos / 1000000.0, code
+                    , converted ? " converted" : "", slow ? " SLOW" : "");
+        }
+    }
+
+    /**
+     * 慢调用在debug模式下开启{@link #setFailFast(boolean)}时抛出，异常的调用栈为发起调用的位置
+     */
+    public static class MainThreadBlockedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final transient Record record;
+
+        MainThreadBlockedException(Record record) {
+            super("main thread blocked by sync cc call: " + record);
+            this.record = record;
+            setStackTrace(record.stack.getStackTrace());
+        }
+
+        public Record getRecord() {
+            return record;
+        }
+    }
+
+    /**
+     * 以默认阈值开启检测
+     */
+    public static void enable() {
+        enable(DEFAULT_THRESHOLD_MILLIS);
+    }
+
+    /**
+     * 开启检测，已开启时更新阈值
+     * @param thresholdMillis 慢调用阈值(毫秒)
+     */
+    public static synchronized void enable(long thresholdMillis) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(thresholdMillis, 0));
+        if (!ENABLED) {
+            CCEventDispatcher.addListener(WATCH_LISTENER);
+            ENABLED = true;
+        }
+    }
+
+    /**
+     * 关闭检测，已有的调用记录保留
+     */
+    public static synchronized void disable() {
+        if (ENABLED) {
+            ENABLED = false;
+            CCEventDispatcher.removeListener(WATCH_LISTENER);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * 慢调用结束后是否抛出{@link MainThreadBlockedException}，仅在debug模式({@link CC#enableDebug(boolean)})下生效
+     */
+    public static void setFailFast(boolean enable) {
+        failFast = enable;
+    }
+
+    public static void setListener(Listener l) {
+        listener = l;
+    }
+
+    /**
+     * 登记不需要等待结果的调用：在主线程同步调用时自动改为异步调用，并立即返回占位结果的副本
+     * @param componentName 组件名称
+     * @param actionName action名称，为null时对该组件的所有action生效
+     * @param placeholder 占位结果，为null时取消登记
+     */
+    public static void allowAsync(String componentName, String actionName, CCResult placeholder) {
+        if (componentName == null) {
+            return;
+        }
+        String key = actionName == null ? componentName : componentName + "#" + actionName;
+        if (placeholder == null) {
+            PLACEHOLDERS.remove(key);
+        } else {
+            PLACEHOLDERS.put(key, placeholder.copy());
+        }
+    }
+
+    /**
+     * @return 最近的主线程同步调用记录（最多{@link #MAX_RECORDS}个），按调用结束的顺序排列
+     */
+    public static List<Record> getRecords() {
+        synchronized (RECORDS) {
+            return new ArrayList<>(RECORDS);
+        }
+    }
+
+    public static void clearRecords() {
+        synchronized (RECORDS) {
+            RECORDS.clear();
+        }
+    }
+
+    /**
+     * 在主线程中执行同步调用并记录
+     */
+    static CCResult call(CC cc) {
+        String componentName = cc.getComponentName();
+        String actionName = cc.getActionName();
+        CCResult placeholder = getPlaceholder(componentName, actionName);
+        if (placeholder != null) {
+            long startTime = System.currentTimeMillis();
+            long start = System.nanoTime();
+            String callId = cc.callAsync();
+            addRecord(new Record(callId, componentName, actionName, ROUTE_UNKNOWN, startTime
+                    , System.nanoTime() - start, placeholder.getCode(), true, false, null));
+            return placeholder.copy();
+        }
+        Watch watch = new Watch(cc);
+        ACTIVE.add(watch);
+        CCResult result;
+        try {
+            result = cc.callSync();
+        } finally {
+            ACTIVE.remove(ACTIVE.size() - 1);
+        }
+        long duration = System.nanoTime() - watch.startNanos;
+        boolean slow = duration >= thresholdNanos;
+        Record record = new Record(watch.callId, componentName, actionName, watch.route, watch.startTime
+                , duration, result.getCode(), false, slow, watch.stack);
+        addRecord(record);
+        if (slow) {
+            onSlowCall(record);
+        }
+        return result;
+    }
+
+    private static CCResult getPlaceholder(String componentName, String actionName) {
+        if (componentName == null || PLACEHOLDERS.isEmpty()) {
+            return null;
+        }
+        CCResult placeholder = null;
+        if (actionName != null) {
+            placeholder = PLACEHOLDERS.get(componentName + "#" + actionName);
+        }
+        if (placeholder == null) {
+            placeholder = PLACEHOLDERS.get(componentName);
+        }
+        return placeholder;
+    }
+
+    private static void addRecord(Record record) {
+        synchronized (RECORDS) {
+            if (RECORDS.size() >= MAX_RECORDS) {
+                RECORDS.removeFirst();
+            }
+            RECORDS.add(record);
+        }
+    }
+
+    private static void onSlowCall(Record record) {
+        Log.w(TAG, record.toString(), record.stack);
+        Listener l = listener;
+        if (l != null) {
+            try {
+                l.onSlowCall(record);
+            } catch (Throwable e) {
+                CCUtil.printStackTrace(e);
+            }
+        }
+        if (failFast && CC.DEBUG) {
+            throw new MainThreadBlockedException(record);
+        }
+    }
+
+    /**
+     * 执行中的同步调用
+     */
+    private static class Watch {
+        final CC cc;
+        final long startTime = System.currentTimeMillis();
+        final long startNanos = System.nanoTime();
+        final Throwable stack = new Throwable("sync cc call on main thread");
+        String callId;
+        int route = ROUTE_UNKNOWN;
+
+        Watch(CC cc) {
+            this.cc = cc;
+            //去掉检测本身的栈帧，从发起调用的位置开始
+            StackTraceElement[] elements = stack.getStackTrace();
+            int start = 0;
+            while (start < elements.length - 1 && isInternalFrame(elements[start])) {
+                start++;
+            }
+            StackTraceElement[] trimmed = new StackTraceElement[elements.length - start];
+            System.arraycopy(elements, start, trimmed, 0, trimmed.length);
+            stack.setStackTrace(trimmed);
+        }
+
+        private static boolean isInternalFrame(StackTraceElement element) {
+            String className = element.getClassName();
+            return className.startsWith(CCMainThreadWatchdog.class.getName())
+                    || className.equals(CC.class.getName()) && "call".equals(element.getMethodName());
+        }
+    }
+
+    /**
+     * 从调用事件中获取主线程同步调用的callId及路由
+     */
+    private static class WatchListener extends BaseCCEventListener {
+        @Override
+        public void callStart(CC cc, long nanoTime) {
+            Watch watch = find(cc);
+            if (watch != null) {
+                watch.callId = cc.getCallId();
+            }
+        }
+
+        @Override
+        public void routeResolved(CC cc, int route, long nanoTime) {
+            Watch watch = find(cc);
+            if (watch != null) {
+                watch.route = route;
+            }
+        }
+
+        private Watch find(CC cc) {
+            if (Looper.myLooper() != Looper.getMainLooper()) {
+                return null;
+            }
+            for (int i = ACTIVE.size() - 1; i >= 0; i--) {
+                Watch watch = ACTIVE.get(i);
+                if (watch.cc == cc) {
+                    return watch;
+                }
+            }
+            return null;
+        }
+    }
+}
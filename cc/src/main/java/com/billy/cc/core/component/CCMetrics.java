@@ -0,0 +1,479 @@
+package com.billy.cc.core.component;
+
+import com.billy.cc.core.component.annotation.AllProcess;
+import com.billy.cc.core.component.remote.IRemoteCCService;
+import com.billy.cc.core.component.remote.IRemoteCallback;
+import com.billy.cc.core.component.remote.RemoteCC;
+import com.billy.cc.core.component.remote.RemoteCCResult;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 组件调用统计：按组件名称及action名称记录调用次数、错误次数(按CCResult的code分类)、超时及取消次数，以及调用耗时的分布
+ * 通过{@link CC#enableMetrics(boolean)}开启，记录过程无锁：
+ *  1. 耗时分布使用对数-线性分桶(与HdrHistogram相同的分桶方式，相对误差约3%)，每个桶一个原子计数
+ *  2. 调用次数等计数器按线程分散到多个槽位，避免多线程竞争同一个原子变量
+ * 统计数据通过内部组件{@link #COMPONENT_NAME}查询，该组件在每个进程中均可调用：
+ * <pre>
+ *     //当前进程的统计数据
+ *     String json = CC.obtainBuilder("internal.cc.metrics").setActionName("getMetrics")
+ *          .build().call().getDataItem("metrics");
+ *     //当前进程及已连接的app内其它进程的统计数据，以及合并后的统计数据
+ *     String json = CC.obtainBuilder("internal.cc.metrics").setActionName("getAllMetrics")
+ *          .build().call().getDataItem("metrics");
+ *     //当前进程中各组件隔离舱的执行情况(不需要开启调用统计)，参考{@link CCBulkhead#snapshot()}
+ *     String json = CC.obtainBuilder("internal.cc.metrics").setActionName("getBulkheadMetrics")
+ *          .build().call().getDataItem("metrics");
+ *     //当前进程中主线程任务的按帧调度情况，参考{@link CCMainThreadDispatcher#snapshot()}
+ *     String json = CC.obtainBuilder("internal.cc.metrics").setActionName("getMainThreadMetrics")
+ *          .build().call().getDataItem("metrics");
+ * </pre>
+ * @author billy.qi
+ */
+class CCMetrics {
+    static final String COMPONENT_NAME = "internal.cc.metrics";
+    static final String ACTION_GET = "getMetrics";
+    static final String ACTION_GET_ALL = "getAllMetrics";
+    static final String ACTION_RESET = "resetMetrics";
+    static final String ACTION_GET_BULKHEADS = "getBulkheadMetrics";
+    static final String ACTION_GET_MAIN_THREAD = "getMainThreadMetrics";
+    static final String KEY_METRICS = "metrics";
+    /** 查询其它进程统计数据的超时时间(毫秒) */
+    static final String KEY_TIMEOUT = "timeout";
+    private static final long DEFAULT_AGGREGATE_TIMEOUT = 1000;
+    /** 内部组件的调用不计入统计 */
+    private static final String INTERNAL_PREFIX = "internal.cc.";
+
+    /** 是否开启调用统计 */
+    static volatile boolean ENABLED = false;
+
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<String, ActionMetrics>> METRICS
+            = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次调用，在调用结束时执行
+     * @param cc 组件调用
+     * @param result 调用结果
+     */
+    static void record(CC cc, CCResult result) {
+        String componentName = cc.getComponentName();
+        if (componentName == null || componentName.startsWith(INTERNAL_PREFIX)) {
+            return;
+        }
+        long micros = (System.nanoTime() - cc.startNanos) / 1000;
+        String actionName = cc.getActionName();
+        getActionMetrics(componentName, actionName == null ? "" : actionName).record(micros, result);
+    }
+
+    private static ActionMetrics getActionMetrics(String componentName, String actionName) {
+        ConcurrentHashMap<String, ActionMetrics> actions = METRICS.get(componentName);
+        if (actions == null) {
+            actions = new ConcurrentHashMap<>();
+            ConcurrentHashMap<String, ActionMetrics> old = METRICS.putIfAbsent(componentName, actions);
+            if (old != null) {
+                actions = old;
+            }
+        }
+        ActionMetrics metrics = actions.get(actionName);
+        if (metrics == null) {
+            metrics = new ActionMetrics();
+            ActionMetrics old = actions.putIfAbsent(actionName, metrics);
+            if (old != null) {
+                metrics = old;
+            }
+        }
+        return metrics;
+    }
+
+    static void reset() {
+        METRICS.clear();
+    }
+
+    /**
+     * 当前进程的统计数据：{"componentName": {"actionName": {统计数据}}}
+     */
+    static JSONObject snapshot() throws Exception {
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, ConcurrentHashMap<String, ActionMetrics>> component : METRICS.entrySet()) {
+            JSONObject actions = new JSONObject();
+            for (Map.Entry<String, ActionMetrics> action : component.getValue().entrySet()) {
+                actions.put(action.getKey(), action.getValue().snapshot().toJson());
+            }
+            json.put(component.getKey(), actions);
+        }
+        return json;
+    }
+
+    /**
+     * 汇总当前进程及已连接的app内其它进程的统计数据（不会为此建立新的跨进程连接）
+     * @param timeout 等待其它进程返回数据的超时时间(毫秒)
+     * @return {"processes": {"进程名称": 该进程的统计数据}, "merged": 合并后的统计数据}
+     */
+    static JSONObject aggregate(long timeout) throws Exception {
+        final Map<String, String> results = new HashMap<>();
+        String curProcessName = CCUtil.getCurProcessName();
+        results.put(curProcessName, snapshot().toString());
+        HashMap<String, IRemoteCCService> services = new HashMap<>();
+        for (String processName : ComponentManager.getComponentProcessNames()) {
+            IRemoteCCService service = RemoteCCService.getConnected(processName);
+            if (service != null && !processName.equals(curProcessName)) {
+                services.put(processName, service);
+            }
+        }
+        if (!services.isEmpty()) {
+            final CountDownLatch latch = new CountDownLatch(services.size());
+            RemoteCC remoteCC = new RemoteCC(CC.obtainBuilder(COMPONENT_NAME).setActionName(ACTION_GET).build());
+            for (Map.Entry<String, IRemoteCCService> entry : services.entrySet()) {
+                final String processName = entry.getKey();
+                try {
+                    entry.getValue().call(remoteCC, new IRemoteCallback.Stub() {
+                        @Override
+                        public void callback(RemoteCCResult remoteCCResult) {
+                            String metrics = remoteCCResult.toCCResult().getDataItem(KEY_METRICS);
+                            if (metrics != null) {
+                                synchronized (results) {
+                                    results.put(processName, metrics);
+                                }
+                            }
+                            latch.countDown();
+                        }
+                    });
+                } catch (Exception e) {
+                    CCUtil.printStackTrace(e);
+                    latch.countDown();
+                }
+            }
+            latch.await(timeout, TimeUnit.MILLISECONDS);
+        }
+        JSONObject processes = new JSONObject();
+        Map<String, Map<String, Snapshot>> merged = new HashMap<>();
+        synchronized (results) {
+            for (Map.Entry<String, String> entry : results.entrySet()) {
+                JSONObject metrics = new JSONObject(entry.getValue());
+                processes.put(entry.getKey(), metrics);
+                merge(merged, metrics);
+            }
+        }
+        JSONObject mergedJson = new JSONObject();
+        for (Map.Entry<String, Map<String, Snapshot>> component : merged.entrySet()) {
+            JSONObject actions = new JSONObject();
+            for (Map.Entry<String, Snapshot> action : component.getValue().entrySet()) {
+                actions.put(action.getKey(), action.getValue().toJson());
+            }
+            mergedJson.put(component.getKey(), actions);
+        }
+        JSONObject json = new JSONObject();
+        json.put("processes", processes);
+        json.put("merged", mergedJson);
+        return json;
+    }
+
+    private static void merge(Map<String, Map<String, Snapshot>> merged, JSONObject metrics) throws Exception {
+        Iterator<String> components = metrics.keys();
+        while (components.hasNext()) {
+            String componentName = components.next();
+            Map<String, Snapshot> mergedActions = merged.get(componentName);
+            if (mergedActions == null) {
+                mergedActions = new HashMap<>();
+                merged.put(componentName, mergedActions);
+            }
+            JSONObject actions = metrics.getJSONObject(componentName);
+            Iterator<String> actionNames = actions.keys();
+            while (actionNames.hasNext()) {
+                String actionName = actionNames.next();
+                Snapshot snapshot = mergedActions.get(actionName);
+                if (snapshot == null) {
+                    snapshot = new Snapshot();
+                    mergedActions.put(actionName, snapshot);
+                }
+                snapshot.add(actions.getJSONObject(actionName));
+            }
+        }
+    }
+
+    /**
+     * 对数-线性分桶：小于{@link #SUB_BUCKET_COUNT}的值每个值一个桶，
+     * 之后每个2的幂区间分为{@link #HALF_SUB_BUCKET_COUNT}个等宽的桶
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT >> 1;
+    /** 可记录的最大耗时(微秒)，约35分钟，超过的按此值记录 */
+    private static final long MAX_VALUE = (1L << 31) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) Math.max(value, 0);
+        }
+        if (value > MAX_VALUE) {
+            value = MAX_VALUE;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF_SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * 桶中的最大值，用于计算百分位
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+        long sub = index - shift * HALF_SUB_BUCKET_COUNT;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /** 计数器槽位数 */
+    private static final int STRIPES = stripeCount();
+    /** 每个槽位占用8个long(64字节)，避免不同槽位的伪共享 */
+    private static final int STRIPE_SIZE = 8;
+    private static final int CALLS = 0;
+    private static final int ERRORS = 1;
+    private static final int TIMEOUTS = 2;
+    private static final int CANCELS = 3;
+    private static final int TOTAL_MICROS = 4;
+    /** 按数组记录的错误码范围：[MIN_CODE, MIN_CODE + CODE_SLOTS) */
+    private static final int MIN_CODE = -16;
+    private static final int CODE_SLOTS = 32;
+
+    private static int stripeCount() {
+        int n = Runtime.getRuntime().availableProcessors();
+        int stripes = 1;
+        while (stripes < n && stripes < 8) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    /**
+     * 一个action的统计数据，所有方法均为无锁实现
+     */
+    static class ActionMetrics {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLongArray counters = new AtomicLongArray(STRIPES * STRIPE_SIZE);
+        private final AtomicLongArray codes = new AtomicLongArray(CODE_SLOTS);
+        /** 超出数组范围的错误码 */
+        private final ConcurrentHashMap<Integer, AtomicLong> otherCodes = new ConcurrentHashMap<>();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long micros, CCResult result) {
+            buckets.incrementAndGet(bucketIndex(micros));
+            int base = (int) (Thread.currentThread().getId() & (STRIPES - 1)) * STRIPE_SIZE;
+            counters.incrementAndGet(base + CALLS);
+            counters.addAndGet(base + TOTAL_MICROS, micros);
+            if (result != null && !result.isSuccess()) {
+                counters.incrementAndGet(base + ERRORS);
+                int code = result.getCode();
+                if (code == CCResult.CODE_ERROR_TIMEOUT) {
+                    counters.incrementAndGet(base + TIMEOUTS);
+                } else if (code == CCResult.CODE_ERROR_CANCELED) {
+                    counters.incrementAndGet(base + CANCELS);
+                }
+                int slot = code - MIN_CODE;
+                if (slot >= 0 && slot < CODE_SLOTS) {
+                    codes.incrementAndGet(slot);
+                } else {
+                    recordOtherCode(code);
+                }
+            }
+            long currentMax;
+            while (micros > (currentMax = max.get())) {
+                if (max.compareAndSet(currentMax, micros)) {
+                    break;
+                }
+            }
+        }
+
+        private void recordOtherCode(int code) {
+            AtomicLong count = otherCodes.get(code);
+            if (count == null) {
+                count = new AtomicLong();
+                AtomicLong old = otherCodes.putIfAbsent(code, count);
+                if (old != null) {
+                    count = old;
+                }
+            }
+            count.incrementAndGet();
+        }
+
+        private long sum(int counter) {
+            long sum = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                sum += counters.get(i * STRIPE_SIZE + counter);
+            }
+            return sum;
+        }
+
+        Snapshot snapshot() {
+            Snapshot snapshot = new Snapshot();
+            snapshot.calls = sum(CALLS);
+            snapshot.errors = sum(ERRORS);
+            snapshot.timeouts = sum(TIMEOUTS);
+            snapshot.cancels = sum(CANCELS);
+            snapshot.totalMicros = sum(TOTAL_MICROS);
+            snapshot.max = max.get();
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                snapshot.buckets[i] = buckets.get(i);
+            }
+            for (int i = 0; i < CODE_SLOTS; i++) {
+                long count = codes.get(i);
+                if (count > 0) {
+                    snapshot.addCode(String.valueOf(i + MIN_CODE), count);
+                }
+            }
+            for (Map.Entry<Integer, AtomicLong> entry : otherCodes.entrySet()) {
+                snapshot.addCode(String.valueOf(entry.getKey()), entry.getValue().get());
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * 统计数据的快照，用于输出及合并多个进程的统计数据
+     */
+    static class Snapshot {
+        long calls;
+        long errors;
+        long timeouts;
+        long cancels;
+        long totalMicros;
+        long max;
+        final long[] buckets = new long[BUCKET_COUNT];
+        final Map<String, Long> errorCodes = new HashMap<>();
+
+        void addCode(String code, long count) {
+            Long old = errorCodes.get(code);
+            errorCodes.put(code, old == null ? count : old + count);
+        }
+
+        long percentile(double percent) {
+            long target = (long) Math.ceil(calls * percent / 100);
+            long count = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                count += buckets[i];
+                if (count >= target && count > 0) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * <pre>
+         * {"calls":100, "errors":2, "timeouts":1, "cancels":0, "errorCodes":{"-9":1, "1":1},
+         *  "totalUs":120000, "meanUs":1200, "maxUs":35000, "p50Us":800, "p90Us":2100, "p99Us":30000, "p999Us":35000,
+         *  "buckets":[桶下标, 次数, 桶下标, 次数, ...]}
+         * </pre>
+         */
+        JSONObject toJson() throws Exception {
+            JSONObject json = new JSONObject();
+            json.put("calls", calls);
+            json.put("errors", errors);
+            json.put("timeouts", timeouts);
+            json.put("cancels", cancels);
+            JSONObject codes = new JSONObject();
+            for (Map.Entry<String, Long> entry : errorCodes.entrySet()) {
+                codes.put(entry.getKey(), entry.getValue());
+            }
+            json.put("errorCodes", codes);
+            json.put("totalUs", totalMicros);
+            json.put("meanUs", calls == 0 ? 0 : totalMicros / calls);
+            json.put("maxUs", max);
+            json.put("p50Us", percentile(50));
+            json.put("p90Us", percentile(90));
+            json.put("p99Us", percentile(99));
+            json.put("p999Us", percentile(99.9));
+            JSONArray array = new JSONArray();
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                if (buckets[i] > 0) {
+                    array.put(i);
+                    array.put(buckets[i]);
+                }
+            }
+            json.put("buckets", array);
+            return json;
+        }
+
+        void add(JSONObject json) throws Exception {
+            calls += json.optLong("calls");
+            errors += json.optLong("errors");
+            timeouts += json.optLong("timeouts");
+            cancels += json.optLong("cancels");
+            totalMicros += json.optLong("totalUs");
+            max = Math.max(max, json.optLong("maxUs"));
+            JSONObject codes = json.optJSONObject("errorCodes");
+            if (codes != null) {
+                Iterator<String> keys = codes.keys();
+                while (keys.hasNext()) {
+                    String code = keys.next();
+                    addCode(code, codes.optLong(code));
+                }
+            }
+            JSONArray array = json.optJSONArray("buckets");
+            if (array != null) {
+                for (int i = 0; i + 1 < array.length(); i += 2) {
+                    int index = array.getInt(i);
+                    if (index >= 0 && index < BUCKET_COUNT) {
+                        buckets[index] += array.getLong(i + 1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 查询统计数据的内部组件，在每个进程中均可调用
+     */
+    @AllProcess
+    static class MetricsComponent implements IComponent {
+
+        @Override
+        public String getName() {
+            return COMPONENT_NAME;
+        }
+
+        @Override
+        public boolean onCall(CC cc) {
+            String actionName = cc.getActionName();
+            try {
+                switch (actionName) {
+                    case ACTION_GET:
+                        CC.sendCCResult(cc.getCallId(), CCResult.success(KEY_METRICS, snapshot().toString()));
+                        break;
+                    case ACTION_GET_ALL:
+                        long timeout = cc.getParamLong(KEY_TIMEOUT, DEFAULT_AGGREGATE_TIMEOUT);
+                        CC.sendCCResult(cc.getCallId(), CCResult.success(KEY_METRICS, aggregate(timeout).toString()));
+                        break;
+                    case ACTION_GET_BULKHEADS:
+                        CC.sendCCResult(cc.getCallId(), CCResult.success(KEY_METRICS, CCBulkhead.snapshot().toString()));
+                        break;
+                    case ACTION_GET_MAIN_THREAD:
+                        CC.sendCCResult(cc.getCallId(), CCResult.success(KEY_METRICS, CCMainThreadDispatcher.snapshot().toString()));
+                        break;
+                    case ACTION_RESET:
+                        reset();
+                        CC.sendCCResult(cc.getCallId(), CCResult.success());
+                        break;
+                    default:
+                        CC.sendCCResult(cc.getCallId(), CCResult.error("unsupported action:" + actionName));
+                        break;
+                }
+            } catch (Exception e) {
+                CC.sendCCResult(cc.getCallId(), CCResult.defaultExceptionResult(e));
+            }
+            return false;
+        }
+    }
+}
@@ -82,11 +82,13 @@ class CCMonitor {
                     long min = Long.MAX_VALUE;
                     long now = SystemClock.elapsedRealtime();
                     for (CC cc : CC_MAP.values()) {
-                        if (!cc.isFinished()) {
+                        //CC对象可能被回收复用，先记录状态戳，执行timeout时进行比对
+                        int stamp = cc.getStamp();
+                        if ((stamp & 1) == 0) {
                             long timeoutAt = cc.timeoutAt;
                             if (timeoutAt > 0) {
                                 if (timeoutAt < now) {
-                                    executeTimeout(cc);
+                                    executeTimeout(cc, stamp);
                                 } else if (timeoutAt < min) {
                                     min = timeoutAt;
                                 }
@@ -105,14 +107,15 @@ class CCMonitor {
          * 注意：如果处于程序调试状态和CC.DEBUG是true，
          * 两个都满足情况下，不执行超时 timeout()
          * @param cc
+         * @param stamp 检查超时时的状态戳
          */
-        private void executeTimeout(CC cc) {
+        private void executeTimeout(CC cc, int stamp) {
             if (!CC.DEBUG) {
-                cc.timeout();
+                cc.timeout(stamp);
                 return;
             }
             if (!Debug.isDebuggerConnected()) {
-                cc.timeout();
+                cc.timeout(stamp);
             }
         }
     }
@@ -83,6 +83,10 @@ public class CCResult {
      * 组件不支持该actionName
      */
     public static final int CODE_ERROR_UNSUPPORTED_ACTION_NAME = -12;
+    /**
+     * CC的线程池已满，调用被拒绝（过载保护），参考{@link CCThreadPool}
+     */
+    public static final int CODE_ERROR_REJECTED = -13;
 
     /**
      * CC调用是否成功
@@ -100,9 +104,13 @@ public class CCResult {
      */
     private int code;
     /**
-     * 储存返回结果信息
+     * 储存返回结果信息，基本类型的值不装箱存储
+     */
+    private ParamStore data;
+    /**
+     * 通过{@link #setDataMap(Map)}设置的返回信息，与调用方持有的是同一个Map对象（此时data为null）
      */
-    private Map<String, Object> data;
+    private Map<String, Object> dataMap;
 
     //下面提供一些便于构造的CCResult对象
 
@@ -132,7 +140,7 @@ public class CCResult {
         CCResult result = new CCResult();
         result.code = CODE_ERROR_BUSINESS;
         result.success = false;
-        result.data = new HashMap<>(4);
+        result.data = new ParamStore();
         result.data.put(key, value);
         return result;
     }
@@ -161,9 +169,7 @@ public class CCResult {
      * @return 构造的CCResult对象
      */
     public static CCResult success(String key, Object value) {
-        Map<String, Object> data = new HashMap<>(2);
-        data.put(key, value);
-        return success(data);
+        return success().addData(key, value);
     }
     /**
      * 快捷构建一个CC调用成功的CCResult
@@ -173,9 +179,7 @@ public class CCResult {
      * @return 构造的CCResult对象
      */
     public static CCResult successWithNoKey(Object value) {
-        Map<String, Object> data = new HashMap<>(2);
-        data.put(CC_NULL_KEY, value);
-        return success(data);
+        return success().addData(CC_NULL_KEY, value);
     }
     /**
      * 快捷构建一个CC调用成功的CCResult，只包含成功的状态，没有其它信息
@@ -198,7 +202,7 @@ public class CCResult {
         CCResult result = new CCResult();
         result.code = CODE_SUCCESS;
         result.success = true;
-        result.data = data;
+        result.setDataMap(data);
         return result;
     }
     static CCResult defaultNullResult() {
@@ -236,7 +240,7 @@ public class CCResult {
             result.success = json.optBoolean(KEY_SUCCESS);
             result.code = json.optInt(KEY_CODE);
             result.errorMessage = json.optString(KEY_ERROR_MESSAGE);
-            result.data = CCUtil.convertToMap(json.optJSONObject(KEY_DATA));
+            result.setDataMap(CCUtil.convertToMap(json.optJSONObject(KEY_DATA)));
         }
         return result;
     }
@@ -251,7 +255,7 @@ public class CCResult {
         putValue(json, KEY_SUCCESS, success);
         putValue(json, KEY_CODE, code);
         putValue(json, KEY_ERROR_MESSAGE, errorMessage);
-        putValue(json, KEY_DATA, CCUtil.convertToJson(data));
+        putValue(json, KEY_DATA, CCUtil.convertToJson(getDataMap()));
         try {
             return json.toString();
         } catch(Exception e) {
@@ -324,7 +328,7 @@ public class CCResult {
      */
     @Deprecated
     public JSONObject getData() {
-        return CCUtil.convertToJson(data);
+        return CCUtil.convertToJson(getDataMap());
     }
 
     /**
@@ -334,7 +338,7 @@ public class CCResult {
      */
     @Deprecated
     public void setData(JSONObject data) {
-        this.data = CCUtil.convertToMap(data);
+        setDataMap(CCUtil.convertToMap(data));
     }
 
     /**
@@ -342,7 +346,10 @@ public class CCResult {
      * @return 返回信息的内容
      */
     public Map<String, Object> getDataMap() {
-        return data;
+        if (dataMap != null) {
+            return dataMap;
+        }
+        return data == null ? null : data.asMap();
     }
 
     /**
@@ -387,9 +394,9 @@ public class CCResult {
      * @return 根据key取的value，进行泛型转换
      */
     public <T> T getDataItem(String key) {
-        if (data != null) {
+        if (dataMap != null || data != null) {
             try {
-                return (T) data.get(key);
+                return (T) (dataMap != null ? dataMap.get(key) : data.get(key));
             } catch(Exception e) {
                 CCUtil.printStackTrace(e);
             }
@@ -398,11 +405,79 @@ public class CCResult {
     }
 
     /**
-     * 设置组件调用的返回信息内容
+     * 获取返回data中int类型的信息
+     * @param key 需要取的key
+     * @param defaultValue 不存在或不是数值类型时返回的默认值
+     * @return 根据key取的value
+     */
+    public int getDataInt(String key, int defaultValue) {
+        if (dataMap != null) {
+            return ParamStore.intValue(dataMap.get(key), defaultValue);
+        }
+        return data == null ? defaultValue : data.getInt(key, defaultValue);
+    }
+
+    /**
+     * 获取返回data中long类型的信息
+     * @param key 需要取的key
+     * @param defaultValue 不存在或不是数值类型时返回的默认值
+     * @return 根据key取的value
+     */
+    public long getDataLong(String key, long defaultValue) {
+        if (dataMap != null) {
+            return ParamStore.longValue(dataMap.get(key), defaultValue);
+        }
+        return data == null ? defaultValue : data.getLong(key, defaultValue);
+    }
+
+    /**
+     * 获取返回data中double类型的信息
+     * @param key 需要取的key
+     * @param defaultValue 不存在或不是数值类型时返回的默认值
+     * @return 根据key取的value
+     */
+    public double getDataDouble(String key, double defaultValue) {
+        if (dataMap != null) {
+            return ParamStore.doubleValue(dataMap.get(key), defaultValue);
+        }
+        return data == null ? defaultValue : data.getDouble(key, defaultValue);
+    }
+
+    /**
+     * 获取返回data中boolean类型的信息
+     * @param key 需要取的key
+     * @param defaultValue 不存在或不是boolean类型时返回的默认值
+     * @return 根据key取的value
+     */
+    public boolean getDataBoolean(String key, boolean defaultValue) {
+        if (dataMap != null) {
+            return ParamStore.booleanValue(dataMap.get(key), defaultValue);
+        }
+        return data == null ? defaultValue : data.getBoolean(key, defaultValue);
+    }
+
+    /**
+     * 设置组件调用的返回信息内容（直接使用此Map对象，不复制，之后对其的修改对CCResult可见）
      * @param data 返回信息的内容
      */
     public void setDataMap(Map<String, Object> data) {
-        this.data = data;
+        this.dataMap = data;
+        this.data = null;
+    }
+
+    private void putData(String key, Object value) {
+        if (dataMap != null) {
+            dataMap.put(key, value);
+        } else {
+            obtainData().put(key, value);
+        }
+    }
+
+    private ParamStore obtainData() {
+        if (data == null) {
+            data = new ParamStore();
+        }
+        return data;
     }
 
     /**
@@ -412,10 +487,129 @@ public class CCResult {
      * @return CCResult对象，用于链式添加
      */
     public CCResult addData(String key, Object value) {
-        if (data == null) {
-            data = new HashMap<>(16);
+        putData(key, value);
+        return this;
+    }
+
+    /**
+     * 添加int类型的返回信息内容（不装箱存储）
+     * @param key 返回信息内容的key
+     * @param value 返回信息内容的value
+     * @return CCResult对象，用于链式添加
+     */
+    public CCResult addData(String key, int value) {
+        if (dataMap != null) {
+            dataMap.put(key, value);
+        } else {
+            obtainData().putInt(key, value);
+        }
+        return this;
+    }
+
+    /**
+     * 添加long类型的返回信息内容（不装箱存储）
+     * @param key 返回信息内容的key
+     * @param value 返回信息内容的value
+     * @return CCResult对象，用于链式添加
+     */
+    public CCResult addData(String key, long value) {
+        if (dataMap != null) {
+            dataMap.put(key, value);
+        } else {
+            obtainData().putLong(key, value);
+        }
+        return this;
+    }
+
+    /**
+     * 添加double类型的返回信息内容（不装箱存储）
+     * @param key 返回信息内容的key
+     * @param value 返回信息内容的value
+     * @return CCResult对象，用于链式添加
+     */
+    public CCResult addData(String key, double value) {
+        if (dataMap != null) {
+            dataMap.put(key, value);
+        } else {
+            obtainData().putDouble(key, value);
         }
-        data.put(key, value);
         return this;
     }
+
+    /**
+     * 添加boolean类型的返回信息内容（不装箱存储）
+     * @param key 返回信息内容的key
+     * @param value 返回信息内容的value
+     * @return CCResult对象，用于链式添加
+     */
+    public CCResult addData(String key, boolean value) {
+        if (dataMap != null) {
+            dataMap.put(key, value);
+        } else {
+            obtainData().putBoolean(key, value);
+        }
+        return this;
+    }
+
+    /**
+     * 添加char类型的返回信息内容，以Character对象存储（避免被自动转换为int/double类型）
+     * @param key 返回信息内容的key
+     * @param value 返回信息内容的value
+     * @return CCResult对象，用于链式添加
+     */
+    public CCResult addData(String key, char value) {
+        putData(key, Character.valueOf(value));
+        return this;
+    }
+
+    /**
+     * 添加byte类型的返回信息内容，以Byte对象存储（避免被自动转换为int/double类型）
+     * @param key 返回信息内容的key
+     * @param value 返回信息内容的value
+     * @return CCResult对象，用于链式添加
+     */
+    public CCResult addData(String key, byte value) {
+        putData(key, Byte.valueOf(value));
+        return this;
+    }
+
+    /**
+     * 添加short类型的返回信息内容，以Short对象存储（避免被自动转换为int/double类型）
+     * @param key 返回信息内容的key
+     * @param value 返回信息内容的value
+     * @return CCResult对象，用于链式添加
+     */
+    public CCResult addData(String key, short value) {
+        putData(key, Short.valueOf(value));
+        return this;
+    }
+
+    /**
+     * 添加float类型的返回信息内容，以Float对象存储（避免被自动转换为int/double类型）
+     * @param key 返回信息内容的key
+     * @param value 返回信息内容的value
+     * @return CCResult对象，用于链式添加
+     */
+    public CCResult addData(String key, float value) {
+        putData(key, Float.valueOf(value));
+        return this;
+    }
+
+    /**
+     * 复制一个新的CCResult对象（返回信息内容为浅拷贝）
+     * @return 新的CCResult对象
+     */
+    CCResult copy() {
+        CCResult result = new CCResult();
+        result.success = success;
+        result.code = code;
+        result.errorMessage = errorMessage;
+        if (dataMap != null) {
+            result.dataMap = new HashMap<>(dataMap);
+        } else if (data != null) {
+            result.data = new ParamStore();
+            result.data.putAll(data);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,320 @@
+package com.billy.cc.core.component;
+
+import android.os.SystemClock;
+
+import com.billy.cc.core.component.annotation.Cacheable;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 组件调用结果缓存（全局拦截器）
+ * 对组件类上通过{@link Cacheable}声明的action，组件名称、action及参数均相同的调用在有效期内直接返回缓存的结果，
+ * 不再调用组件（对于子进程中的组件，同时省去了跨进程通信）
+ * 缓存按最近最少使用(LRU)的顺序淘汰，缓存总大小(估算的字节数)不超过{@link #setMaxSize(long)}设置的值
+ * 使用方式：
+ * <pre>
+ *     CC.registerGlobalInterceptor(CCResultCache.getInstance());
+ * </pre>
+ * 优先级最低，在其它全局拦截器之后执行，以保证转发等拦截器处理后的调用才会命中缓存
+ * @author billy.qi
+ */
+public class CCResultCache implements IGlobalCCInterceptor, IResumableCCInterceptor {
+
+    /** 默认缓存总大小：1MB */
+    private static final long DEFAULT_MAX_SIZE = 1024 * 1024;
+    private static final int MAX_SIZE_OF_DEPTH = 8;
+
+    /**
+     * 组件名称 -> 组件类上的缓存声明，在组件注册时读取（所有进程中均记录，包括子进程中的组件）
+     * 延迟注册的组件在组件类加载后读取
+     */
+    private static final ConcurrentHashMap<String, Cacheable> POLICIES = new ConcurrentHashMap<>();
+
+    //-------------------------单例模式 start --------------
+    /** 单例模式Holder */
+    private static class CCResultCacheHolder {
+        private static final CCResultCache INSTANCE = new CCResultCache();
+    }
+    private CCResultCache(){}
+    /** 获取CCResultCache的单例对象 */
+    public static CCResultCache getInstance() {
+        return CCResultCacheHolder.INSTANCE;
+    }
+    //-------------------------单例模式 end --------------
+
+    private final LinkedHashMap<CallKey, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+    private long maxSize = DEFAULT_MAX_SIZE;
+    private long size;
+
+    /**
+     * 记录组件类上的缓存声明
+     * @param componentName 组件名称
+     * @param componentClass 组件类
+     */
+    static void registerPolicy(String componentName, Class<?> componentClass) {
+        Cacheable cacheable = componentClass.getAnnotation(Cacheable.class);
+        if (cacheable != null) {
+            POLICIES.put(componentName, cacheable);
+        } else {
+            POLICIES.remove(componentName);
+        }
+    }
+
+    private static Cacheable getPolicy(String componentName, String actionName) {
+        if (componentName == null) {
+            return null;
+        }
+        Cacheable cacheable = POLICIES.get(componentName);
+        if (cacheable == null) {
+            //延迟注册的组件尚未加载组件类，加载后再读取
+            if (!ComponentManager.resolveComponentClass(componentName)) {
+                return null;
+            }
+            cacheable = POLICIES.get(componentName);
+            if (cacheable == null) {
+                return null;
+            }
+        }
+        String[] actions = cacheable.action();
+        if (actions.length == 0) {
+            return cacheable;
+        }
+        for (String action : actions) {
+            if (action.equals(actionName)) {
+                return cacheable;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int priority() {
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public CCResult intercept(Chain chain) {
+        CC cc = chain.getCC();
+        Cacheable policy = getPolicy(cc.getComponentName(), cc.getActionName());
+        if (policy == null) {
+            return chain.proceed();
+        }
+        CallKey key = new CallKey(cc.getComponentName(), cc.getActionName(), cc.getParams());
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.refreshCC != cc) {
+            long age = SystemClock.elapsedRealtime() - entry.createdAt;
+            if (age < policy.ttlMs()) {
+                CC.verboseLog(cc.getCallId(), "hit result cache:" + key);
+                return entry.result.copy();
+            }
+            if (age < policy.ttlMs() + policy.staleMs()) {
+                CC.verboseLog(cc.getCallId(), "hit stale result cache:" + key);
+                refresh(entry, cc);
+                return entry.result.copy();
+            }
+        }
+        return chain.proceed();
+    }
+
+    @Override
+    public CCResult onResult(Chain chain, CCResult result) {
+        CC cc = chain.getCC();
+        if (getPolicy(cc.getComponentName(), cc.getActionName()) == null) {
+            return result;
+        }
+        CallKey key = new CallKey(cc.getComponentName(), cc.getActionName(), cc.getParams());
+        if (result != null && result.isSuccess()) {
+            put(key, result);
+        } else {
+            Entry entry;
+            synchronized (entries) {
+                entry = entries.get(key);
+            }
+            if (entry != null && entry.refreshCC == cc) {
+                //刷新失败，继续使用过期的缓存直到其失效
+                entry.refreshCC = null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 在后台重新调用组件刷新过期的缓存，同一个缓存同时只进行一次刷新
+     */
+    private void refresh(Entry entry, CC cc) {
+        CC refreshCC;
+        synchronized (entry) {
+            if (entry.refreshCC != null) {
+                return;
+            }
+            refreshCC = CC.obtainBuilder(cc.getComponentName())
+                    .setContext(cc.getContext())
+                    .setActionName(cc.getActionName())
+                    .setParams(entry.key.params)
+                    .setTimeout(Math.max(cc.getTimeout(), 0))
+                    .build();
+            entry.refreshCC = refreshCC;
+        }
+        refreshCC.callAsync();
+    }
+
+    private void put(CallKey key, CCResult result) {
+        Entry entry = new Entry(key, result.copy());
+        synchronized (entries) {
+            Entry old = entries.put(key, entry);
+            if (old != null) {
+                size -= old.size;
+            }
+            size += entry.size;
+            trimToSize();
+        }
+    }
+
+    private void trimToSize() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().size;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 设置缓存总大小的上限（按缓存内容估算的字节数）
+     * @param maxSize 缓存总大小的上限(bytes)
+     */
+    public void setMaxSize(long maxSize) {
+        synchronized (entries) {
+            this.maxSize = maxSize;
+            trimToSize();
+        }
+    }
+
+    /**
+     * 当前缓存的总大小（估算的字节数）
+     * @return 缓存总大小(bytes)
+     */
+    public long size() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    /**
+     * 清除指定组件的所有缓存
+     * @param componentName 组件名称
+     */
+    public void invalidate(String componentName) {
+        invalidate(componentName, null, false);
+    }
+
+    /**
+     * 清除指定组件中指定action的所有缓存
+     * @param componentName 组件名称
+     * @param actionName action名称
+     */
+    public void invalidate(String componentName, String actionName) {
+        invalidate(componentName, actionName, true);
+    }
+
+    private void invalidate(String componentName, String actionName, boolean matchAction) {
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (equals(componentName, entry.key.componentName)
+                        && (!matchAction || equals(actionName, entry.key.actionName))) {
+                    size -= entry.size;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * 清除所有缓存
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            size = 0;
+        }
+    }
+
+    private static boolean equals(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * 估算对象占用的字节数
+     */
+    private static long sizeOf(Object obj, int depth) {
+        if (obj == null) {
+            return 4;
+        }
+        if (depth > MAX_SIZE_OF_DEPTH) {
+            return 16;
+        }
+        if (obj instanceof CharSequence) {
+            return 40 + 2 * ((CharSequence) obj).length();
+        }
+        if (obj instanceof Number || obj instanceof Boolean || obj instanceof Character) {
+            return 16;
+        }
+        long size;
+        if (obj instanceof Map) {
+            size = 48;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+                size += 32 + sizeOf(entry.getKey(), depth + 1) + sizeOf(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        if (obj instanceof Collection) {
+            size = 40;
+            for (Object item : (Collection<?>) obj) {
+                size += 4 + sizeOf(item, depth + 1);
+            }
+            return size;
+        }
+        if (obj.getClass().isArray()) {
+            int length = Array.getLength(obj);
+            if (obj.getClass().getComponentType().isPrimitive()) {
+                return 16 + 8L * length;
+            }
+            size = 16;
+            for (int i = 0; i < length; i++) {
+                size += 4 + sizeOf(Array.get(obj, i), depth + 1);
+            }
+            return size;
+        }
+        //无法估算的对象，按固定大小计算
+        return 64;
+    }
+
+    private static class Entry {
+        final CallKey key;
+        final CCResult result;
+        final long createdAt;
+        final long size;
+        /**
+         * 正在刷新此缓存的调用
+         */
+        volatile CC refreshCC;
+
+        Entry(CallKey key, CCResult result) {
+            this.key = key;
+            this.result = result;
+            this.createdAt = SystemClock.elapsedRealtime();
+            this.size = 64 + sizeOf(key.componentName, 0) + sizeOf(key.actionName, 0)
+                    + sizeOf(key.params, 0) + sizeOf(result.getErrorMessage(), 0)
+                    + sizeOf(result.getDataMap(), 0);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.billy.cc.core.component;
+
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CC启动过程跟踪：以纳秒精度记录CC初始化各阶段的耗时，生成JSON格式的报告及一行汇总日志<br>
+ * 默认关闭，需要在CC相关的类加载之前开启，例如：
+ * <pre>
+ *     protected void attachBaseContext(Context base) {
+ *         super.attachBaseContext(base);
+ *         CCStartupTracer.enable();
+ *     }
+ * </pre>
+ * 启动完成后调用{@link #finish()}结束记录并打印汇总日志，通过{@link #getReport()}获取报告<br>
+ * 记录的阶段：<br>
+ *  {@link #PHASE_INIT_APPLICATION}: CC类加载时通过反射获取application对象<br>
+ *  {@link #PHASE_COMPONENT_REGISTER}: ComponentManager类加载时逐个注册组件的耗时（包含组件的构造方法）<br>
+ *  {@link #PHASE_COMPONENT_CREATE}: 延迟注册的组件创建组件对象的耗时<br>
+ *  {@link #PHASE_INTERCEPTOR_REGISTER}: GlobalCCInterceptorManager类加载时逐个注册全局拦截器的耗时（包含拦截器的构造方法）<br>
+ *  {@link #PHASE_CONVERTER_INIT}: 跨进程json转换器的初始化<br>
+ *  {@link #PHASE_PROCESS_NAME}: 查询当前进程名称<br>
+ *  {@link #PHASE_REMOTE_CC_SCAN}: 开启跨app调用时扫描设备上的组件app<br>
+ * 关闭时，各记录点只判断一个静态变量
+ * @author billy.qi
+ */
+public final class CCStartupTracer {
+    private static final String TAG = "ComponentCaller";
+
+    public static final String PHASE_INIT_APPLICATION = "cc.initApplication";
+    public static final String PHASE_COMPONENT_REGISTER = "component.register";
+    public static final String PHASE_COMPONENT_CREATE = "component.create";
+    public static final String PHASE_INTERCEPTOR_REGISTER = "interceptor.register";
+    public static final String PHASE_CONVERTER_INIT = "converter.init";
+    public static final String PHASE_PROCESS_NAME = "process.name";
+    public static final String PHASE_REMOTE_CC_SCAN = "remoteCC.scan";
+
+    /** 最多记录的阶段数，避免忘记调用finish()时无限增长 */
+    private static final int MAX_RECORDS = 4096;
+
+    private static volatile boolean enabled;
+    private static long enabledAt;
+    private static final ArrayList<Record> RECORDS = new ArrayList<>();
+    /** 按注册顺序计时的阶段：上一次注册结束的时间点 */
+    private static final HashMap<String, Long> MARKS = new HashMap<>();
+
+    private CCStartupTracer() {
+    }
+
+    /**
+     * 开启启动过程跟踪，需要在CC相关的类加载之前调用
+     */
+    public static synchronized void enable() {
+        if (!enabled) {
+            RECORDS.clear();
+            MARKS.clear();
+            enabledAt = System.nanoTime();
+            enabled = true;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 结束跟踪并打印一行汇总日志，之后的初始化过程不再记录
+     */
+    public static void finish() {
+        String summary;
+        synchronized (CCStartupTracer.class) {
+            if (!enabled) {
+                return;
+            }
+            enabled = false;
+            MARKS.clear();
+            summary = buildSummary();
+        }
+        Log.i(TAG, summary);
+    }
+
+    /**
+     * 获取JSON格式的启动过程报告，各时间点均为相对于{@link #enable()}调用时的纳秒数
+     * <pre>
+     * {
+     *   "totalNs": 12345678,
+     *   "phases": [{"phase":"component.register", "name":"ComponentA", "startNs":1000, "durationNs":2000, "thread":"main"}, ...],
+     *   "summary": {"component.register": {"count":10, "totalNs":20000, "maxNs":2000, "maxName":"ComponentA"}, ...}
+     * }
+     * </pre>
+     * @return 报告内容
+     */
+    public static synchronized String getReport() {
+        try {
+            JSONObject report = new JSONObject();
+            JSONArray phases = new JSONArray();
+            long total = 0;
+            for (Record record : RECORDS) {
+                JSONObject json = new JSONObject();
+                json.put("phase", record.phase);
+                json.put("name", record.name);
+                json.put("startNs", record.start - enabledAt);
+                json.put("durationNs", record.duration);
+                json.put("thread", record.thread);
+                phases.put(json);
+                total = Math.max(total, record.start + record.duration - enabledAt);
+            }
+            JSONObject summary = new JSONObject();
+            for (Stat stat : summarize().values()) {
+                JSONObject json = new JSONObject();
+                json.put("count", stat.count);
+                json.put("totalNs", stat.total);
+                json.put("maxNs", stat.max);
+                json.put("maxName", stat.maxName);
+                summary.put(stat.phase, json);
+            }
+            report.put("totalNs", total);
+            report.put("phases", phases);
+            report.put("summary", summary);
+            return report.toString();
+        } catch (Exception e) {
+            CCUtil.printStackTrace(e);
+            return null;
+        }
+    }
+
+    /**
+     * 开始计时，CC内部使用
+     * @return 开始的时间点，未开启跟踪时返回0
+     */
+    public static long begin() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * 结束计时并记录，CC内部使用
+     * @param phase 阶段
+     * @param name 名称，可以为null
+     * @param start {@link #begin()}的返回值
+     */
+    public static void end(String phase, String name, long start) {
+        if (start != 0 && enabled) {
+            record(phase, name, start, System.nanoTime());
+        }
+    }
+
+    /**
+     * 开始按注册顺序计时，CC内部使用
+     * 在注册代码所在的static块开头调用，之后每次调用{@link #lap(String, String)}记录与上一次注册的间隔，
+     * 由于注册代码先调用构造方法再调用注册方法，该间隔包含了构造方法的耗时
+     * @param phase 阶段
+     */
+    public static void mark(String phase) {
+        if (enabled) {
+            synchronized (CCStartupTracer.class) {
+                MARKS.put(phase, System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * 记录一次注册的耗时，CC内部使用
+     * @param phase 阶段，未调用{@link #mark(String)}或已调用{@link #unmark(String)}时不记录
+     * @param name 注册的名称
+     */
+    public static void lap(String phase, String name) {
+        if (enabled) {
+            long now = System.nanoTime();
+            synchronized (CCStartupTracer.class) {
+                Long start = MARKS.get(phase);
+                if (start != null) {
+                    record(phase, name, start, now);
+                    MARKS.put(phase, now);
+                }
+            }
+        }
+    }
+
+    /**
+     * 结束按注册顺序计时（static块中的注册代码执行完成），之后运行时的注册不再记录，CC内部使用
+     * @param phase 阶段
+     */
+    public static void unmark(String phase) {
+        if (enabled) {
+            synchronized (CCStartupTracer.class) {
+                MARKS.remove(phase);
+            }
+        }
+    }
+
+    private static synchronized void record(String phase, String name, long start, long end) {
+        if (enabled && RECORDS.size() < MAX_RECORDS) {
+            RECORDS.add(new Record(phase, name, start, end - start, Thread.currentThread().getName()));
+        }
+    }
+
+    private static Map<String, Stat> summarize() {
+        Map<String, Stat> stats = new LinkedHashMap<>();
+        for (Record record : RECORDS) {
+            Stat stat = stats.get(record.phase);
+            if (stat == null) {
+                stat = new Stat(record.phase);
+                stats.put(record.phase, stat);
+            }
+            stat.count++;
+            stat.total += record.duration;
+            if (record.duration > stat.max) {
+                stat.max = record.duration;
+                stat.maxName = record.name;
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 汇总日志，例如：
+     * CC startup: 35.20ms | cc.initApplication 1 in 0.80ms | component.register 12 in 20.15ms (max: ComponentA 9.02ms) | ...
+     */
+    private static String buildSummary() {
+        long total = 0;
+        for (Record record : RECORDS) {
+            total = Math.max(total, record.start + record.duration - enabledAt);
+        }
+        StringBuilder sb = new StringBuilder("CC startup: ").append(millis(total));
+        for (Stat stat : summarize().values()) {
+            sb.append(" | ").append(stat.phase).append(' ').append(stat.count)
+                    .append(" in ").append(millis(stat.total));
+            if (stat.count > 1 && stat.maxName != null) {
+                sb.append(" (max: ").append(stat.maxName).append(' ').append(millis(stat.max)).append(')');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.US, "%.2fms", nanos / 1000000D);
+    }
+
+    private static class Record {
+        final String phase;
+        final String name;
+        final long start;
+        final long duration;
+        final String thread;
+
+        Record(String phase, String name, long start, long duration, String thread) {
+            this.phase = phase;
+            this.name = name;
+            this.start = start;
+            this.duration = duration;
+            this.thread = thread;
+        }
+    }
+
+    private static class Stat {
+        final String phase;
+        int count;
+        long total;
+        long max;
+        String maxName;
+
+        Stat(String phase) {
+            this.phase = phase;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.billy.cc.core.component;
+
+import android.os.SystemClock;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link CCThreadPool}的等待队列，有长度上限，按以下顺序出队：
+ *  1. 非组件调用的任务(例如：已开始的调用收到结果后的后续处理)，先于所有组件调用
+ *  2. 组件调用按优先级({@link CC.Builder#setPriority(int)})从高到低
+ *  3. 同一优先级中截止时间(cc.timeoutAt)最早的优先，没有超时时间的排在最后
+ *  4. 以上均相同时先进先出
+ * 出队时已超过截止时间的调用不再执行，直接以超时结束({@link CCThreadPool.Sheddable#expire()})
+ * @author billy.qi
+ */
+class CCTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+    /** 非组件调用的任务的优先级 */
+    private static final int SYSTEM_PRIORITY = Integer.MAX_VALUE;
+
+    private static final Comparator<Node> ORDER = new Comparator<Node>() {
+        @Override
+        public int compare(Node o1, Node o2) {
+            if (o1.priority != o2.priority) {
+                return o1.priority > o2.priority ? -1 : 1;
+            }
+            if (o1.deadline != o2.deadline) {
+                return o1.deadline < o2.deadline ? -1 : 1;
+            }
+            return o1.sequence < o2.sequence ? -1 : (o1.sequence == o2.sequence ? 0 : 1);
+        }
+    };
+
+    private final int capacity;
+    private final PriorityQueue<Node> queue = new PriorityQueue<>(16, ORDER);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private long sequence;
+
+    CCTaskQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    private static class Node {
+        final Runnable task;
+        final int priority;
+        /** 截止时间(SystemClock.elapsedRealtime())，没有超时时间时为Long.MAX_VALUE */
+        final long deadline;
+        final long sequence;
+
+        Node(Runnable task, long sequence) {
+            this.task = task;
+            this.sequence = sequence;
+            if (task instanceof CCThreadPool.Sheddable) {
+                CC cc = ((CCThreadPool.Sheddable) task).getCC();
+                this.priority = cc.getPriority();
+                this.deadline = cc.timeoutAt > 0 ? cc.timeoutAt : Long.MAX_VALUE;
+            } else {
+                this.priority = SYSTEM_PRIORITY;
+                this.deadline = Long.MAX_VALUE;
+            }
+        }
+
+        boolean isExpired(long now) {
+            return deadline != Long.MAX_VALUE && deadline < now;
+        }
+    }
+
+    /**
+     * 已超过截止时间的调用：在线程池中执行此任务来结束调用，不执行组件
+     */
+    private static class ExpireTask implements Runnable {
+        private final CCThreadPool.Sheddable task;
+
+        ExpireTask(CCThreadPool.Sheddable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.expire();
+        }
+    }
+
+    /**
+     * 移出队首，需要持有锁
+     */
+    private Runnable dequeue() {
+        Node node = queue.poll();
+        if (node == null) {
+            return null;
+        }
+        notFull.signal();
+        if (node.isExpired(SystemClock.elapsedRealtime())) {
+            return new ExpireTask((CCThreadPool.Sheddable) node.task);
+        }
+        return node.task;
+    }
+
+    /**
+     * 移出队列中最不紧急的组件调用(优先级最低、截止时间最晚，同等情况下等待最久的)，用于{@link CCThreadPool#POLICY_SHED_OLDEST}
+     * @param incoming 将要入队的任务，若其比队列中所有的组件调用都更不紧急，则不移出
+     * @return 被移出的组件调用，没有可移出的则返回null
+     */
+    CCThreadPool.Sheddable removeLeastUrgent(Runnable incoming) {
+        lock.lock();
+        try {
+            Node victim = null;
+            for (Node node : queue) {
+                if (node.task instanceof CCThreadPool.Sheddable
+                        && (victim == null || isLessUrgent(node, victim))) {
+                    victim = node;
+                }
+            }
+            if (victim == null) {
+                return null;
+            }
+            if (incoming instanceof CCThreadPool.Sheddable && !isLessUrgent(victim, new Node(incoming, sequence))) {
+                return null;
+            }
+            queue.remove(victim);
+            notFull.signal();
+            return (CCThreadPool.Sheddable) victim.task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isLessUrgent(Node node, Node other) {
+        if (node.priority != other.priority) {
+            return node.priority < other.priority;
+        }
+        if (node.deadline != other.deadline) {
+            return node.deadline > other.deadline;
+        }
+        return node.sequence < other.sequence;
+    }
+
+    @Override
+    public boolean offer(Runnable runnable) {
+        if (runnable == null) {
+            throw new NullPointerException();
+        }
+        lock.lock();
+        try {
+            if (queue.size() >= capacity) {
+                return false;
+            }
+            queue.offer(new Node(runnable, sequence++));
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable runnable) throws InterruptedException {
+        offer(runnable, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean offer(Runnable runnable, long timeout, TimeUnit unit) throws InterruptedException {
+        if (runnable == null) {
+            throw new NullPointerException();
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            queue.offer(new Node(runnable, sequence++));
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            Runnable task;
+            while ((task = dequeue()) == null) {
+                notEmpty.await();
+            }
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Runnable task;
+            while ((task = dequeue()) == null) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            Node node = queue.peek();
+            return node == null ? null : node.task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            Iterator<Node> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().task == o) {
+                    iterator.remove();
+                    notFull.signal();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            queue.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        lock.lock();
+        try {
+            int count = 0;
+            Node node;
+            while (count < maxElements && (node = queue.poll()) != null) {
+                c.add(node.task);
+                count++;
+            }
+            if (count > 0) {
+                notFull.signalAll();
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 返回队列中任务的快照(不按出队顺序)
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> tasks;
+        lock.lock();
+        try {
+            tasks = new ArrayList<>(queue.size());
+            for (Node node : queue) {
+                tasks.add(node.task);
+            }
+        } finally {
+            lock.unlock();
+        }
+        final Iterator<Runnable> iterator = tasks.iterator();
+        return new Iterator<Runnable>() {
+            private Runnable current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                if (current == null) {
+                    throw new IllegalStateException();
+                }
+                CCTaskQueue.this.remove(current);
+                current = null;
+            }
+        };
+    }
+}
@@ -0,0 +1,204 @@
+package com.billy.cc.core.component;
+
+import android.os.Build;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CC默认的线程池：线程数及等待队列的长度都有上限，线程和队列都满时按拒绝策略处理：
+ *  {@link #POLICY_SHED}: 拒绝新的调用，调用以{@link CCResult#CODE_ERROR_REJECTED}结束
+ *  {@link #POLICY_SHED_OLDEST}: 拒绝队列中最不紧急的调用(以{@link CCResult#CODE_ERROR_REJECTED}结束)，新的调用进入队列
+ *  {@link #POLICY_CALLER_RUNS}: 在提交任务的线程中直接执行（可能是主线程）
+ * 队列中的任务按调用的优先级及截止时间出队，已超时的调用出队时直接结束，不再执行(详见{@link CCTaskQueue})
+ * 被拒绝的异步调用在发起调用的线程中回调（设置了在主线程回调的除外），收到{@link CCResult#CODE_ERROR_REJECTED}后请勿在回调中立即重试
+ * 线程池中的线程阻塞等待调用结果时(同步调用、CCFuture.get())，临时增加相同数量的线程(最多增加线程数上限个)，
+ * 避免所有线程都在等待队列中的任务而无法继续执行
+ * <pre>
+ *     CC.setExecutor(new CCThreadPool(32, 256, CCThreadPool.POLICY_SHED_OLDEST));
+ * </pre>
+ * @author billy.qi
+ */
+public class CCThreadPool implements Executor {
+    /** 拒绝新的调用 */
+    public static final int POLICY_SHED = 0;
+    /**
+     * 拒绝队列中最不紧急的调用：优先级最低、截止时间最晚的，同等情况下等待最久的
+     * 若新的调用比队列中的都更不紧急，则拒绝新的调用
+     */
+    public static final int POLICY_SHED_OLDEST = 1;
+    /** 在提交任务的线程中执行 */
+    public static final int POLICY_CALLER_RUNS = 2;
+
+    public static final int DEFAULT_MAX_THREADS = 64;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * 可被拒绝的任务（新的调用），被{@link #POLICY_SHED_OLDEST}移出队列时调用{@link #shed()}
+     */
+    interface Sheddable extends Runnable {
+        /**
+         * 任务对应的调用，用于按优先级及截止时间排序
+         */
+        CC getCC();
+
+        /**
+         * 任务被拒绝，以{@link CCResult#CODE_ERROR_REJECTED}结束调用
+         */
+        void shed();
+
+        /**
+         * 出队时调用已超时，以{@link CCResult#CODE_ERROR_TIMEOUT}结束调用
+         */
+        void expire();
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final int maxThreads;
+    private final int policy;
+    private final AtomicLong rejectedCount = new AtomicLong();
+    /** 正在阻塞等待的线程数 */
+    private int blockedCount;
+
+    public CCThreadPool() {
+        this(DEFAULT_MAX_THREADS, DEFAULT_QUEUE_CAPACITY, POLICY_SHED);
+    }
+
+    /**
+     * @param maxThreads 线程数上限（不含阻塞等待时临时增加的线程）
+     * @param queueCapacity 等待队列的长度
+     * @param policy 拒绝策略：{@link #POLICY_SHED}, {@link #POLICY_SHED_OLDEST}, {@link #POLICY_CALLER_RUNS}
+     */
+    public CCThreadPool(int maxThreads, int queueCapacity, int policy) {
+        if (maxThreads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("maxThreads and queueCapacity should > 0");
+        }
+        this.maxThreads = maxThreads;
+        this.policy = policy;
+        executor = new ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS
+                , new CCTaskQueue(queueCapacity), new WorkerFactory(), new RejectHandler());
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.GINGERBREAD) {
+            //空闲的核心线程超时后退出（API 9），低版本上线程创建后常驻
+            executor.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    /**
+     * @throws RejectedExecutionException 按拒绝策略拒绝了此任务
+     */
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    /** 当前线程数 */
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    /** 队列中等待执行的任务数 */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /** 正在阻塞等待调用结果的线程数 */
+    public synchronized int getBlockedCount() {
+        return blockedCount;
+    }
+
+    /** 累计拒绝的任务数 */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * 当前线程开始阻塞等待，如果是CCThreadPool中的线程，线程池临时增加一个线程
+     * @return 是否为CCThreadPool中的线程，为true时需要在等待结束后调用{@link #endBlocking()}
+     */
+    static boolean beginBlocking() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof Worker) {
+            ((Worker) thread).pool.onBlocking(1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 当前线程结束阻塞等待
+     */
+    static void endBlocking() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof Worker) {
+            ((Worker) thread).pool.onBlocking(-1);
+        }
+    }
+
+    private synchronized void onBlocking(int delta) {
+        blockedCount += delta;
+        int size = maxThreads + Math.min(blockedCount, maxThreads);
+        if (size > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(size);
+            //增大核心线程数时，如果队列中有任务，会立即创建线程执行
+            executor.setCorePoolSize(size);
+        } else if (size < executor.getMaximumPoolSize()) {
+            //多出的线程在空闲时结束
+            executor.setCorePoolSize(size);
+            executor.setMaximumPoolSize(size);
+        }
+    }
+
+    private class RejectHandler implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor e) {
+            if (!e.isShutdown()) {
+                if (policy == POLICY_CALLER_RUNS) {
+                    r.run();
+                    return;
+                }
+                if (policy == POLICY_SHED_OLDEST && shedLeastUrgent(r, e) && e.getQueue().offer(r)) {
+                    return;
+                }
+            }
+            rejectedCount.incrementAndGet();
+            throw new RejectedExecutionException("cc thread pool is full");
+        }
+
+        /**
+         * 拒绝队列中最不紧急的新调用（继续执行中的调用的任务不会被拒绝）
+         */
+        private boolean shedLeastUrgent(Runnable incoming, ThreadPoolExecutor e) {
+            Sheddable task = ((CCTaskQueue) e.getQueue()).removeLeastUrgent(incoming);
+            if (task == null) {
+                return false;
+            }
+            rejectedCount.incrementAndGet();
+            task.shed();
+            return true;
+        }
+    }
+
+    private class WorkerFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Worker(CCThreadPool.this, r);
+            thread.setName("cc-pool-" + thread.getId());
+            return thread;
+        }
+    }
+
+    private static class Worker extends Thread {
+        final CCThreadPool pool;
+
+        Worker(CCThreadPool pool, Runnable r) {
+            super(r);
+            this.pool = pool;
+        }
+    }
+}
@@ -197,6 +197,7 @@ public class CCUtil {
         if (application == null) {
             return PROCESS_UNKNOWN;
         }
+        long start = CCStartupTracer.begin();
         try {
             ActivityManager manager = (ActivityManager) application.getSystemService(Context.ACTIVITY_SERVICE);
             if (manager != null) {
@@ -210,6 +211,8 @@ public class CCUtil {
             }
         } catch (Exception e){
             CCUtil.printStackTrace(e);
+        } finally {
+            CCStartupTracer.end(CCStartupTracer.PHASE_PROCESS_NAME, curProcessName, start);
         }
         return PROCESS_UNKNOWN;
     }
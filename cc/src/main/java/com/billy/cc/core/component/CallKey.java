@@ -0,0 +1,85 @@
+package com.billy.cc.core.component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 相同调用的判定依据：组件名称、action及参数（合并调用时还包括是否跳过全局拦截器）
+ * 参数的hash与参数的添加顺序无关，数组类型的参数按内容比较
+ * @author billy.qi
+ */
+class CallKey {
+    final String componentName;
+    final String actionName;
+    final Map<String, Object> params;
+    final boolean withoutGlobalInterceptor;
+    private final int hash;
+
+    CallKey(String componentName, String actionName, Map<String, Object> params) {
+        this(componentName, actionName, params, false);
+    }
+
+    CallKey(String componentName, String actionName, Map<String, Object> params, boolean withoutGlobalInterceptor) {
+        this.componentName = componentName;
+        this.actionName = actionName;
+        this.withoutGlobalInterceptor = withoutGlobalInterceptor;
+        //复制参数，调用方的CC对象结束后可能被回收复用
+        this.params = params == null ? new HashMap<String, Object>(0) : new HashMap<>(params);
+        int h = componentName == null ? 0 : componentName.hashCode();
+        h = 31 * h + (actionName == null ? 0 : actionName.hashCode());
+        h = 31 * h + (withoutGlobalInterceptor ? 1 : 0);
+        this.hash = 31 * h + paramsHash(this.params);
+    }
+
+    private static int paramsHash(Map<String, Object> params) {
+        int h = 0;
+        for (Map.Entry<String, Object> entry : params.entrySet()) {
+            //与HashMap.hashCode()一致，各项求和，与顺序无关
+            h += entry.getKey().hashCode() ^ Arrays.deepHashCode(new Object[]{entry.getValue()});
+        }
+        return h;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CallKey)) {
+            return false;
+        }
+        CallKey other = (CallKey) obj;
+        if (hash != other.hash
+                || withoutGlobalInterceptor != other.withoutGlobalInterceptor
+                || !equals(componentName, other.componentName)
+                || !equals(actionName, other.actionName)
+                || params.size() != other.params.size()) {
+            return false;
+        }
+        for (Map.Entry<String, Object> entry : params.entrySet()) {
+            String key = entry.getKey();
+            if (!other.params.containsKey(key)) {
+                return false;
+            }
+            if (!Arrays.deepEquals(new Object[]{entry.getValue()}, new Object[]{other.params.get(key)})) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    @Override
+    public String toString() {
+        return componentName + "/" + actionName + "#" + Integer.toHexString(hash);
+    }
+}
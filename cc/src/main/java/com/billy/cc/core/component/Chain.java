@@ -1,62 +1,229 @@
 package com.billy.cc.core.component;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.billy.cc.core.component.InterceptorPipeline.EMPTY;
 
 /**
  * 组件调用链，用于管理拦截器的运行顺序
+ * 执行顺序：全局拦截器 -> 本次调用的自定义拦截器 -> 有效性校验 -> 路由拦截器(执行实际调用)
+ * 全局拦截器及路由拦截器均为预编译的管道({@link InterceptorPipeline})，调用链只持有其引用，不做复制
+ * 异步调用时，若执行中的拦截器都实现了{@link IResumableCCInterceptor}，调用链可以挂起等待组件的结果而不占用线程，
+ * 收到结果后由内向外依次执行各拦截器的{@link IResumableCCInterceptor#onResult(Chain, CCResult)}
  * @author billy.qi
  */
 public class Chain {
-    private final List<ICCInterceptor> interceptors = new ArrayList<>();
+    private ICCInterceptor[] globalInterceptors = EMPTY;
+    private List<ICCInterceptor> customInterceptors = Collections.emptyList();
+    private ICCInterceptor[] routeInterceptors = EMPTY;
     private final CC cc;
     private int index;
+    /** 收到结果后继续执行调用链的任务（由{@link ChainProcessor}设置），为null时不能挂起 */
+    private Runnable resumeTask;
+    /** 执行中的未实现{@link IResumableCCInterceptor}的拦截器数，大于0时不能挂起 */
+    private int blockingDepth;
+    /** 是否已挂起等待结果 */
+    private boolean suspended;
+    /** 挂起时已返回的各层拦截器(由内向外)，第一个为挂起等待结果的拦截器 */
+    private final ArrayList<ICCInterceptor> suspendedFrames = new ArrayList<>();
+    /** 挂起后需要等待的事件数：收到结果、调用链返回到{@link ChainProcessor}，都完成后才能继续执行 */
+    private final AtomicInteger resumeParties = new AtomicInteger();
+    private final Runnable wakeup = new Runnable() {
+        @Override
+        public void run() {
+            if (resumeParties.decrementAndGet() == 0) {
+                resumeTask.run();
+            }
+        }
+    };
 
     Chain(CC cc) {
         this.cc = cc;
         this.index = 0;
     }
 
-    void addInterceptors(Collection<? extends ICCInterceptor> interceptors) {
-        if (interceptors != null && !interceptors.isEmpty()) {
-            this.interceptors.addAll(interceptors);
+    /**
+     * 重置调用链，用于CC对象的复用
+     */
+    void reset() {
+        this.globalInterceptors = EMPTY;
+        this.customInterceptors = Collections.emptyList();
+        this.routeInterceptors = EMPTY;
+        this.index = 0;
+        this.resumeTask = null;
+        this.blockingDepth = 0;
+        this.suspended = false;
+        this.suspendedFrames.clear();
+    }
+
+    /**
+     * 设置收到结果后继续执行调用链的任务，设置后调用链可以挂起等待结果
+     */
+    void setResumeTask(Runnable resumeTask) {
+        this.resumeTask = resumeTask;
+    }
+
+    /**
+     * 准备挂起调用链等待结果
+     * @return 收到结果后需要执行的任务(用于{@link CC#wait4ResultAsync(Runnable)})，不能挂起时返回null
+     */
+    Runnable prepareSuspend() {
+        if (resumeTask == null || blockingDepth > 0) {
+            return null;
+        }
+        resumeParties.set(2);
+        return wakeup;
+    }
+
+    boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * 挂起的调用链已返回到{@link ChainProcessor}
+     * @return 是否已收到结果，为true时由当前线程调用{@link #resume()}继续执行
+     */
+    boolean onUnwound() {
+        return resumeParties.decrementAndGet() == 0;
+    }
+
+    /**
+     * 收到结果后，由内向外执行已挂起的各层拦截器的后续处理
+     * @return 调用链的最终结果
+     */
+    CCResult resume() {
+        CCResult result = cc.getResult();
+        if (CC.VERBOSE_LOG) {
+            CC.verboseLog(cc.getCallId(), "resume interceptor chain with CCResult:" + result);
+        }
+        for (int i = 0; i < suspendedFrames.size(); i++) {
+            ICCInterceptor interceptor = suspendedFrames.get(i);
+            //挂起点之外的各层拦截器都调用了chain.proceed()
+            if (i > 0 && interceptor instanceof IResumableCCInterceptor) {
+                result = onResult((IResumableCCInterceptor) interceptor, result);
+            }
+            result = endInterceptor(interceptor, result);
+        }
+        suspendedFrames.clear();
+        suspended = false;
+        return result;
+    }
+
+    void setGlobalInterceptors(ICCInterceptor[] interceptors) {
+        this.globalInterceptors = interceptors == null ? EMPTY : interceptors;
+    }
+
+    void setCustomInterceptors(List<ICCInterceptor> interceptors) {
+        if (interceptors != null) {
+            this.customInterceptors = interceptors;
         }
     }
-    void addInterceptor(ICCInterceptor interceptor) {
-        if (interceptor != null) {
-            this.interceptors.add(interceptor);
+
+    /**
+     * 有效性校验通过后，设置执行实际调用的拦截器
+     * @param interceptors 路由管道中的拦截器
+     */
+    void setRouteInterceptors(ICCInterceptor[] interceptors) {
+        this.routeInterceptors = interceptors == null ? EMPTY : interceptors;
+    }
+
+    private int size() {
+        //有效性校验拦截器固定在自定义拦截器之后
+        return globalInterceptors.length + customInterceptors.size() + 1 + routeInterceptors.length;
+    }
+
+    private ICCInterceptor interceptorAt(int position) {
+        if (position < globalInterceptors.length) {
+            return globalInterceptors[position];
+        }
+        position -= globalInterceptors.length;
+        int customSize = customInterceptors.size();
+        if (position < customSize) {
+            return customInterceptors.get(position);
+        }
+        position -= customSize;
+        if (position == 0) {
+            return ValidateInterceptor.getInstance();
         }
+        return routeInterceptors[position - 1];
     }
 
     public CCResult proceed() {
-        if (index >= interceptors.size()) {
+        if (index >= size()) {
             return CCResult.defaultNullResult();
         }
-        ICCInterceptor interceptor = interceptors.get(index++);
+        ICCInterceptor interceptor = interceptorAt(index++);
         //处理异常情况：如果为拦截器为null，则执行下一个
         if (interceptor == null) {
             return proceed();
         }
-        String name = interceptor.getClass().getName();
-        String callId = cc.getCallId();
         CCResult result;
         if (cc.isFinished()) {
             //timeout, cancel, CC.sendCCResult(callId, ccResult), cc.setResult, etc...
             result = cc.getResult();
         } else {
             if (CC.VERBOSE_LOG) {
-                CC.verboseLog(callId, "start interceptor:" + name + ", cc:" + cc);
+                CC.verboseLog(cc.getCallId(), "start interceptor:" + interceptor.getClass().getName() + ", cc:" + cc);
+            }
+            if (CCEventDispatcher.ENABLED) {
+                CCEventDispatcher.interceptorStart(cc, interceptor);
+            }
+            int position = index;
+            boolean resumable = interceptor instanceof IResumableCCInterceptor;
+            if (!resumable) {
+                blockingDepth++;
             }
             try {
                 result = interceptor.intercept(this);
             } catch(Throwable e) {
                 //防止拦截器抛出异常
                 result = CCResult.defaultExceptionResult(e);
+            } finally {
+                if (!resumable) {
+                    blockingDepth--;
+                }
             }
-            if (CC.VERBOSE_LOG) {
-                CC.verboseLog(callId, "end interceptor:" + name + ".CCResult:" + result);
+            if (suspended || result == ChainProcessor.PENDING) {
+                //调用链已挂起等待结果，本层拦截器的后续处理在收到结果后执行
+                if (result != ChainProcessor.PENDING) {
+                    CC.logError("interceptor %s should return the result of chain.proceed() directly: %s"
+                            , interceptor.getClass().getName(), result);
+                }
+                suspended = true;
+                suspendedFrames.add(interceptor);
+                return ChainProcessor.PENDING;
             }
+            if (resumable && index > position) {
+                result = onResult((IResumableCCInterceptor) interceptor, result);
+            }
+            return endInterceptor(interceptor, result);
+        }
+        //拦截器理论上不应该返回null，但为了防止意外(自定义拦截器返回null，此处保持CCResult不为null
+        //消灭NPE
+        if (result == null) {
+            result = CCResult.defaultNullResult();
+        }
+        cc.setResult(result);
+        return result;
+    }
+
+    private CCResult onResult(IResumableCCInterceptor interceptor, CCResult result) {
+        try {
+            return interceptor.onResult(this, result);
+        } catch(Throwable e) {
+            return CCResult.defaultExceptionResult(e);
+        }
+    }
+
+    private CCResult endInterceptor(ICCInterceptor interceptor, CCResult result) {
+        if (CCEventDispatcher.ENABLED) {
+            CCEventDispatcher.interceptorEnd(cc, interceptor, result);
+        }
+        if (CC.VERBOSE_LOG) {
+            CC.verboseLog(cc.getCallId(), "end interceptor:" + interceptor.getClass().getName() + ".CCResult:" + result);
         }
         //拦截器理论上不应该返回null，但为了防止意外(自定义拦截器返回null，此处保持CCResult不为null
         //消灭NPE
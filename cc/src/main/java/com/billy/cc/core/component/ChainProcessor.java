@@ -1,20 +1,87 @@
 package com.billy.cc.core.component;
 
 import java.util.concurrent.Callable;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.Executor;
 
 /**
  * 启动拦截器调用链
  * @author billy.qi
  */
-class ChainProcessor implements Callable<CCResult> {
+class ChainProcessor implements Callable<CCResult>, CCThreadPool.Sheddable {
+
+    /**
+     * 非阻塞等待结果时的返回值，表示结果将由{@link #resumeRunnable}在收到结果后处理
+     */
+    static final CCResult PENDING = new CCResult();
+
+    /** 执行拦截器调用链 */
+    static final int MODE_CHAIN = 0;
+    /** 快速通道：跳过调用链，直接调用组件 */
+    static final int MODE_EXPRESS = 1;
+    /** 合并调用：等待执行中的相同调用的结果 */
+    static final int MODE_SINGLE_FLIGHT = 2;
 
     private final Chain chain;
+    private int mode;
+    /**
+     * 异步调用等待结果时，不占用线程，收到结果后执行此任务完成调用
+     * 在调用链中挂起时，先由内向外执行各拦截器的后续处理
+     */
+    private final Runnable resumeRunnable = new Runnable() {
+        @Override
+        public void run() {
+            CC cc = chain.getCC();
+            CC.verboseLog(cc.getCallId(), "resume with CCResult");
+            finish(cc, mode == MODE_CHAIN ? chain.resume() : cc.getResult());
+        }
+    };
 
     ChainProcessor(Chain chain) {
         this.chain = chain;
     }
 
+    void setMode(int mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * 在线程池中执行异步调用
+     */
+    @Override
+    public void run() {
+        try {
+            call();
+        } catch (Exception e) {
+            CCUtil.printStackTrace(e);
+        }
+    }
+
+    /**
+     * 线程池拒绝了此次异步调用
+     */
+    @Override
+    public void shed() {
+        CC cc = chain.getCC();
+        CC.verboseLog(cc.getCallId(), "rejected by thread pool");
+        finish(cc, CCResult.error(CCResult.CODE_ERROR_REJECTED));
+    }
+
+    /**
+     * 在线程池的队列中等待时已超时，不再执行
+     */
+    @Override
+    public void expire() {
+        CC cc = chain.getCC();
+        CC.verboseLog(cc.getCallId(), "expired in thread pool queue");
+        cc.timeout();
+        finish(cc, cc.getResult());
+    }
+
+    @Override
+    public CC getCC() {
+        return chain.getCC();
+    }
+
     @Override
     public CCResult call() throws Exception {
         CC cc = chain.getCC();
@@ -24,17 +91,27 @@ class ChainProcessor implements Callable<CCResult> {
         CCResult result;
         try {
             if (CC.VERBOSE_LOG) {
-                int poolSize = ((ThreadPoolExecutor) ComponentManager.CC_THREAD_POOL).getPoolSize();
-                CC.verboseLog(callId, "process cc at thread:"
-                        + Thread.currentThread().getName() + ", pool size=" + poolSize);
+                Executor executor = ComponentManager.getExecutor();
+                CC.verboseLog(callId, "process cc at thread:" + Thread.currentThread().getName()
+                        + (executor instanceof CCThreadPool ? ", pool size=" + ((CCThreadPool) executor).getPoolSize() : ""));
             }
             if (cc.isFinished()) {
                 //timeout, cancel, CC.sendCCResult(callId, ccResult)
                 result = cc.getResult();
             } else {
                 try {
-                    CC.verboseLog(callId, "start interceptor chain");
-                    result = chain.proceed();
+                    if (mode == MODE_EXPRESS) {
+                        CC.verboseLog(callId, "start express call");
+                        result = callExpress(cc);
+                    } else if (mode == MODE_SINGLE_FLIGHT) {
+                        CC.verboseLog(callId, "wait for in-flight call");
+                        result = waitInFlight(cc);
+                    } else {
+                        CC.verboseLog(callId, "start interceptor chain");
+                        //异步调用时，调用链中的拦截器都支持时可以挂起等待结果
+                        chain.setResumeTask(cc.isAsync() ? resumeRunnable : null);
+                        result = chain.proceed();
+                    }
                     if (CC.VERBOSE_LOG) {
                         CC.verboseLog(callId, "end interceptor chain.CCResult:" + result);
                     }
@@ -44,15 +121,78 @@ class ChainProcessor implements Callable<CCResult> {
             }
         } catch(Exception e) {
             result = CCResult.defaultExceptionResult(e);
-        } finally {
-            CCMonitor.removeById(callId);
+        }
+        if (result == PENDING) {
+            if (mode != MODE_CHAIN || !chain.onUnwound()) {
+                //结果将通过resumeRunnable处理，当前线程直接返回
+                return null;
+            }
+            //调用链返回之前已收到结果，在当前线程中继续执行
+            result = chain.resume();
+        }
+        return finish(cc, result);
+    }
+
+    /**
+     * 快速通道：没有拦截器需要执行，根据预编译的路由直接调用组件
+     * 异步调用时，等待结果的过程不占用线程
+     */
+    private CCResult callExpress(CC cc) {
+        Runnable continuation = cc.isAsync() ? resumeRunnable : null;
+        InterceptorPipeline pipeline = InterceptorPipeline.forComponent(cc);
+        if (CCEventDispatcher.ENABLED) {
+            CCEventDispatcher.routeResolved(cc, pipeline.route);
+        }
+        switch (pipeline.route) {
+            case InterceptorPipeline.ROUTE_LOCAL:
+                return LocalCCInterceptor.getInstance().callExpress(cc, continuation);
+            case InterceptorPipeline.ROUTE_SUB_PROCESS:
+                return SubProcessCCInterceptor.getInstance().callExpress(cc, continuation);
+            case InterceptorPipeline.ROUTE_REMOTE:
+                return RemoteCCInterceptor.getInstance().callExpress(cc, continuation);
+            default:
+                CC.verboseLog(cc.getCallId(),"componentName=" + cc.getComponentName()
+                        + " is not exists and CC.enableRemoteCC is " + CC.isRemoteCCEnabled());
+                return CCResult.error(CCResult.CODE_ERROR_NO_COMPONENT_FOUND);
+        }
+    }
+
+    /**
+     * 合并调用：等待共享调用的结果，或自身超时、被取消
+     * 异步调用时，等待结果的过程不占用线程
+     */
+    private CCResult waitInFlight(CC cc) {
+        if (cc.isAsync()) {
+            if (cc.wait4ResultAsync(resumeRunnable)) {
+                return PENDING;
+            }
+        } else {
+            cc.wait4Result();
+        }
+        return cc.getResult();
+    }
+
+    private static CCResult finish(CC cc, CCResult result) {
+        CCMonitor.removeById(cc.getCallId());
+        if (cc.flight != null) {
+            SingleFlight.leave(cc);
         }
         //返回的结果，永不为null，默认为CCResult.defaultNullResult()
         if (result == null) {
             result = CCResult.defaultNullResult();
         }
+        if (CCMetrics.ENABLED && cc.startNanos != 0) {
+            CCMetrics.record(cc, result);
+        }
+        if (CCEventDispatcher.ENABLED) {
+            CCEventDispatcher.callEnd(cc, result);
+        }
         //调用请求处理完成后，CC对象中不存储CCResult
         cc.setResult(null);
+        CCFuture future = cc.getFuture();
+        if (future != null) {
+            future.complete(result);
+        }
         performCallback(cc, result);
         return result;
     }
@@ -74,6 +214,9 @@ class ChainProcessor implements Callable<CCResult> {
             } catch(Exception e) {
                 CCUtil.printStackTrace(e);
             }
+            if (CCEventDispatcher.ENABLED) {
+                CCEventDispatcher.callbackDelivered(cc, result);
+            }
         }
     }
     private static class CallbackRunnable implements Runnable {
@@ -94,6 +237,9 @@ class ChainProcessor implements Callable<CCResult> {
             } catch(Exception e) {
                 CCUtil.printStackTrace(e);
             }
+            if (CCEventDispatcher.ENABLED) {
+                CCEventDispatcher.callbackDelivered(cc, result);
+            }
         }
     }
 }
@@ -0,0 +1,74 @@
+package com.billy.cc.core.component;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 当前进程中已注册的组件
+ * 延迟注册的组件（由cc-register插件按类名注册）在第一次被调用时才加载组件类并创建组件对象
+ * 创建过程无锁：多个线程同时创建时，只有第一个创建成功的组件对象会被使用
+ * @author billy.qi
+ */
+class ComponentHolder {
+    private static final AtomicReferenceFieldUpdater<ComponentHolder, IComponent> UPDATER
+            = AtomicReferenceFieldUpdater.newUpdater(ComponentHolder.class, IComponent.class, "component");
+
+    final String name;
+    final String className;
+    /** 组件所在的进程名称，{@link ComponentManager#ALL_PROCESS}代表所有进程 */
+    final String processName;
+    final ActionTable actionTable;
+    private volatile IComponent component;
+
+    ComponentHolder(String name, IComponent component, String processName, ActionTable actionTable) {
+        this.name = name;
+        this.className = component.getClass().getName();
+        this.processName = processName;
+        this.actionTable = actionTable;
+        this.component = component;
+    }
+
+    ComponentHolder(String name, String className, String processName, ActionTable actionTable) {
+        this.name = name;
+        this.className = className;
+        this.processName = processName;
+        this.actionTable = actionTable;
+    }
+
+    /**
+     * 获取组件对象，延迟注册的组件在第一次获取时创建
+     * @return 组件对象，创建失败时返回null
+     */
+    IComponent get() {
+        IComponent component = this.component;
+        if (component != null) {
+            return component;
+        }
+        long start = CCStartupTracer.begin();
+        component = newInstance();
+        CCStartupTracer.end(CCStartupTracer.PHASE_COMPONENT_CREATE, className, start);
+        if (component == null) {
+            return null;
+        }
+        if (UPDATER.compareAndSet(this, null, component)) {
+            ComponentManager.onComponentCreated(this, component);
+            return component;
+        }
+        //其它线程已先创建完成
+        return this.component;
+    }
+
+    private IComponent newInstance() {
+        try {
+            IComponent component = (IComponent) Class.forName(className).getDeclaredConstructor().newInstance();
+            if (!name.equals(component.getName())) {
+                CC.logError("lazy component " + className + " registered with name:" + name
+                        + ", but getName() returns:" + component.getName());
+            }
+            return component;
+        } catch (Throwable e) {
+            CC.logError("failed to create component:" + name + ", class:" + className);
+            CCUtil.printStackTrace(e);
+            return null;
+        }
+    }
+}
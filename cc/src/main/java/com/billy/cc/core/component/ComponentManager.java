@@ -7,14 +7,12 @@ import android.text.TextUtils;
 import com.billy.cc.core.component.annotation.AllProcess;
 import com.billy.cc.core.component.annotation.SubProcess;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-
-import static com.billy.cc.core.component.GlobalCCInterceptorManager.INTERCEPTORS;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 组件调用管理类
@@ -22,36 +20,70 @@ import static com.billy.cc.core.component.GlobalCCInterceptorManager.INTERCEPTOR
  * @since 17/6/28 20:14
  */
 class ComponentManager {
-    /** 当前进程中的组件集合 */
-    private static final ConcurrentHashMap<String, IComponent> COMPONENTS = new ConcurrentHashMap<>();
+    /** 当前进程中的组件集合（延迟注册的组件在第一次被调用时创建） */
+    private static final ConcurrentHashMap<String, ComponentHolder> COMPONENTS = new ConcurrentHashMap<>();
+    /**
+     * 延迟注册且尚未加载组件类的组件：组件名称 - 组件类名（所有进程中均记录，包括子进程中的组件）
+     */
+    private static final ConcurrentHashMap<String, String> UNRESOLVED_CLASS_NAMES = new ConcurrentHashMap<>();
+    /** 组件的进程名称：组件类上有{@link AllProcess}注解，在所有进程中均可调用 */
+    static final String ALL_PROCESS = "*";
+    /**
+     * 已注册但尚未确定是否属于当前进程的组件
+     * 获取当前进程名称需要跨进程查询，注册组件时不获取，在第一次查找组件时才确定当前进程中的组件
+     */
+    private static final ArrayList<ComponentHolder> PENDING_COMPONENTS = new ArrayList<>();
+    /** 是否已确定当前进程中的组件 */
+    private static volatile boolean localComponentsResolved;
     /**
      * 组件名称对应的进程名称集合
      * 当前进程为主进程：包含当前app内的所有静态组件和动态组件的（名称 - 进程名）的映射表
      * 当前进程为子进程：包含当前app内的所有静态组件和当前进程内注册的动态组件的（名称 - 进程名）的映射表
      */
     private static final ConcurrentHashMap<String, String> COMPONENT_PROCESS_NAMES = new ConcurrentHashMap<>();
+    static final int NO_COMPONENT_ID = -1;
+    /**
+     * 组件名称对应的组件id
+     * 静态组件的id由cc-register插件在编译期分配（从0开始连续分配），
+     * 其它组件（动态组件、旧版插件注册的组件）在首次获取id时分配
+     */
+    private static final ConcurrentHashMap<String, Integer> COMPONENT_IDS = new ConcurrentHashMap<>();
+    /** 以组件id为下标的组件名称数组（写时复制） */
+    private static volatile String[] NAMES_BY_ID = new String[0];
+    /** 以组件id为下标的当前进程中的组件数组（写时复制） */
+    private static volatile ComponentHolder[] COMPONENTS_BY_ID = new ComponentHolder[0];
+    /** 当前进程中的组件的action分发表（由cc-register插件生成） */
+    private static final ConcurrentHashMap<String, ActionTable> ACTION_TABLES = new ConcurrentHashMap<>();
+    /** 以组件id为下标的action分发表数组（写时复制） */
+    private static volatile ActionTable[] ACTION_TABLES_BY_ID = new ActionTable[0];
+    private static int nextComponentId;
     private static final String SUB_PROCESS_SEPARATOR = ":";
-    private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
-        @Override
-        public Thread newThread(Runnable r) {
-            Thread thread = new Thread(r);
-            thread.setName("cc-pool-" + thread.getId());
-            return thread;
-        }
-    };
-    static final ExecutorService CC_THREAD_POOL = new ThreadPoolExecutor(2, Integer.MAX_VALUE,
-            60L, TimeUnit.SECONDS,
-            new SynchronousQueue<Runnable>(), THREAD_FACTORY);
+    /** 默认的线程池 */
+    static final CCThreadPool CC_THREAD_POOL = new CCThreadPool();
+    /** 执行异步调用、跨进程调用等任务的线程池，通过{@link CC#setExecutor(Executor)}设置 */
+    private static volatile Executor executor = CC_THREAD_POOL;
 
     static final Handler MAIN_THREAD_HANDLER = new Handler(Looper.getMainLooper());
 
     static {
+        CCStartupTracer.mark(CCStartupTracer.PHASE_COMPONENT_REGISTER);
         registerComponent(new DynamicComponentOption());
+        registerComponent(new CCMetrics.MetricsComponent());
         //加载类时自动调用初始化：注册所有组件
         //通过auto-register插件生成组件注册代码
         //生成的代码如下:
-        //registerComponent(new ComponentA());
-        //registerComponent(new ComponentAA());
+        //registerComponent("ComponentA", "com.example.ComponentA", null, 0, null, false);
+        //registerComponent("ComponentAA", "com.example.ComponentAA", ":sub", 1, new ComponentAA$$CCActions(), false);
+        //registerComponent("ComponentB", "com.example.ComponentB", null, 2, null, true);//组件类上有@EagerComponent注解
+        //registerComponent(new ComponentC(), 3);//getName()的返回值不是常量
+        //onRegistered();
+    }
+
+    /**
+     * static块中的组件注册代码执行完成，由cc-register插件生成的代码调用（运行时动态注册组件前也会调用）
+     */
+    static void onRegistered() {
+        CCStartupTracer.unmark(CCStartupTracer.PHASE_COMPONENT_REGISTER);
     }
 
     /**
@@ -59,7 +91,9 @@ class ComponentManager {
      */
     static void init(){
         //调用此方法时，虚拟机会加载ComponentManager类
-        //会自动执行static块中的组件自动注册，调用组件类的无参构造方法
+        //会自动执行static块中的组件自动注册
+        //  延迟注册的组件只记录组件名称和类名，在第一次被调用时才调用组件类的无参构造方法
+        //  其它组件在注册时调用组件类的无参构造方法
         //如果不提前调用此方法，static块中的代码将在第一次进行组件调用时(cc.callXxx())执行
     }
 
@@ -67,6 +101,25 @@ class ComponentManager {
      * 注册组件
      */
     static void registerComponent(IComponent component) {
+        registerComponent(component, NO_COMPONENT_ID);
+    }
+
+    /**
+     * 注册组件，由cc-register插件生成的代码调用
+     * @param component 组件
+     * @param componentId 编译期分配的组件id
+     */
+    static void registerComponent(IComponent component, int componentId) {
+        registerComponent(component, componentId, null);
+    }
+
+    /**
+     * 注册组件，由cc-register插件生成的代码调用（组件中有{@link com.billy.cc.core.component.annotation.Action}注解的方法）
+     * @param component 组件
+     * @param componentId 编译期分配的组件id
+     * @param actionTable 编译期生成的action分发表
+     */
+    static void registerComponent(IComponent component, int componentId, ActionTable actionTable) {
         if (component != null) {
             try{
                 String name = component.getName();
@@ -74,25 +127,140 @@ class ComponentManager {
                     CC.logError("component " + component.getClass().getName()
                             + " register with an empty name. abort this component.");
                 } else {
-                    String processName = getComponentProcessName(component.getClass());
-                    COMPONENT_PROCESS_NAMES.put(name, processName);
-                    if (!processName.equals(CCUtil.getCurProcessName())) {
-                        return;
-                    }
-                    IComponent oldComponent = COMPONENTS.put(name, component);
-
-                    if (oldComponent != null) {
-                        CC.logError( "component (" + component.getClass().getName()
-                                + ") with name:" + name
-                                + " has already exists, replaced:" + oldComponent.getClass().getName());
-                    } else if (CC.DEBUG) {
-                        CC.log("register component success! component name = '"
-                                + name + "', class = " + component.getClass().getName());
-                    }
+                    CCResultCache.registerPolicy(name, component.getClass());
+                    CCBulkhead.registerPolicy(name, component.getClass());
+                    register(new ComponentHolder(name, component
+                            , getComponentProcessName(component.getClass()), actionTable), componentId);
                 }
             } catch(Exception e) {
                 CCUtil.printStackTrace(e);
             }
+            CCStartupTracer.lap(CCStartupTracer.PHASE_COMPONENT_REGISTER, component.getClass().getName());
+        }
+    }
+
+    /**
+     * 按组件名称和类名注册组件，由cc-register插件生成的代码调用（组件名称-进程名称的路由表在编译期生成）
+     * 注册时不加载组件类，也不获取当前进程名称，在组件第一次被调用时才创建组件对象
+     * @param componentName 组件名称（编译期读取的组件getName()方法返回的常量）
+     * @param className 组件类名
+     * @param processName 组件类上{@link SubProcess}注解的值，{@link #ALL_PROCESS}代表{@link AllProcess}注解，null代表没有注解
+     * @param componentId 编译期分配的组件id
+     * @param actionTable 编译期生成的action分发表，可以为null
+     * @param eager 组件类上是否有{@link com.billy.cc.core.component.annotation.EagerComponent}注解：
+     *              在组件所在进程中立即创建组件对象（需要获取当前进程名称）
+     */
+    static void registerComponent(String componentName, String className, String processName
+            , int componentId, ActionTable actionTable, boolean eager) {
+        try{
+            UNRESOLVED_CLASS_NAMES.put(componentName, className);
+            ComponentHolder holder = new ComponentHolder(componentName, className
+                    , resolveProcessName(processName), actionTable);
+            register(holder, componentId);
+            if (eager) {
+                resolveLocalComponents();
+                if (COMPONENTS.get(componentName) == holder) {
+                    holder.get();
+                }
+            }
+        } catch(Exception e) {
+            CCUtil.printStackTrace(e);
+        }
+        CCStartupTracer.lap(CCStartupTracer.PHASE_COMPONENT_REGISTER, className);
+    }
+
+    private static void register(ComponentHolder holder, int componentId) {
+        String name = holder.name;
+        if (componentId != NO_COMPONENT_ID) {
+            bindComponentId(name, componentId);
+        }
+        COMPONENT_PROCESS_NAMES.put(name, holder.processName);
+        synchronized (PENDING_COMPONENTS) {
+            if (!localComponentsResolved) {
+                PENDING_COMPONENTS.add(holder);
+                return;
+            }
+        }
+        addIfLocal(holder, CCUtil.getCurProcessName());
+    }
+
+    /**
+     * 获取当前进程名称，确定已注册的组件中属于当前进程的组件
+     * 在第一次查找组件时执行（之后注册的组件在注册时直接确定）
+     */
+    private static void resolveLocalComponents() {
+        synchronized (PENDING_COMPONENTS) {
+            if (localComponentsResolved) {
+                return;
+            }
+            String curProcessName = CCUtil.getCurProcessName();
+            for (ComponentHolder holder : PENDING_COMPONENTS) {
+                addIfLocal(holder, curProcessName);
+            }
+            PENDING_COMPONENTS.clear();
+            PENDING_COMPONENTS.trimToSize();
+            localComponentsResolved = true;
+        }
+    }
+
+    private static void addIfLocal(ComponentHolder holder, String curProcessName) {
+        String name = holder.name;
+        if (ALL_PROCESS.equals(holder.processName)) {
+            COMPONENT_PROCESS_NAMES.put(name, curProcessName);
+        } else if (!holder.processName.equals(curProcessName)) {
+            return;
+        }
+        ComponentHolder oldHolder = COMPONENTS.put(name, holder);
+        ActionTable actionTable = holder.actionTable;
+        if (actionTable != null) {
+            ACTION_TABLES.put(name, actionTable);
+        } else {
+            ACTION_TABLES.remove(name);
+        }
+        updateComponentById(name, holder, actionTable);
+        InterceptorPipeline.invalidate();
+
+        if (oldHolder != null) {
+            CC.logError( "component (" + holder.className
+                    + ") with name:" + name
+                    + " has already exists, replaced:" + oldHolder.className);
+        } else if (CC.DEBUG) {
+            CC.log("register component success! component name = '"
+                    + name + "', class = " + holder.className);
+        }
+    }
+
+    /**
+     * 延迟注册的组件对象创建完成
+     */
+    static void onComponentCreated(ComponentHolder holder, IComponent component) {
+        if (UNRESOLVED_CLASS_NAMES.remove(holder.name) != null) {
+            CCResultCache.registerPolicy(holder.name, component.getClass());
+            CCBulkhead.registerPolicy(holder.name, component.getClass());
+        }
+        if (CC.DEBUG) {
+            CC.log("lazy component created: " + holder.name);
+        }
+    }
+
+    /**
+     * 加载延迟注册的组件类（不创建组件对象），用于读取组件类上的注解
+     * @param componentName 组件名称
+     * @return 是否加载了组件类（已加载过或不是延迟注册的组件时返回false）
+     */
+    static boolean resolveComponentClass(String componentName) {
+        String className = componentName == null ? null : UNRESOLVED_CLASS_NAMES.remove(componentName);
+        if (className == null) {
+            return false;
+        }
+        try {
+            Class<?> componentClass = Class.forName(className, false, ComponentManager.class.getClassLoader());
+            CCResultCache.registerPolicy(componentName, componentClass);
+            CCBulkhead.registerPolicy(componentName, componentClass);
+            return true;
+        } catch (ClassNotFoundException e) {
+            CCUtil.printStackTrace(e);
+            return false;
         }
     }
 
@@ -107,19 +275,31 @@ class ComponentManager {
             //动态组件只注册在当前进程内，其进程名称与当前进程相同
             return CCUtil.getCurProcessName();
         }
+        AllProcess allProcess = componentClass.getAnnotation(AllProcess.class);
+        if (allProcess != null) {
+            return ALL_PROCESS;
+        }
+        SubProcess subProcess = componentClass.getAnnotation(SubProcess.class);
+        return resolveProcessName(subProcess == null ? null : subProcess.value());
+    }
+
+    /**
+     * 根据组件类上注解的值获取组件的进程名称
+     * @param annotatedProcessName {@link SubProcess}注解的值，{@link #ALL_PROCESS}代表{@link AllProcess}注解，null代表没有注解
+     * @return 组件所在进程名称，{@link #ALL_PROCESS}代表所有进程
+     */
+    private static String resolveProcessName(String annotatedProcessName) {
+        if (ALL_PROCESS.equals(annotatedProcessName)) {
+            return ALL_PROCESS;
+        }
         String packageName = CC.getApplication().getPackageName();
         //TODO 尚未兼容：app的默认进程名称有可能不是包名
         // 通过在application节点添加android:process="a.b.c"可以指定默认进程名称
         String defaultProcessName = packageName;
-        AllProcess allProcess = componentClass.getAnnotation(AllProcess.class);
-        if (allProcess != null) {
-            return CCUtil.getCurProcessName();
-        }
         String processName;
-        SubProcess subProcess = componentClass.getAnnotation(SubProcess.class);
-        if (subProcess != null) {
+        if (annotatedProcessName != null) {
             //读取注解中的进程名称
-            processName = subProcess.value();
+            processName = annotatedProcessName;
             if (TextUtils.isEmpty(processName)) {
                 //如果为配置进程名称，则默认为主进程
                 processName = defaultProcessName;
@@ -137,14 +317,154 @@ class ComponentManager {
     static void unregisterComponent(IComponent component) {
         if (component != null) {
             String name = component.getName();
+            //动态组件注册时已确定当前进程中的组件，这里通过hasComponent确认
             if (hasComponent(name)) {
                 COMPONENTS.remove(name);
+                ACTION_TABLES.remove(name);
+                updateComponentById(name, null, null);
+                InterceptorPipeline.invalidate();
+            }
+        }
+    }
+
+    /**
+     * 记录编译期分配的组件id
+     */
+    private static void bindComponentId(String name, int componentId) {
+        synchronized (COMPONENT_IDS) {
+            Integer id = COMPONENT_IDS.get(name);
+            if (id != null) {
+                if (id != componentId) {
+                    CC.logError("component with name:" + name + " has already bound to id:" + id
+                            + ", ignore id:" + componentId);
+                }
+                return;
+            }
+            String[] names = NAMES_BY_ID;
+            if (componentId < names.length && names[componentId] != null) {
+                CC.logError("component id:" + componentId + " has already bound to component:"
+                        + names[componentId] + ", ignore component:" + name);
+                return;
+            }
+            putComponentId(name, componentId);
+        }
+    }
+
+    /**
+     * 在COMPONENT_IDS的锁中调用
+     */
+    private static void putComponentId(String name, int componentId) {
+        int length = Math.max(NAMES_BY_ID.length, componentId + 1);
+        //Arrays.copyOf需要API 9，这里手动复制
+        String[] names = new String[length];
+        System.arraycopy(NAMES_BY_ID, 0, names, 0, NAMES_BY_ID.length);
+        names[componentId] = name;
+        ComponentHolder[] components = new ComponentHolder[length];
+        System.arraycopy(COMPONENTS_BY_ID, 0, components, 0, COMPONENTS_BY_ID.length);
+        components[componentId] = COMPONENTS.get(name);
+        ActionTable[] actionTables = new ActionTable[length];
+        System.arraycopy(ACTION_TABLES_BY_ID, 0, actionTables, 0, ACTION_TABLES_BY_ID.length);
+        actionTables[componentId] = ACTION_TABLES.get(name);
+        COMPONENTS_BY_ID = components;
+        ACTION_TABLES_BY_ID = actionTables;
+        NAMES_BY_ID = names;
+        COMPONENT_IDS.put(name, componentId);
+        if (nextComponentId <= componentId) {
+            nextComponentId = componentId + 1;
+        }
+    }
+
+    private static void updateComponentById(String name, ComponentHolder holder, ActionTable actionTable) {
+        synchronized (COMPONENT_IDS) {
+            Integer id = COMPONENT_IDS.get(name);
+            if (id != null) {
+                ComponentHolder[] components = COMPONENTS_BY_ID.clone();
+                components[id] = holder;
+                ActionTable[] actionTables = ACTION_TABLES_BY_ID.clone();
+                actionTables[id] = actionTable;
+                COMPONENTS_BY_ID = components;
+                ACTION_TABLES_BY_ID = actionTables;
+            }
+        }
+    }
+
+    /**
+     * 获取组件id，尚未分配id的组件（动态组件等）在此时分配
+     * @param componentName 组件名称
+     * @return 组件id，组件不存在时返回{@link #NO_COMPONENT_ID}
+     */
+    static int getComponentId(String componentName) {
+        if (componentName == null) {
+            return NO_COMPONENT_ID;
+        }
+        Integer id = COMPONENT_IDS.get(componentName);
+        if (id != null) {
+            return id;
+        }
+        synchronized (COMPONENT_IDS) {
+            id = COMPONENT_IDS.get(componentName);
+            if (id != null) {
+                return id;
+            }
+            if (!COMPONENT_PROCESS_NAMES.containsKey(componentName)) {
+                return NO_COMPONENT_ID;
             }
+            int componentId = nextComponentId;
+            putComponentId(componentName, componentId);
+            return componentId;
+        }
+    }
+
+    static String getComponentName(int componentId) {
+        String[] names = NAMES_BY_ID;
+        return componentId >= 0 && componentId < names.length ? names[componentId] : null;
+    }
+
+    /**
+     * 获取本次调用的组件：有组件id时通过数组下标获取，否则通过组件名称获取
+     */
+    static IComponent getComponent(CC cc) {
+        if (!localComponentsResolved) {
+            resolveLocalComponents();
+        }
+        int componentId = cc.getComponentId();
+        ComponentHolder holder;
+        if (componentId != NO_COMPONENT_ID) {
+            ComponentHolder[] components = COMPONENTS_BY_ID;
+            holder = componentId < components.length ? components[componentId] : null;
+        } else {
+            holder = COMPONENTS.get(cc.getComponentName());
+        }
+        return holder == null ? null : holder.get();
+    }
+
+    /**
+     * 获取本次调用的组件的action分发表
+     * @return 组件没有分发表时返回null
+     */
+    static ActionTable getActionTable(CC cc) {
+        if (!localComponentsResolved) {
+            resolveLocalComponents();
+        }
+        if (ACTION_TABLES.isEmpty()) {
+            return null;
         }
+        int componentId = cc.getComponentId();
+        if (componentId != NO_COMPONENT_ID) {
+            ActionTable[] actionTables = ACTION_TABLES_BY_ID;
+            return componentId < actionTables.length ? actionTables[componentId] : null;
+        }
+        return ACTION_TABLES.get(cc.getComponentName());
     }
 
+    /**
+     * 当前进程中是否有指定的组件（不会创建延迟注册的组件）
+     */
     static boolean hasComponent(String componentName) {
-        return getComponentByName(componentName) != null;
+        if (!localComponentsResolved) {
+            resolveLocalComponents();
+        }
+        return componentName != null && COMPONENTS.containsKey(componentName);
     }
 
     /**
@@ -154,25 +474,45 @@ class ComponentManager {
      */
     static CCResult call(CC cc) {
         String callId = cc.getCallId();
-        Chain chain = new Chain(cc);
-        if (!cc.isWithoutGlobalInterceptor()) {
-            chain.addInterceptors(INTERCEPTORS);
-        }
-        chain.addInterceptors(cc.getInterceptors());
-        // 有效性校验放在自定义拦截器之后执行，优先执行自定义拦截器，让其可以拦截到所有组件调用
-        // 执行实际调用的拦截器在校验有效性结束后再添加
-        chain.addInterceptor(ValidateInterceptor.getInstance());
-        ChainProcessor processor = new ChainProcessor(chain);
-        //异步调用，放到线程池中运行
-        if (cc.isAsync()) {
+        if (CCMetrics.ENABLED) {
+            cc.startNanos = System.nanoTime();
+        }
+        if (CCEventDispatcher.ENABLED) {
+            CCEventDispatcher.callStart(cc);
+        }
+        Chain chain = cc.obtainChain();
+        int mode;
+        if (cc.isSingleFlight() && SingleFlight.canJoin(cc)) {
+            //合并执行中的相同调用：加入共享调用，等待其结果
+            SingleFlight.join(cc);
+            mode = ChainProcessor.MODE_SINGLE_FLIGHT;
+        } else if (InterceptorPipeline.isExpress(cc)) {
+            //没有需要执行的拦截器时走快速通道：跳过调用链及有效性校验
+            mode = ChainProcessor.MODE_EXPRESS;
+        } else {
+            mode = ChainProcessor.MODE_CHAIN;
+            if (!cc.isWithoutGlobalInterceptor()) {
+                chain.setGlobalInterceptors(InterceptorPipeline.globalInterceptors());
+            }
+            // 有效性校验固定在自定义拦截器之后执行，优先执行自定义拦截器，让其可以拦截到所有组件调用
+            // 执行实际调用的拦截器在校验有效性结束后再添加
+            chain.setCustomInterceptors(cc.getInterceptors());
+        }
+        ChainProcessor processor = cc.obtainChainProcessor();
+        processor.setMode(mode);
+        //异步调用，放到线程池中运行（由CCFuture.thenCall发起的调用已在CC线程池中，直接执行）
+        if (cc.isAsync() && !cc.isInlineDispatch()) {
             if (CC.VERBOSE_LOG) {
                 CC.verboseLog(callId, "put into thread pool");
             }
-            CC_THREAD_POOL.submit(processor);
+            if (!submit(processor)) {
+                //线程池已满，拒绝此次调用
+                processor.shed();
+            }
             //异步调用时此方法返回null，CCResult通过callback回调
             return null;
         } else {
-            //同步调用，直接执行
+            //同步调用及CCFuture.thenCall发起的异步调用，直接执行
             CCResult ccResult;
             try {
                 ccResult = processor.call();
@@ -187,25 +527,88 @@ class ComponentManager {
         }
     }
 
+    /**
+     * 获取当前进程中已记录的组件所在进程名称（不会到主进程中查询）
+     * @param componentName 组件名称
+     * @return 进程名称
+     */
+    static String getLocalComponentProcessName(String componentName) {
+        return componentName == null ? null : getRegisteredProcessName(componentName);
+    }
+
+    /**
+     * 获取已注册的组件所在进程名称
+     * 在所有进程中均可调用的组件在确定当前进程中的组件之后才记录为当前进程名称
+     */
+    private static String getRegisteredProcessName(String componentName) {
+        String processName = COMPONENT_PROCESS_NAMES.get(componentName);
+        if (ALL_PROCESS.equals(processName)) {
+            resolveLocalComponents();
+            processName = COMPONENT_PROCESS_NAMES.get(componentName);
+        }
+        return processName;
+    }
+
     static IComponent getComponentByName(String componentName) {
-        return COMPONENTS.get(componentName);
+        if (!localComponentsResolved) {
+            resolveLocalComponents();
+        }
+        ComponentHolder holder = COMPONENTS.get(componentName);
+        return holder == null ? null : holder.get();
     }
 
     static void mainThread(Runnable runnable) {
-        MAIN_THREAD_HANDLER.post(runnable);
+        if (CCMainThreadDispatcher.ENABLED) {
+            CCMainThreadDispatcher.post(runnable);
+        } else {
+            MAIN_THREAD_HANDLER.post(runnable);
+        }
     }
 
+    /**
+     * 在线程池中执行必须执行的任务（例如：继续执行已收到结果的调用），线程池拒绝时在当前线程中执行
+     */
     static void threadPool(Runnable runnable) {
-        if (runnable != null) {
-            CC_THREAD_POOL.execute(runnable);
+        if (runnable != null && !submit(runnable)) {
+            runnable.run();
+        }
+    }
+
+    /**
+     * 提交可以被拒绝的任务（例如：新的调用）
+     * @return 是否已提交，false：线程池拒绝了此任务
+     */
+    static boolean submit(Runnable runnable) {
+        try {
+            executor.execute(runnable);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
         }
     }
 
+    static Executor getExecutor() {
+        return executor;
+    }
+
+    static void setExecutor(Executor executor) {
+        ComponentManager.executor = executor == null ? CC_THREAD_POOL : executor;
+    }
+
+    /**
+     * 当前进程中记录的所有组件所在的进程名称（不含在所有进程中均可调用的组件）
+     */
+    static Set<String> getComponentProcessNames() {
+        Set<String> processNames = new HashSet<>(COMPONENT_PROCESS_NAMES.values());
+        processNames.remove(ALL_PROCESS);
+        return processNames;
+    }
+
     static String getComponentProcessName(String componentName) {
         if (TextUtils.isEmpty(componentName)) {
             return null;
         }
-        String processName = COMPONENT_PROCESS_NAMES.get(componentName);
+        String processName = getRegisteredProcessName(componentName);
         if (TextUtils.isEmpty(processName) && !CCUtil.isMainProcess()) {
             //若当前子进程中不包含此组件，有可能是在其它子进程中注册的动态组件
             //先去主进程中确认一下是否有此动态组件
@@ -239,14 +642,16 @@ class ComponentManager {
             switch (actionName) {
                 case ACTION_REGISTER:
                     COMPONENT_PROCESS_NAMES.put(componentName, processName);
+                    InterceptorPipeline.invalidate();
                     CC.sendCCResult(cc.getCallId(), CCResult.success());
                     break;
                 case ACTION_UNREGISTER:
                     COMPONENT_PROCESS_NAMES.remove(componentName);
+                    InterceptorPipeline.invalidate();
                     CC.sendCCResult(cc.getCallId(), CCResult.success());
                     break;
                 case ACTION_GET_PROCESS_NAME:
-                    processName = COMPONENT_PROCESS_NAMES.get(componentName);
+                    processName = getRegisteredProcessName(componentName);
                     CC.sendCCResult(cc.getCallId(), CCResult.success(KEY_PROCESS_NAME, processName));
                     break;
                 default:
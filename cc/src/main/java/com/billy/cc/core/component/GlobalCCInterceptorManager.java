@@ -17,8 +17,19 @@ class GlobalCCInterceptorManager {
       static {
           registerGlobalInterceptor(new InterceptorA());
           registerGlobalInterceptor(new InterceptorB());
+          onRegistered();
       }
     */
+    static {
+        CCStartupTracer.mark(CCStartupTracer.PHASE_INTERCEPTOR_REGISTER);
+    }
+
+    /**
+     * static块中的全局拦截器注册代码执行完成，由cc-register插件生成的代码调用（运行时注册全局拦截器前也会调用）
+     */
+    static void onRegistered() {
+        CCStartupTracer.unmark(CCStartupTracer.PHASE_INTERCEPTOR_REGISTER);
+    }
 
     /**
      * 提前初始化所有全局拦截器
@@ -50,11 +61,13 @@ class GlobalCCInterceptorManager {
                     }
                 }
                 INTERCEPTORS.add(index,interceptor);
+                InterceptorPipeline.invalidate();
             }
             if (CC.DEBUG) {
                 CC.log("register global interceptor success! priority = "
                         + interceptor.priority() + ", class = " + clazz.getName());
             }
+            CCStartupTracer.lap(CCStartupTracer.PHASE_INTERCEPTOR_REGISTER, clazz.getName());
         }
     }
 
@@ -63,6 +76,7 @@ class GlobalCCInterceptorManager {
             for (IGlobalCCInterceptor next : INTERCEPTORS) {
                 if (next.getClass() == clazz) {
                     INTERCEPTORS.remove(next);
+                    InterceptorPipeline.invalidate();
                     if (CC.DEBUG) {
                         CC.log("unregister global interceptor success! class = " + clazz.getName());
                     }
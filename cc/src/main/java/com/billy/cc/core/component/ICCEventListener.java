@@ -0,0 +1,93 @@
+package com.billy.cc.core.component;
+
+/**
+ * 组件调用过程的事件监听器，通过{@link CC#addEventListener(ICCEventListener)}注册，用于统计调用耗时等<br>
+ * 每个事件都带有时间点(System.nanoTime()，单调递增)，调用id通过cc.getCallId()获取<br>
+ * 注意：<br>
+ *  1. 事件在调用过程所在的线程中同步回调，请勿执行耗时操作<br>
+ *  2. 请勿持有CC对象：开启{@link CC#enableCallRecycle(boolean)}后，CC对象在调用结束后会被回收复用<br>
+ *  3. 没有注册监听器时，各事件点只判断一个静态变量，不产生额外开销<br>
+ * 只需要监听部分事件时，可以继承{@link BaseCCEventListener}
+ * @author billy.qi
+ */
+public interface ICCEventListener {
+    /** 找不到组件 */
+    int ROUTE_NOT_FOUND = 0;
+    /** 当前进程内的组件 */
+    int ROUTE_LOCAL = 1;
+    /** app内其它进程中的组件 */
+    int ROUTE_SUB_PROCESS = 2;
+    /** 其它app中的组件 */
+    int ROUTE_REMOTE = 3;
+
+    /**
+     * 开始组件调用
+     */
+    void callStart(CC cc, long nanoTime);
+
+    /**
+     * 拦截器开始执行（包括全局拦截器、自定义拦截器及CC内部的拦截器）
+     */
+    void interceptorStart(CC cc, ICCInterceptor interceptor, long nanoTime);
+
+    /**
+     * 拦截器执行结束
+     * @param result 拦截器的返回值
+     */
+    void interceptorEnd(CC cc, ICCInterceptor interceptor, CCResult result, long nanoTime);
+
+    /**
+     * 确定了组件的调用方式
+     * @param route {@link #ROUTE_LOCAL}, {@link #ROUTE_SUB_PROCESS}, {@link #ROUTE_REMOTE}, {@link #ROUTE_NOT_FOUND}
+     */
+    void routeResolved(CC cc, int route, long nanoTime);
+
+    /**
+     * 向其它进程(或其它app)发送调用请求
+     * @param processName 目标进程名称（跨app调用时为app的包名）
+     */
+    void ipcSend(CC cc, String processName, long nanoTime);
+
+    /**
+     * 收到其它进程(或其它app)返回的调用结果
+     * @param processName 目标进程名称（跨app调用时为app的包名）
+     */
+    void ipcReceive(CC cc, String processName, CCResult result, long nanoTime);
+
+    /**
+     * 当前进程中的组件开始执行onCall方法（或action分发表中对应的方法）
+     */
+    void componentOnCallStart(CC cc, IComponent component, long nanoTime);
+
+    /**
+     * 组件的onCall方法执行结束
+     * @param callbackDelay onCall方法的返回值：是否延迟回调结果
+     */
+    void componentOnCallEnd(CC cc, IComponent component, boolean callbackDelay, long nanoTime);
+
+    /**
+     * 调用得到了结果（包括超时和取消）
+     */
+    void resultSet(CC cc, CCResult result, long nanoTime);
+
+    /**
+     * 调用超时
+     */
+    void timeout(CC cc, long nanoTime);
+
+    /**
+     * 调用被取消
+     */
+    void cancel(CC cc, long nanoTime);
+
+    /**
+     * 调用结束（之后执行回调）
+     * @param result 最终的调用结果
+     */
+    void callEnd(CC cc, CCResult result, long nanoTime);
+
+    /**
+     * 回调{@link IComponentCallback#onResult(CC, CCResult)}执行完成
+     */
+    void callbackDelivered(CC cc, CCResult result, long nanoTime);
+}
@@ -2,6 +2,8 @@ package com.billy.cc.core.component;
 
 /**
  * 指定是否在主线程运行
+ * 推荐使用{@link com.billy.cc.core.component.annotation.Action#thread()}为每个action指定运行的线程，
+ * 由编译期生成的action分发表决定，无需在每次调用时判断。对于分发表中存在的action，不再调用此接口
  * @author billy.qi
  * @since 18/9/19 11:31
  */
@@ -0,0 +1,33 @@
+package com.billy.cc.core.component;
+
+/**
+ * 支持非阻塞等待调用结果的拦截器<br>
+ * 与{@link ICCInterceptor}的区别：chain.proceed()之后的处理放在{@link #onResult(Chain, CCResult)}中，
+ * {@link #intercept(Chain)}中只做调用之前的处理，并直接返回chain.proceed()的返回值（也可以不调用chain.proceed()直接返回结果来中止调用链）<br>
+ * 异步调用的调用链中所有拦截器都实现此接口时，等待组件调用{@link CC#sendCCResult(String, CCResult)}的过程不占用线程，
+ * 收到结果后在线程池中依次执行各拦截器的{@link #onResult(Chain, CCResult)}；
+ * 调用链中有未实现此接口的拦截器时，仍在当前线程中阻塞等待结果
+ * <pre>
+ *     public CCResult intercept(Chain chain) {
+ *         Log.i(TAG, "before:" + chain.getCC());
+ *         return chain.proceed();
+ *     }
+ *
+ *     public CCResult onResult(Chain chain, CCResult result) {
+ *         Log.i(TAG, "after:" + result);
+ *         return result;
+ *     }
+ * </pre>
+ * @author billy.qi
+ */
+public interface IResumableCCInterceptor extends ICCInterceptor {
+
+    /**
+     * 收到后续调用链的结果后执行（仅在{@link #intercept(Chain)}中调用了chain.proceed()时执行），
+     * 可能在与{@link #intercept(Chain)}不同的线程中执行
+     * @param chain 调用链
+     * @param result 后续调用链返回的结果
+     * @return 本拦截器的调用结果
+     */
+    CCResult onResult(Chain chain, CCResult result);
+}
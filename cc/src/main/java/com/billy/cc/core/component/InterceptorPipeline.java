@@ -0,0 +1,174 @@
+package com.billy.cc.core.component;
+
+import android.text.TextUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.billy.cc.core.component.GlobalCCInterceptorManager.INTERCEPTORS;
+
+/**
+ * 预编译的拦截器管道（不可变，数组存储）
+ * 1. 全局拦截器管道：所有调用共用，全局拦截器变化时重新编译
+ * 2. 路由管道：每个组件名称对应一个，包含执行实际调用的拦截器({@link LocalCCInterceptor}等)及{@link Wait4ResultInterceptor}
+ * 全局拦截器、组件(含动态组件)注册信息及跨app调用开关发生变化时，通过版本号使已编译的管道失效
+ * @author billy.qi
+ */
+class InterceptorPipeline {
+    /** 找不到组件 */
+    static final int ROUTE_NOT_FOUND = ICCEventListener.ROUTE_NOT_FOUND;
+    /** 当前进程内的组件 */
+    static final int ROUTE_LOCAL = ICCEventListener.ROUTE_LOCAL;
+    /** app内其它进程中的组件 */
+    static final int ROUTE_SUB_PROCESS = ICCEventListener.ROUTE_SUB_PROCESS;
+    /** 其它app中的组件 */
+    static final int ROUTE_REMOTE = ICCEventListener.ROUTE_REMOTE;
+
+    static final ICCInterceptor[] EMPTY = new ICCInterceptor[0];
+
+    private static final AtomicInteger VERSION = new AtomicInteger(0);
+    private static final ConcurrentHashMap<String, InterceptorPipeline> ROUTES = new ConcurrentHashMap<>();
+    /** 以组件id为下标的路由管道（写时复制） */
+    private static volatile InterceptorPipeline[] ROUTES_BY_ID = new InterceptorPipeline[0];
+    private static volatile InterceptorPipeline globalPipeline;
+
+    final int version;
+    final int route;
+    final ICCInterceptor[] interceptors;
+    /** 路由是否只依赖当前进程中的注册信息（依赖其它进程查询结果的路由不缓存） */
+    private boolean cacheable = true;
+
+    private InterceptorPipeline(int version, int route, ICCInterceptor[] interceptors) {
+        this.version = version;
+        this.route = route;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * 使所有已编译的管道失效
+     * 在全局拦截器、组件注册信息、跨app调用开关发生变化时调用
+     */
+    static void invalidate() {
+        VERSION.incrementAndGet();
+    }
+
+    /**
+     * 获取编译好的全局拦截器数组
+     * @return 按优先级排列的全局拦截器
+     */
+    static ICCInterceptor[] globalInterceptors() {
+        InterceptorPipeline pipeline = globalPipeline;
+        int version = VERSION.get();
+        if (pipeline == null || pipeline.version != version) {
+            pipeline = new InterceptorPipeline(version, ROUTE_NOT_FOUND, INTERCEPTORS.toArray(EMPTY));
+            globalPipeline = pipeline;
+        }
+        return pipeline.interceptors;
+    }
+
+    /**
+     * 获取组件对应的路由管道
+     * @param componentName 组件名称
+     * @return 路由管道
+     */
+    static InterceptorPipeline forComponent(String componentName) {
+        InterceptorPipeline pipeline = ROUTES.get(componentName);
+        int version = VERSION.get();
+        if (pipeline != null && pipeline.version == version) {
+            return pipeline;
+        }
+        return compile(componentName, version);
+    }
+
+    /**
+     * 获取本次调用的组件对应的路由管道，有组件id时通过数组下标获取
+     * @param cc 组件调用
+     * @return 路由管道
+     */
+    static InterceptorPipeline forComponent(CC cc) {
+        int componentId = cc.getComponentId();
+        if (componentId == ComponentManager.NO_COMPONENT_ID) {
+            return forComponent(cc.getComponentName());
+        }
+        InterceptorPipeline[] routes = ROUTES_BY_ID;
+        int version = VERSION.get();
+        InterceptorPipeline pipeline = componentId < routes.length ? routes[componentId] : null;
+        if (pipeline != null && pipeline.version == version) {
+            return pipeline;
+        }
+        pipeline = compile(cc.getComponentName(), version);
+        if (pipeline.cacheable) {
+            synchronized (InterceptorPipeline.class) {
+                InterceptorPipeline[] old = ROUTES_BY_ID;
+                routes = new InterceptorPipeline[Math.max(old.length, componentId + 1)];
+                System.arraycopy(old, 0, routes, 0, old.length);
+                routes[componentId] = pipeline;
+                ROUTES_BY_ID = routes;
+            }
+        }
+        return pipeline;
+    }
+
+    private static InterceptorPipeline compile(String componentName, int version) {
+        //判断路由是否只依赖当前进程中的注册信息，依赖其它进程查询结果的路由不缓存
+        boolean cacheable = true;
+        int route;
+        if (ComponentManager.hasComponent(componentName)) {
+            //调用当前进程中的组件
+            route = ROUTE_LOCAL;
+        } else {
+            String processName = ComponentManager.getLocalComponentProcessName(componentName);
+            if (TextUtils.isEmpty(processName) && !CCUtil.isMainProcess()) {
+                //当前子进程中不包含此组件，需要到主进程中查询
+                cacheable = false;
+                processName = ComponentManager.getComponentProcessName(componentName);
+            }
+            if (!TextUtils.isEmpty(processName)) {
+                //调用app内部子进程中的组件
+                route = ROUTE_SUB_PROCESS;
+            } else if (CC.isRemoteCCEnabled()) {
+                //调用设备上安装的其它app（组件单独运行的app）中的组件
+                route = ROUTE_REMOTE;
+            } else {
+                //本app内所有进程均没有指定的组件，并且设置了不会调用外部app的组件
+                route = ROUTE_NOT_FOUND;
+            }
+        }
+        InterceptorPipeline pipeline = new InterceptorPipeline(version, route, routeInterceptors(route));
+        pipeline.cacheable = cacheable;
+        if (cacheable) {
+            ROUTES.put(componentName, pipeline);
+        }
+        return pipeline;
+    }
+
+    private static ICCInterceptor[] routeInterceptors(int route) {
+        switch (route) {
+            case ROUTE_LOCAL:
+                return new ICCInterceptor[]{LocalCCInterceptor.getInstance(), Wait4ResultInterceptor.getInstance()};
+            case ROUTE_SUB_PROCESS:
+                return new ICCInterceptor[]{SubProcessCCInterceptor.getInstance(), Wait4ResultInterceptor.getInstance()};
+            case ROUTE_REMOTE:
+                return new ICCInterceptor[]{RemoteCCInterceptor.getInstance(), Wait4ResultInterceptor.getInstance()};
+            default:
+                return EMPTY;
+        }
+    }
+
+    /**
+     * 判断本次调用是否可以走快速通道：跳过调用链及有效性校验，根据路由管道直接调用组件
+     * 条件：没有需要执行的拦截器，且组件名称和context有效
+     * @param cc 组件调用
+     * @return 是否可以走快速通道
+     */
+    static boolean isExpress(CC cc) {
+        if (!cc.getInterceptors().isEmpty()) {
+            return false;
+        }
+        if (!cc.isWithoutGlobalInterceptor() && globalInterceptors().length > 0) {
+            return false;
+        }
+        //路由在ChainProcessor中确定，避免在异步调用的调用方线程中进行跨进程查询
+        return !TextUtils.isEmpty(cc.getComponentName()) && cc.getContext() != null;
+    }
+}
@@ -4,13 +4,15 @@ import android.os.Looper;
 
 /**
  * 调用当前app内组件的拦截器<br>
+ * 组件有编译期生成的action分发表({@link ActionTable})时，直接调用action对应的方法<br>
+ * 组件设置了隔离舱({@link CCBulkhead})时，在隔离舱的线程中执行组件<br>
  * 如果本地找不到该组件，则添加{@link RemoteCCInterceptor}来处理<br>
  * 如果组件onCall方法执行完之前未调用{@link CC#sendCCResult(String, CCResult)}方法，则按返回值来进行以下处理：<br>
  *  返回值为false: 回调状态码为 {@link CCResult#CODE_ERROR_CALLBACK_NOT_INVOKED} 的错误结果给调用方<br>
  *  返回值为true: 添加{@link Wait4ResultInterceptor}来等待组件调用{@link CC#sendCCResult(String, CCResult)}方法
  * @author billy.qi
  */
-class LocalCCInterceptor implements ICCInterceptor {
+class LocalCCInterceptor implements IResumableCCInterceptor {
 
     //-------------------------单例模式 start --------------
     /** 单例模式Holder */
@@ -26,8 +28,26 @@ class LocalCCInterceptor implements ICCInterceptor {
 
     @Override
     public CCResult intercept(Chain chain) {
-        CC cc = chain.getCC();
-        IComponent component = ComponentManager.getComponentByName(cc.getComponentName());
+        return process(chain.getCC(), chain, null);
+    }
+
+    @Override
+    public CCResult onResult(Chain chain, CCResult result) {
+        return result;
+    }
+
+    /**
+     * 快速通道：不经过调用链，直接调用当前进程中的组件
+     * @param cc 组件调用
+     * @param continuation 不为null时，以非阻塞方式等待组件的异步结果，收到结果后执行此任务
+     * @return 调用结果，非阻塞等待时返回{@link ChainProcessor#PENDING}
+     */
+    CCResult callExpress(CC cc, Runnable continuation) {
+        return process(cc, null, continuation);
+    }
+
+    private CCResult process(CC cc, Chain chain, Runnable continuation) {
+        IComponent component = ComponentManager.getComponent(cc);
         if (component == null) {
             CC.verboseLog(cc.getCallId(), "component not found in this app. maybe 2 reasons:"
                     + "\n1. CC.enableRemoteCC changed to false"
@@ -41,34 +61,71 @@ class LocalCCInterceptor implements ICCInterceptor {
                 CC.verboseLog(callId, "start component:%s, cc: %s", component.getClass().getName(), cc.toString());
             }
             boolean shouldSwitchThread = false;
-            LocalCCRunnable runnable = new LocalCCRunnable(cc, component);
-            if (component instanceof IMainThread) {
+            CCBulkhead bulkhead = CCBulkhead.ENABLED ? CCBulkhead.get(cc.getComponentName()) : null;
+            LocalCCRunnable runnable = cc.obtainLocalCCRunnable(component);
+            ActionTable actionTable = ComponentManager.getActionTable(cc);
+            int actionIndex = actionTable == null ? ActionTable.NOT_FOUND : actionTable.indexOf(cc.getActionName());
+            if (actionIndex != ActionTable.NOT_FOUND) {
+                runnable.setAction(actionTable, actionIndex);
+            }
+            if (actionIndex != ActionTable.NOT_FOUND || component instanceof IMainThread) {
                 //当前是否在主线程
                 boolean curIsMainThread = Looper.myLooper() == Looper.getMainLooper();
-                //该action是否应该在主线程运行
-                Boolean runOnMainThread = ((IMainThread) component).shouldActionRunOnMainThread(cc.getActionName(), cc);
+                //该action是否应该在主线程运行：优先使用分发表中的线程设置
+                Boolean runOnMainThread = actionIndex != ActionTable.NOT_FOUND
+                        ? actionTable.runOnMainThread(actionIndex)
+                        : ((IMainThread) component).shouldActionRunOnMainThread(cc.getActionName(), cc);
                 //是否需要切换线程执行 component.onCall(cc) 方法
                 shouldSwitchThread = runOnMainThread != null && runOnMainThread ^ curIsMainThread;
-                if (shouldSwitchThread) {
+                if (runOnMainThread != null && runOnMainThread) {
+                    //在主线程执行的action不使用隔离舱
+                    bulkhead = null;
+                }
+                if (shouldSwitchThread && bulkhead == null) {
                     runnable.setShouldSwitchThread(true);
                     if (runOnMainThread) {
                         //需要在主线程运行，但是当前线程不是主线程
                         ComponentManager.mainThread(runnable);
-                    } else {
-                        //需要在子线程运行，但当前线程不是子线程
-                        ComponentManager.threadPool(runnable);
+                    } else if (!ComponentManager.submit(runnable)) {
+                        //需要在子线程运行，但当前线程是主线程：线程池已满时拒绝本次调用，不能退回到主线程中执行
+                        CC.verboseLog(callId, "rejected by thread pool, action:%s", cc.getActionName());
+                        return CCResult.error(CCResult.CODE_ERROR_REJECTED);
                     }
                 }
             }
+            if (bulkhead != null && !bulkhead.isCurrentLane()) {
+                //在组件的隔离舱中执行
+                shouldSwitchThread = true;
+                runnable.setShouldSwitchThread(true);
+                if (!bulkhead.execute(runnable)) {
+                    CC.verboseLog(callId, "rejected by bulkhead of component:%s", cc.getComponentName());
+                    return CCResult.error(CCResult.CODE_ERROR_REJECTED);
+                }
+            }
             if (!shouldSwitchThread) {
                 //不需要切换线程，直接运行
                 runnable.run();
+                //同步调用在当前线程中完成，结束后CC对象可被回收复用
+                cc.setRecyclable(!cc.isAsync() && cc.isFinished() && !runnable.isCallbackDelay());
             }
             //兼容以下情况：
             //  1. 不需要切换线程，但需要等待异步实现调用CC.sendCCResult(...)
             //  2. 需要切换线程，等待切换后的线程调用组件后调用CC.sendCCResult(...)
             if (!cc.isFinished()) {
-                chain.proceed();
+                if (chain != null) {
+                    //执行 Wait4ResultInterceptor，调用链挂起时直接返回
+                    if (chain.proceed() == ChainProcessor.PENDING) {
+                        return ChainProcessor.PENDING;
+                    }
+                } else if (continuation != null) {
+                    //快速通道中的异步调用，不占用当前线程等待结果
+                    if (cc.wait4ResultAsync(continuation)) {
+                        return ChainProcessor.PENDING;
+                    }
+                } else {
+                    //快速通道中没有调用链，直接等待结果
+                    cc.wait4Result();
+                }
             }
         } catch(Exception e) {
             return CCResult.defaultExceptionResult(e);
@@ -78,15 +135,42 @@ class LocalCCInterceptor implements ICCInterceptor {
 
 
     static class LocalCCRunnable implements Runnable {
-        private final String callId;
+        private String callId;
         private CC cc;
         private IComponent component;
+        private ActionTable actionTable;
+        private int actionIndex;
         private boolean shouldSwitchThread;
+        private boolean callbackDelay;
 
         LocalCCRunnable(CC cc, IComponent component) {
             this.cc = cc;
+            reset(component);
+        }
+
+        /**
+         * 重置，用于随CC对象一起复用
+         * @param component 本次调用的组件
+         */
+        void reset(IComponent component) {
             this.callId = cc.getCallId();
             this.component = component;
+            this.actionTable = null;
+            this.actionIndex = ActionTable.NOT_FOUND;
+            this.shouldSwitchThread = false;
+            this.callbackDelay = false;
+        }
+
+        /**
+         * 通过action分发表直接调用action对应的方法
+         */
+        void setAction(ActionTable actionTable, int actionIndex) {
+            this.actionTable = actionTable;
+            this.actionIndex = actionIndex;
+        }
+
+        boolean isCallbackDelay() {
+            return callbackDelay;
         }
 
         void setShouldSwitchThread(boolean shouldSwitchThread) {
@@ -99,7 +183,17 @@ class LocalCCInterceptor implements ICCInterceptor {
                 return;
             }
             try {
-                boolean callbackDelay = component.onCall(cc);
+                if (CCEventDispatcher.ENABLED) {
+                    CCEventDispatcher.componentOnCallStart(cc, component);
+                }
+                if (actionTable != null) {
+                    callbackDelay = actionTable.dispatch(component, actionIndex, cc);
+                } else {
+                    callbackDelay = component.onCall(cc);
+                }
+                if (CCEventDispatcher.ENABLED) {
+                    CCEventDispatcher.componentOnCallEnd(cc, component, callbackDelay);
+                }
                 if (CC.VERBOSE_LOG) {
                     CC.verboseLog(callId, component.getName() + ":"
                             + component.getClass().getName()
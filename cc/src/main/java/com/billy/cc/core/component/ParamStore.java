@@ -0,0 +1,500 @@
+package com.billy.cc.core.component;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 组件调用参数及返回信息的存储
+ * 使用开放寻址(线性探测)的定长数组存储key-value，int/long/double/boolean类型的值存储在基本类型槽位中，不装箱
+ * 通过{@link #asMap()}获取的Map视图在首次使用时创建，对视图的修改直接作用于本存储
+ * 非线程安全，与原有的HashMap一致
+ * @author billy.qi
+ */
+class ParamStore {
+    private static final byte TYPE_OBJECT = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+
+    private static final int MIN_CAPACITY = 8;
+    /** 代表null key */
+    private static final Object NULL_KEY = new Object();
+    /** 已删除的槽位 */
+    private static final Object DELETED = new Object();
+
+    private Object[] keys;
+    private Object[] values;
+    private long[] primitives;
+    private byte[] types;
+    /** 有效的key-value数量 */
+    private int size;
+    /** 已使用的槽位数量（含已删除的槽位） */
+    private int used;
+    private Map<String, Object> mapView;
+
+    ParamStore() {
+    }
+
+    ParamStore(Map<String, Object> map) {
+        putAll(map);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        if (keys != null && used > 0) {
+            Arrays.fill(keys, null);
+            Arrays.fill(values, null);
+            Arrays.fill(types, (byte) 0);
+        }
+        size = 0;
+        used = 0;
+    }
+
+    void putAll(Map<String, Object> map) {
+        if (map != null) {
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    void putAll(ParamStore store) {
+        if (store == null || store.keys == null) {
+            return;
+        }
+        Object[] k = store.keys;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != null && k[i] != DELETED) {
+                int slot = prepareSlot(unmaskKey(k[i]));
+                values[slot] = store.values[i];
+                primitives[slot] = store.primitives[i];
+                types[slot] = store.types[i];
+            }
+        }
+    }
+
+    Object put(String key, Object value) {
+        int slot = prepareSlot(key);
+        Object old = valueAt(slot);
+        values[slot] = value;
+        types[slot] = TYPE_OBJECT;
+        return old;
+    }
+
+    void putInt(String key, int value) {
+        putPrimitive(key, value, TYPE_INT);
+    }
+
+    void putLong(String key, long value) {
+        putPrimitive(key, value, TYPE_LONG);
+    }
+
+    void putDouble(String key, double value) {
+        putPrimitive(key, Double.doubleToRawLongBits(value), TYPE_DOUBLE);
+    }
+
+    void putBoolean(String key, boolean value) {
+        putPrimitive(key, value ? 1 : 0, TYPE_BOOLEAN);
+    }
+
+    private void putPrimitive(String key, long value, byte type) {
+        int slot = prepareSlot(key);
+        values[slot] = null;
+        primitives[slot] = value;
+        types[slot] = type;
+    }
+
+    boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    Object get(Object key) {
+        int slot = indexOf(key);
+        return slot < 0 ? null : valueAt(slot);
+    }
+
+    Object remove(Object key) {
+        int slot = indexOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        Object old = valueAt(slot);
+        removeAt(slot);
+        return old;
+    }
+
+    int getInt(String key, int defaultValue) {
+        int slot = indexOf(key);
+        if (slot >= 0) {
+            switch (types[slot]) {
+                case TYPE_INT:
+                case TYPE_LONG:
+                    return (int) primitives[slot];
+                case TYPE_DOUBLE:
+                    return (int) Double.longBitsToDouble(primitives[slot]);
+                case TYPE_OBJECT:
+                    return intValue(values[slot], defaultValue);
+                default:
+                    break;
+            }
+        }
+        return defaultValue;
+    }
+
+    long getLong(String key, long defaultValue) {
+        int slot = indexOf(key);
+        if (slot >= 0) {
+            switch (types[slot]) {
+                case TYPE_INT:
+                case TYPE_LONG:
+                    return primitives[slot];
+                case TYPE_DOUBLE:
+                    return (long) Double.longBitsToDouble(primitives[slot]);
+                case TYPE_OBJECT:
+                    return longValue(values[slot], defaultValue);
+                default:
+                    break;
+            }
+        }
+        return defaultValue;
+    }
+
+    double getDouble(String key, double defaultValue) {
+        int slot = indexOf(key);
+        if (slot >= 0) {
+            switch (types[slot]) {
+                case TYPE_INT:
+                case TYPE_LONG:
+                    return primitives[slot];
+                case TYPE_DOUBLE:
+                    return Double.longBitsToDouble(primitives[slot]);
+                case TYPE_OBJECT:
+                    return doubleValue(values[slot], defaultValue);
+                default:
+                    break;
+            }
+        }
+        return defaultValue;
+    }
+
+    boolean getBoolean(String key, boolean defaultValue) {
+        int slot = indexOf(key);
+        if (slot >= 0) {
+            if (types[slot] == TYPE_BOOLEAN) {
+                return primitives[slot] != 0;
+            }
+            if (types[slot] == TYPE_OBJECT) {
+                return booleanValue(values[slot], defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    static int intValue(Object value, int defaultValue) {
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
+    static long longValue(Object value, long defaultValue) {
+        return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+    }
+
+    static double doubleValue(Object value, double defaultValue) {
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+
+    static boolean booleanValue(Object value, boolean defaultValue) {
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    /**
+     * 获取Map视图（首次调用时创建），对视图的修改直接作用于本存储
+     * @return Map视图
+     */
+    Map<String, Object> asMap() {
+        if (mapView == null) {
+            mapView = new MapView();
+        }
+        return mapView;
+    }
+
+    private Object valueAt(int slot) {
+        long value = primitives[slot];
+        switch (types[slot]) {
+            case TYPE_INT:
+                return (int) value;
+            case TYPE_LONG:
+                return value;
+            case TYPE_DOUBLE:
+                return Double.longBitsToDouble(value);
+            case TYPE_BOOLEAN:
+                return value != 0;
+            default:
+                return values[slot];
+        }
+    }
+
+    private void removeAt(int slot) {
+        keys[slot] = DELETED;
+        values[slot] = null;
+        types[slot] = 0;
+        size--;
+    }
+
+    private static Object maskKey(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static String unmaskKey(Object key) {
+        return key == NULL_KEY ? null : (String) key;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(Object key) {
+        Object[] k = keys;
+        if (k == null || size == 0) {
+            return -1;
+        }
+        Object masked = maskKey(key);
+        int mask = k.length - 1;
+        int i = hash(masked) & mask;
+        while (true) {
+            Object cur = k[i];
+            if (cur == null) {
+                return -1;
+            }
+            if (cur != DELETED && (cur == masked || cur.equals(masked))) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * 查找key所在的槽位，不存在则占用一个新槽位
+     */
+    private int prepareSlot(String key) {
+        int slot = indexOf(key);
+        if (slot >= 0) {
+            return slot;
+        }
+        ensureCapacity();
+        Object masked = maskKey(key);
+        int mask = keys.length - 1;
+        int i = hash(masked) & mask;
+        while (keys[i] != null && keys[i] != DELETED) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == null) {
+            used++;
+        }
+        keys[i] = masked;
+        size++;
+        return i;
+    }
+
+    private void ensureCapacity() {
+        if (keys == null) {
+            allocate(MIN_CAPACITY);
+            return;
+        }
+        //装载因子不超过0.5，保证线性探测的长度较短
+        if ((used + 1) * 2 > keys.length) {
+            Object[] oldKeys = keys;
+            Object[] oldValues = values;
+            long[] oldPrimitives = primitives;
+            byte[] oldTypes = types;
+            int capacity = oldKeys.length;
+            if ((size + 1) * 2 > capacity) {
+                capacity <<= 1;
+            }
+            allocate(capacity);
+            size = 0;
+            used = 0;
+            int mask = capacity - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                Object key = oldKeys[j];
+                if (key != null && key != DELETED) {
+                    int i = hash(key) & mask;
+                    while (keys[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = key;
+                    values[i] = oldValues[j];
+                    primitives[i] = oldPrimitives[j];
+                    types[i] = oldTypes[j];
+                    size++;
+                    used++;
+                }
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        primitives = new long[capacity];
+        types = new byte[capacity];
+    }
+
+    private class MapView extends AbstractMap<String, Object> {
+        private Set<Entry<String, Object>> entrySet;
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return ParamStore.this.containsKey(key);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return ParamStore.this.get(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return ParamStore.this.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return ParamStore.this.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            ParamStore.this.clear();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new AbstractSet<Entry<String, Object>>() {
+                    @Override
+                    public Iterator<Entry<String, Object>> iterator() {
+                        return new EntryIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+            return entrySet;
+        }
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next = -1;
+        private int current = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            Object[] k = keys;
+            int length = k == null ? 0 : k.length;
+            do {
+                next++;
+            } while (next < length && (k[next] == null || k[next] == DELETED));
+        }
+
+        @Override
+        public boolean hasNext() {
+            return keys != null && next < keys.length;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            advance();
+            return new SlotEntry(current);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0 || keys[current] == null || keys[current] == DELETED) {
+                throw new IllegalStateException();
+            }
+            removeAt(current);
+            current = -1;
+        }
+    }
+
+    private class SlotEntry implements Map.Entry<String, Object> {
+        private final String key;
+        private Object value;
+
+        SlotEntry(int slot) {
+            this.key = unmaskKey(keys[slot]);
+            this.value = valueAt(slot);
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * 写入前按key重新查找槽位：创建entry之后可能发生过扩容(rehash)，原槽位可能已属于其它key
+         * key已被移除时只修改entry自身
+         */
+        @Override
+        public Object setValue(Object value) {
+            int slot = indexOf(key);
+            if (slot >= 0) {
+                values[slot] = value;
+                types[slot] = TYPE_OBJECT;
+            }
+            Object old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return (key == null ? e.getKey() == null : key.equals(e.getKey()))
+                    && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.billy.cc.core.component;
+
+import com.billy.android.pools.ObjPool;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 固定容量的无锁对象池
+ * 与{@link ObjPool}用法一致，但使用定长数组槽位保存缓存对象，回收和获取过程中不产生额外的对象分配
+ * 对象池已满时，回收的对象直接丢弃
+ * @param <T> 要创建的对象
+ * @param <R> 创建对象所需的参数
+ * @author billy.qi
+ */
+abstract class RecyclePool<T, R> {
+
+    private final AtomicReferenceArray<T> slots;
+
+    RecyclePool(int capacity) {
+        slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * 从对象池中获取一个实例
+     * 优先从缓存中获取，如果缓存中没有实例，则创建一个实例并返回
+     * @param r 创建一个新实例需要的参数
+     * @return 获取的实例
+     */
+    @SuppressWarnings("unchecked")
+    T get(R r) {
+        T t = null;
+        int length = slots.length();
+        for (int i = 0; i < length; i++) {
+            T item = slots.get(i);
+            if (item != null && slots.compareAndSet(i, item, null)) {
+                t = item;
+                break;
+            }
+        }
+        if (t == null) {
+            t = newInstance(r);
+        }
+        if (t instanceof ObjPool.Initable) {
+            ((ObjPool.Initable<R>) t).init(r);
+        }
+        return t;
+    }
+
+    /**
+     * 接收一个实例放到对象池中
+     * @param t 要放入对象池的实例
+     */
+    void put(T t) {
+        if (t == null) {
+            return;
+        }
+        if (t instanceof ObjPool.Resetable) {
+            ((ObjPool.Resetable) t).reset();
+        }
+        int length = slots.length();
+        for (int i = 0; i < length; i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, t)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 创建新的实例
+     * @param r 创建对象所需的参数
+     * @return 新的实例
+     */
+    protected abstract T newInstance(R r);
+}
@@ -39,9 +39,18 @@ class RemoteCCInterceptor extends SubProcessCCInterceptor {
 
     @Override
     public CCResult intercept(Chain chain) {
-        String processName = getProcessName(chain.getCC().getComponentName());
+        return callRemote(chain.getCC(), chain, null);
+    }
+
+    @Override
+    CCResult callExpress(CC cc, Runnable continuation) {
+        return callRemote(cc, null, continuation);
+    }
+
+    private CCResult callRemote(CC cc, Chain chain, Runnable continuation) {
+        String processName = getProcessName(cc.getComponentName());
         if (!TextUtils.isEmpty(processName)) {
-            return multiProcessCall(chain, processName, REMOTE_CONNECTIONS);
+            return multiProcessCall(cc, chain, processName, REMOTE_CONNECTIONS, continuation);
         }
         return CCResult.error(CCResult.CODE_ERROR_NO_COMPONENT_FOUND);
     }
@@ -86,7 +95,10 @@ class RemoteCCInterceptor extends SubProcessCCInterceptor {
     void enableRemoteCC() {
         //监听设备上其它包含CC组件的app
         listenComponentApps();
-        connect(RemoteConnection.scanComponentApps());
+        long start = CCStartupTracer.begin();
+        List<String> packageNames = RemoteConnection.scanComponentApps();
+        CCStartupTracer.end(CCStartupTracer.PHASE_REMOTE_CC_SCAN, null, start);
+        connect(packageNames);
     }
 
     private static final String INTENT_FILTER_SCHEME = "package";
@@ -115,7 +127,8 @@ class RemoteCCInterceptor extends SubProcessCCInterceptor {
                 } else {
                     CC.log("start to wakeup remote app:%s", packageName);
                     if (RemoteConnection.tryWakeup(packageName)) {
-                        ComponentManager.threadPool(new ConnectTask(packageName));
+                        //预先建立连接，线程池已满时放弃
+                        ComponentManager.submit(new ConnectTask(packageName));
                     }
                 }
             }
@@ -127,7 +140,7 @@ class RemoteCCInterceptor extends SubProcessCCInterceptor {
             return;
         }
         for (String pkg : packageNames) {
-            ComponentManager.threadPool(new ConnectTask(pkg));
+            ComponentManager.submit(new ConnectTask(pkg));
         }
     }
 
@@ -152,6 +152,13 @@ public class RemoteCCService extends IRemoteCCService.Stub {
         return service;
     }
 
+    /**
+     * 获取已建立连接的指定进程的Binder，不会建立新的连接
+     */
+    static IRemoteCCService getConnected(String processName) {
+        return CACHE.get(processName);
+    }
+
     static void remove(String processName) {
         CACHE.remove(processName);
     }
@@ -0,0 +1,160 @@
+package com.billy.cc.core.component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 合并执行中的相同调用（single-flight）
+ * 组件名称、action及参数均相同的调用（通过{@link CC.Builder#singleFlight()}开启）在执行过程中，
+ * 后续调用不再重复执行，而是等待同一次执行的结果
+ * 实际执行由内部创建的共享调用完成，每个调用方都只是等待者：
+ * 调用方各自的超时和取消只影响自己，不会中止共享调用，所有等待者都离开后才取消共享调用
+ * 是否跳过全局拦截器不同的调用不合并，设置了自定义拦截器的调用不参与合并(见{@link #canJoin(CC)})
+ * @author billy.qi
+ */
+class SingleFlight implements IComponentCallback {
+
+    private static final ConcurrentHashMap<CallKey, SingleFlight> FLIGHTS = new ConcurrentHashMap<>();
+
+    private final CallKey key;
+    private final List<Waiter> waiters = new ArrayList<>(4);
+    private CC shared;
+    private boolean done;
+
+    private SingleFlight(CallKey key) {
+        this.key = key;
+    }
+
+    /**
+     * 自定义拦截器只属于发起调用的一方，共享调用无法代表其它等待者执行，因此设置了自定义拦截器的调用不合并
+     * @param cc 调用方的CC对象
+     * @return 是否可以合并到执行中的相同调用
+     */
+    static boolean canJoin(CC cc) {
+        return cc.getInterceptors().isEmpty();
+    }
+
+    /**
+     * 加入执行中的相同调用，若没有则创建共享调用并开始执行
+     * 调用方加入后，通过{@link CC#wait4Result()}或{@link CC#wait4ResultAsync(Runnable)}等待结果
+     * @param cc 调用方的CC对象（已生成callId）
+     */
+    static void join(CC cc) {
+        CallKey key = new CallKey(cc.getComponentName(), cc.getActionName(), cc.getParams()
+                , cc.isWithoutGlobalInterceptor());
+        Waiter waiter = new Waiter(cc, cc.getStamp());
+        while (true) {
+            SingleFlight flight = FLIGHTS.get(key);
+            if (flight == null) {
+                flight = new SingleFlight(key);
+                //新创建的flight在放入map之前加入等待者，保证启动共享调用时至少有一个等待者
+                flight.waiters.add(waiter);
+                if (FLIGHTS.putIfAbsent(key, flight) == null) {
+                    cc.flight = flight;
+                    flight.start(cc);
+                    return;
+                }
+            } else if (flight.add(waiter)) {
+                cc.flight = flight;
+                if (CC.VERBOSE_LOG) {
+                    CC.verboseLog(cc.getCallId(), "join in-flight call for:" + key.componentName
+                            + ", action:" + key.actionName);
+                }
+                return;
+            }
+            //flight已结束，正在从map中移除，重新查找
+            Thread.yield();
+        }
+    }
+
+    /**
+     * 调用方结束（收到结果、超时或被取消）时离开
+     * 所有等待者均离开时，取消共享调用
+     * @param cc 调用方的CC对象
+     */
+    static void leave(CC cc) {
+        SingleFlight flight = cc.flight;
+        if (flight == null) {
+            return;
+        }
+        cc.flight = null;
+        CC sharedCC;
+        synchronized (flight) {
+            for (int i = flight.waiters.size() - 1; i >= 0; i--) {
+                if (flight.waiters.get(i).cc == cc) {
+                    flight.waiters.remove(i);
+                    break;
+                }
+            }
+            if (flight.done || !flight.waiters.isEmpty()) {
+                return;
+            }
+            flight.done = true;
+            sharedCC = flight.shared;
+        }
+        FLIGHTS.remove(flight.key, flight);
+        if (sharedCC != null) {
+            CC.verboseLog(sharedCC.getCallId(), "all waiters left, cancel in-flight call");
+            sharedCC.cancel();
+        }
+    }
+
+    private synchronized boolean add(Waiter waiter) {
+        if (done) {
+            return false;
+        }
+        waiters.add(waiter);
+        return true;
+    }
+
+    private void start(CC cc) {
+        CC.Builder builder = CC.obtainBuilder(key.componentName)
+                .setContext(cc.getContext())
+                .setActionName(key.actionName)
+                .setParams(key.params)
+                //共享调用不设超时：各等待者按自己的超时时间由CCMonitor处理，全部离开后取消共享调用
+                .setTimeout(0);
+        if (key.withoutGlobalInterceptor) {
+            builder.withoutGlobalInterceptor();
+        }
+        CC sharedCC = builder.build();
+        synchronized (this) {
+            if (done) {
+                //等待者在共享调用启动前已全部离开
+                return;
+            }
+            shared = sharedCC;
+        }
+        sharedCC.callAsync(this);
+    }
+
+    /**
+     * 共享调用执行完成，将结果分发给所有等待者
+     */
+    @Override
+    public void onResult(CC cc, CCResult result) {
+        FLIGHTS.remove(key, this);
+        Waiter[] list;
+        synchronized (this) {
+            if (done) {
+                return;
+            }
+            done = true;
+            list = waiters.toArray(new Waiter[waiters.size()]);
+        }
+        for (Waiter waiter : list) {
+            waiter.cc.sendResult(result, waiter.stamp);
+        }
+    }
+
+    private static class Waiter {
+        final CC cc;
+        final int stamp;
+
+        Waiter(CC cc, int stamp) {
+            this.cc = cc;
+            this.stamp = stamp;
+        }
+    }
+}
@@ -16,7 +16,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * @author billy.qi
  * @since 18/6/24 00:25
  */
-class SubProcessCCInterceptor implements ICCInterceptor {
+class SubProcessCCInterceptor implements IResumableCCInterceptor {
 
     private static final ConcurrentHashMap<String, IRemoteCCService> CONNECTIONS = new ConcurrentHashMap<>();
 
@@ -34,30 +34,63 @@ class SubProcessCCInterceptor implements ICCInterceptor {
 
     @Override
     public CCResult intercept(Chain chain) {
-        String componentName = chain.getCC().getComponentName();
-        String processName = ComponentManager.getComponentProcessName(componentName);
-        return multiProcessCall(chain, processName, CONNECTIONS);
+        CC cc = chain.getCC();
+        String processName = ComponentManager.getComponentProcessName(cc.getComponentName());
+        return multiProcessCall(cc, chain, processName, CONNECTIONS, null);
     }
 
-    CCResult multiProcessCall(Chain chain, String processName
-            , ConcurrentHashMap<String, IRemoteCCService> connectionCache) {
+    @Override
+    public CCResult onResult(Chain chain, CCResult result) {
+        return result;
+    }
+
+    /**
+     * 快速通道：不经过调用链，直接跨进程调用组件
+     * @param cc 组件调用
+     * @param continuation 不为null时，以非阻塞方式等待跨进程调用的结果，收到结果后执行此任务
+     * @return 调用结果，非阻塞等待时返回{@link ChainProcessor#PENDING}
+     */
+    CCResult callExpress(CC cc, Runnable continuation) {
+        String processName = ComponentManager.getComponentProcessName(cc.getComponentName());
+        return multiProcessCall(cc, null, processName, CONNECTIONS, continuation);
+    }
+
+    CCResult multiProcessCall(final CC cc, Chain chain, String processName
+            , ConcurrentHashMap<String, IRemoteCCService> connectionCache, Runnable continuation) {
         if (processName == null) {
             return CCResult.error(CCResult.CODE_ERROR_NO_COMPONENT_FOUND);
         }
-        CC cc = chain.getCC();
         //主线程同步调用时，跨进程也要在主线程同步调用
         boolean isMainThreadSyncCall = !cc.isAsync() && Looper.getMainLooper() == Looper.myLooper();
-        ProcessCrossTask task = new ProcessCrossTask(cc, processName, connectionCache, isMainThreadSyncCall);
-        ComponentManager.threadPool(task);
+        final ProcessCrossTask task = new ProcessCrossTask(cc, processName, connectionCache, isMainThreadSyncCall);
+        if (!ComponentManager.submit(task)) {
+            task.shed();
+        }
         if (!cc.isFinished()) {
-            //执行 Wait4ResultInterceptor
-            chain.proceed();
-            //如果是提前结束的，跨进程通知被调用方
-            if (cc.isCanceled()) {
-                task.cancel();
-            } else if (cc.isTimeout()) {
-                task.timeout();
+            if (continuation == null && chain != null) {
+                //调用链可以挂起时，由本拦截器非阻塞等待(需要在收到结果后通知跨进程调用停止)
+                continuation = chain.prepareSuspend();
+            }
+            if (continuation != null) {
+                //不占用当前线程等待跨进程调用的结果
+                final Runnable next = continuation;
+                boolean pending = cc.wait4ResultAsync(new Runnable() {
+                    @Override
+                    public void run() {
+                        task.notifyIfStopped();
+                        next.run();
+                    }
+                });
+                if (pending) {
+                    return ChainProcessor.PENDING;
+                }
+            } else if (chain != null) {
+                //执行 Wait4ResultInterceptor
+                chain.proceed();
+            } else {
+                cc.wait4Result();
             }
+            task.notifyIfStopped();
         }
         return cc.getResult();
     }
@@ -69,7 +102,7 @@ class SubProcessCCInterceptor implements ICCInterceptor {
         return service;
     }
 
-    class ProcessCrossTask implements Runnable {
+    class ProcessCrossTask implements CCThreadPool.Sheddable {
 
         private final CC cc;
         private final String processName;
@@ -113,6 +146,9 @@ class SubProcessCCInterceptor implements ICCInterceptor {
                     CC.verboseLog(cc.getCallId(), "start to call process:%s, RemoteCC: %s"
                             , processName, remoteCC.toString());
                 }
+                if (CCEventDispatcher.ENABLED) {
+                    CCEventDispatcher.ipcSend(cc, processName);
+                }
                 service.call(remoteCC, new IRemoteCallback.Stub() {
                     @Override
                     public void callback(RemoteCCResult remoteCCResult) throws RemoteException {
@@ -121,7 +157,11 @@ class SubProcessCCInterceptor implements ICCInterceptor {
                                 CC.verboseLog(cc.getCallId(), "receive RemoteCCResult from process:%s, RemoteCCResult: %s"
                                         , processName, remoteCCResult.toString());
                             }
-                            setResult(remoteCCResult.toCCResult());
+                            CCResult result = remoteCCResult.toCCResult();
+                            if (CCEventDispatcher.ENABLED) {
+                                CCEventDispatcher.ipcReceive(cc, processName, result);
+                            }
+                            setResult(result);
                         } catch(Exception e) {
                             CCUtil.printStackTrace(e);
                             setResult(CCResult.error(CCResult.CODE_ERROR_REMOTE_CC_DELIVERY_FAILED));
@@ -142,7 +182,38 @@ class SubProcessCCInterceptor implements ICCInterceptor {
             cc.setResult4Waiting(result);
         }
 
+        @Override
+        public void shed() {
+            CC.verboseLog(cc.getCallId(), "call to process %s is rejected by thread pool", processName);
+            setResult(CCResult.error(CCResult.CODE_ERROR_REJECTED));
+        }
+
+        @Override
+        public void expire() {
+            CC.verboseLog(cc.getCallId(), "call to process %s is expired in thread pool queue", processName);
+            cc.timeout();
+        }
+
+        @Override
+        public CC getCC() {
+            return cc;
+        }
+
+        /**
+         * 如果是提前结束的，跨进程通知被调用方
+         */
+        void notifyIfStopped() {
+            if (cc.isCanceled()) {
+                cancel();
+            } else if (cc.isTimeout()) {
+                timeout();
+            }
+        }
+
         void cancel() {
+            if (service == null) {
+                return;
+            }
             try {
                 service.cancel(cc.getCallId());
             } catch (Exception e) {
@@ -151,6 +222,9 @@ class SubProcessCCInterceptor implements ICCInterceptor {
         }
 
         void timeout() {
+            if (service == null) {
+                return;
+            }
             try {
                 service.timeout(cc.getCallId());
             } catch (Exception e) {
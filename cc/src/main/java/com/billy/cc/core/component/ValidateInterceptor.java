@@ -6,7 +6,7 @@ import android.text.TextUtils;
  * 检查cc是否合法
  * @author billy.qi
  */
-class ValidateInterceptor implements ICCInterceptor {
+class ValidateInterceptor implements IResumableCCInterceptor {
 
     //-------------------------单例模式 start --------------
     /** 单例模式Holder */
@@ -24,47 +24,32 @@ class ValidateInterceptor implements ICCInterceptor {
     public CCResult intercept(Chain chain) {
         CC cc = chain.getCC();
         String componentName = cc.getComponentName();
-        int code = 0;
-        Boolean notFoundInCurApp = null;
         if (TextUtils.isEmpty(componentName)) {
             //没有指定要调用的组件名称，中止运行
-            code = CCResult.CODE_ERROR_COMPONENT_NAME_EMPTY;
+            return CCResult.error(CCResult.CODE_ERROR_COMPONENT_NAME_EMPTY);
         } else if (cc.getContext() == null) {
             //context为null (没有设置context 且 CC中获取application失败)
-            code = CCResult.CODE_ERROR_CONTEXT_NULL;
-        } else {
-            if (!ComponentManager.hasComponent(componentName)) {
-                //当前进程中不包含此组件，查看一下其它进程中是否包含此组件
-                notFoundInCurApp = TextUtils.isEmpty(ComponentManager.getComponentProcessName(componentName));
-                if (notFoundInCurApp && !CC.isRemoteCCEnabled()) {
-                    //本app内所有进程均没有指定的组件，并且设置了不会调用外部app的组件
-                    code = CCResult.CODE_ERROR_NO_COMPONENT_FOUND;
-                    CC.verboseLog(cc.getCallId(),"componentName=" + componentName
-                            + " is not exists and CC.enableRemoteCC is " + CC.isRemoteCCEnabled());
-                }
-            }
-        }
-        if (code != 0) {
-            return CCResult.error(code);
+            return CCResult.error(CCResult.CODE_ERROR_CONTEXT_NULL);
         }
         //执行完自定义拦截器，并且通过有效性校验后，再确定具体调用组件的方式
-        if (ComponentManager.hasComponent(componentName)) {
-            //调用当前进程中的组件
-            chain.addInterceptor(LocalCCInterceptor.getInstance());
-        } else {
-            if (notFoundInCurApp == null) {
-                notFoundInCurApp = TextUtils.isEmpty(ComponentManager.getComponentProcessName(componentName));
-            }
-            if (notFoundInCurApp) {
-                //调用设备上安装的其它app（组件单独运行的app）中的组件
-                chain.addInterceptor(RemoteCCInterceptor.getInstance());
-            } else {
-                //调用app内部子进程中的组件
-                chain.addInterceptor(SubProcessCCInterceptor.getInstance());
-            }
+        //路由管道按组件id(或组件名称)预编译并缓存
+        InterceptorPipeline pipeline = InterceptorPipeline.forComponent(cc);
+        if (CCEventDispatcher.ENABLED) {
+            CCEventDispatcher.routeResolved(cc, pipeline.route);
+        }
+        if (pipeline.route == InterceptorPipeline.ROUTE_NOT_FOUND) {
+            //本app内所有进程均没有指定的组件，并且设置了不会调用外部app的组件
+            CC.verboseLog(cc.getCallId(),"componentName=" + componentName
+                    + " is not exists and CC.enableRemoteCC is " + CC.isRemoteCCEnabled());
+            return CCResult.error(CCResult.CODE_ERROR_NO_COMPONENT_FOUND);
         }
-        chain.addInterceptor(Wait4ResultInterceptor.getInstance());
-        // 执行上面添加的拦截器，开始执行组件调用
+        chain.setRouteInterceptors(pipeline.interceptors);
+        // 执行路由管道中的拦截器，开始执行组件调用
         return chain.proceed();
     }
+
+    @Override
+    public CCResult onResult(Chain chain, CCResult result) {
+        return result;
+    }
 }
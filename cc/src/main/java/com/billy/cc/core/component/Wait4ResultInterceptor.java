@@ -2,9 +2,10 @@ package com.billy.cc.core.component;
 
 /**
  * 等待异步调用CC.sendCCResult(callId, ccResult)
+ * 异步调用时，若调用链可以挂起({@link Chain#prepareSuspend()})，则不占用线程等待，收到结果后继续执行调用链
  * @author billy.qi
  */
-class Wait4ResultInterceptor implements ICCInterceptor {
+class Wait4ResultInterceptor implements IResumableCCInterceptor {
 
     //-------------------------单例模式 start --------------
     /** 单例模式Holder */
@@ -21,7 +22,17 @@ class Wait4ResultInterceptor implements ICCInterceptor {
     @Override
     public CCResult intercept(Chain chain) {
         CC cc = chain.getCC();
+        Runnable resume = chain.prepareSuspend();
+        if (resume != null && cc.wait4ResultAsync(resume)) {
+            return ChainProcessor.PENDING;
+        }
+        //调用链中有需要同步获取结果的拦截器，阻塞等待
         cc.wait4Result();
         return cc.getResult();
     }
+
+    @Override
+    public CCResult onResult(Chain chain, CCResult result) {
+        return result;
+    }
 }
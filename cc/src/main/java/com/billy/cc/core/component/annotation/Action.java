@@ -0,0 +1,41 @@
+package com.billy.cc.core.component.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明组件中处理指定action的方法，由cc-register插件在编译期生成该组件的action分发表
+ * 调用时按action名称直接调用对应的方法，不再经过{@link com.billy.cc.core.component.IComponent#onCall}，
+ * 分发表中没有的action仍由onCall方法处理
+ * 方法要求：非private、非static，签名为 boolean methodName(CC cc)，返回值的含义与onCall方法相同
+ * <pre>
+ *     &#64;Action(value = "login", thread = Action.THREAD_MAIN)
+ *     boolean login(CC cc) {
+ *         ...
+ *     }
+ * </pre>
+ * @author billy.qi
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.METHOD})
+public @interface Action {
+    /** 不固定运行的线程（在主线程同步调用时在主线程运行，其它情况下在子线程运行） */
+    int THREAD_DEFAULT = 0;
+    /** 固定在主线程运行 */
+    int THREAD_MAIN = 1;
+    /** 固定在子线程运行 */
+    int THREAD_WORKER = 2;
+
+    /**
+     * action名称
+     */
+    String value();
+
+    /**
+     * 运行的线程，替代{@link com.billy.cc.core.component.IMainThread#shouldActionRunOnMainThread}
+     * 可选值：{@link #THREAD_DEFAULT}, {@link #THREAD_MAIN}, {@link #THREAD_WORKER}
+     */
+    int thread() default THREAD_DEFAULT;
+}
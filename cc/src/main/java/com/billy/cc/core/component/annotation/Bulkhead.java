@@ -0,0 +1,28 @@
+package com.billy.cc.core.component.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 为组件设置隔离舱：组件的onCall(或action对应的方法)在组件独占的线程中执行，
+ * 同时执行的数量达到上限后，新的调用进入队列等待，队列满时调用以{@link com.billy.cc.core.component.CCResult#CODE_ERROR_REJECTED}结束
+ * 用于避免一个耗时的组件(例如：读写磁盘)占满CC的线程池，影响其它组件的调用
+ * 也可以通过{@link com.billy.cc.core.component.CC#setBulkhead(String, int, int)}在运行时设置（优先于注解）
+ * 注：需要在主线程执行的action(IMainThread或@Action的线程设置)仍在主线程执行，不受隔离舱限制
+ * @author billy.qi
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Bulkhead {
+    /**
+     * 同时执行的调用数上限(组件独占的线程数)
+     */
+    int maxConcurrent();
+
+    /**
+     * 等待执行的调用数上限，默认为0：不排队，达到同时执行的上限后直接拒绝
+     */
+    int queue() default 0;
+}
@@ -0,0 +1,31 @@
+package com.billy.cc.core.component.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明组件中可缓存调用结果的action，需要注册全局拦截器{@link com.billy.cc.core.component.CCResultCache}后生效
+ * 组件名称、action及参数均相同的调用，在有效期内直接返回缓存的结果（仅缓存成功的结果）
+ * @author billy.qi
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Cacheable {
+    /**
+     * 可缓存结果的action名称，为空则组件的所有action均可缓存
+     */
+    String[] action() default {};
+
+    /**
+     * 缓存的有效期(ms)
+     */
+    long ttlMs();
+
+    /**
+     * 缓存过期后仍可使用的时长(ms)：在此期间先返回过期的结果，同时在后台重新调用组件刷新缓存
+     * (stale-while-revalidate)，默认为0：过期后不再使用
+     */
+    long staleMs() default 0;
+}
@@ -0,0 +1,18 @@
+package com.billy.cc.core.component.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 静态组件默认延迟创建：cc-register插件生成的注册代码只记录组件名称和类名，在组件第一次被调用时才创建组件对象
+ * 添加此注解的组件在注册时（ComponentManager类加载时）立即创建组件对象（仅在组件所在的进程中创建），
+ * 用于需要在构造方法中执行初始化逻辑的组件
+ * 注：组件的getName()方法返回值不是常量时，会在每个进程中注册时立即创建组件对象
+ * @author billy.qi
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.TYPE})
+public @interface EagerComponent {
+}
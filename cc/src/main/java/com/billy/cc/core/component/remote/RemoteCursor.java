@@ -22,7 +22,7 @@ public class RemoteCursor extends MatrixCursor {
     private static class CCCursorHolder {
         private static final RemoteCursor INSTANCE = new RemoteCursor(DEFAULT_COLUMNS, RemoteCCService.getInstance());
     }
-    private RemoteCursor(String[] columnNames, IBinder binder) {
+    RemoteCursor(String[] columnNames, IBinder binder) {
         super(columnNames);
         binderExtras.putParcelable(KEY_BINDER_WRAPPER, new BinderWrapper(binder));
     }
@@ -8,6 +8,7 @@ import android.support.annotation.NonNull;
 import android.text.TextUtils;
 import android.util.SparseArray;
 
+import com.billy.cc.core.component.CCStartupTracer;
 import com.billy.cc.core.component.CCUtil;
 import com.billy.cc.core.component.IParamJsonConverter;
 
@@ -35,6 +36,16 @@ public class RemoteParamUtil {
 
     static void initRemoteCCParamJsonConverter(IParamJsonConverter converter) {
         paramJsonConverter = converter;
+        if (converter != null) {
+            CCStartupTracer.lap(CCStartupTracer.PHASE_CONVERTER_INIT, converter.getClass().getName());
+        }
+    }
+
+    /**
+     * static块中的转换器注册代码执行完成，由cc-register插件生成的代码调用
+     */
+    static void onRegistered() {
+        CCStartupTracer.unmark(CCStartupTracer.PHASE_CONVERTER_INIT);
     }
 
     public static String convertObject2JsonString(Object object) {
@@ -444,7 +455,9 @@ public class RemoteParamUtil {
     }
 
     static {
+        CCStartupTracer.mark(CCStartupTracer.PHASE_CONVERTER_INIT);
         // 通过插件自动注册自定义的跨进程json转换器
         // initRemoteCCParamJsonConverter(new GsonParamConverter());
+        // onRegistered();
     }
 }
@@ -5,13 +5,15 @@ import android.util.Log;
 import com.billy.cc.core.component.CCResult;
 import com.billy.cc.core.component.Chain;
 import com.billy.cc.core.component.IGlobalCCInterceptor;
+import com.billy.cc.core.component.IResumableCCInterceptor;
 
 /**
  * 示例全局拦截器：日志打印
+ * 实现{@link IResumableCCInterceptor}，异步调用等待结果时不占用线程
  * @author billy.qi
  * @since 18/5/26 11:42
  */
-public class LogInterceptor implements IGlobalCCInterceptor {
+public class LogInterceptor implements IGlobalCCInterceptor, IResumableCCInterceptor {
     private static final String TAG = "LogInterceptor";
 
     @Override
@@ -22,7 +24,11 @@ public class LogInterceptor implements IGlobalCCInterceptor {
     @Override
     public CCResult intercept(Chain chain) {
         Log.i(TAG, "============log before:" + chain.getCC());
-        CCResult result = chain.proceed();
+        return chain.proceed();
+    }
+
+    @Override
+    public CCResult onResult(Chain chain, CCResult result) {
         Log.i(TAG, "============log after:" + result);
         return result;
     }